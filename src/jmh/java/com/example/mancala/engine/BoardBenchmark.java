@@ -0,0 +1,55 @@
+package com.example.mancala.engine;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks the raw board engine, without any entity mapping
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class BoardBenchmark {
+
+    @Param({"6", "12", "48"})
+    private int pitsPerPlayer;
+
+    @Param({"6"})
+    private int stonesPerPit;
+
+    private Board initial;
+    private Board board;
+
+    @Setup
+    public void setup() {
+        initial = Board.initial(pitsPerPlayer, stonesPerPit, Board.PLAYER_ONE);
+        board = initial.copy();
+    }
+
+    @Benchmark
+    public int move() {
+        int pit = firstLegalPit(board);
+        if (pit < 0) {
+            board.copyFrom(initial);
+            pit = firstLegalPit(board);
+        }
+        return board.move(pit);
+    }
+
+    private static int firstLegalPit(Board board) {
+        if (board.isGameOver()) {
+            return -1;
+        }
+        int first = board.getTurn() == Board.PLAYER_ONE ? 1 : board.getPitsPerPlayer() + 1;
+        for (int pit = first; pit < first + board.getPitsPerPlayer(); pit++) {
+            if (board.getStones(pit) > 0) {
+                return pit;
+            }
+        }
+        return -1;
+    }
+}
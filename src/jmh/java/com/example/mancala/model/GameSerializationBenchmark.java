@@ -0,0 +1,43 @@
+package com.example.mancala.model;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks the JSON serialization of a game, as returned by the REST API
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class GameSerializationBenchmark {
+
+    private ObjectMapper objectMapper;
+    private Game game;
+
+    @Setup
+    public void setup() {
+        objectMapper = new ObjectMapper();
+        game = new Game();
+        game.setId(UUID.randomUUID().toString());
+        game.setTurn(Turn.PLAYER_ONE);
+        List<Pit> pits = new ArrayList<>();
+        for (int position = 1; position <= 12; position++) {
+            pits.add(new Pit(UUID.randomUUID().toString(), game, position <= 6 ? 1 : 2, position, 6));
+        }
+        game.setPits(pits);
+    }
+
+    @Benchmark
+    public byte[] serializeGame() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(game);
+    }
+}
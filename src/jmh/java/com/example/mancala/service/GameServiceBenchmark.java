@@ -0,0 +1,212 @@
+package com.example.mancala.service;
+
+import com.example.mancala.concurrent.GameLocks;
+import com.example.mancala.configuration.GameConfig;
+import com.example.mancala.controller.GameRestController;
+import com.example.mancala.exception.*;
+import com.example.mancala.history.NoMoveHistory;
+import com.example.mancala.id.TimeOrderedIdGenerator;
+import com.example.mancala.metrics.GameMetrics;
+import com.example.mancala.model.Game;
+import com.example.mancala.model.Pit;
+import com.example.mancala.model.Turn;
+import com.example.mancala.search.MoveSearch;
+import com.example.mancala.store.GameStore;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.ResponseEntity;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks the game service on top of an in-memory store, so the numbers only include the service and the engine
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class GameServiceBenchmark {
+
+    private static final int PITS_PER_PLAYER = 6;
+    private static final int STONES_PER_PIT = 6;
+
+    private MoveSearch moveSearch;
+    private InMemoryGameStore gameStore;
+    private GameService gameService;
+    private GameRestController gameRestController;
+    private ObjectMapper objectMapper;
+    /**
+     * Service on top of a store keeping nothing, so creating games does not fill the memory
+     */
+    private GameService creatingGameService;
+    private Game hotGame;
+    private SplittableRandom random;
+
+    @Setup
+    public void setup() {
+        moveSearch = new MoveSearch(1, Duration.ofMillis(10), 8);
+        gameStore = new InMemoryGameStore();
+        gameService = new GameService(new BenchmarkGameConfig(), gameStore, new GameLocks(1024), event -> { }, new GameMetrics(new SimpleMeterRegistry()), new TimeOrderedIdGenerator(0), new NoMoveHistory(), moveSearch);
+        creatingGameService = new GameService(new BenchmarkGameConfig(), new DiscardingGameStore(), new GameLocks(1), event -> { }, new GameMetrics(new SimpleMeterRegistry()), new TimeOrderedIdGenerator(0), new NoMoveHistory(), moveSearch);
+        gameRestController = new GameRestController(gameService);
+        objectMapper = new ObjectMapper().findAndRegisterModules();
+        hotGame = gameService.createGame();
+        random = new SplittableRandom(42);
+    }
+
+    @TearDown
+    public void tearDown() {
+        moveSearch.close();
+    }
+
+    /**
+     * Plays the first legal pit of the hot game, restarting the board once the game is over
+     */
+    @Benchmark
+    public Game moveOnHotBoard() throws GameNotFoundException, BadPitSelectionException, WrongPlayerTurnException, InvalidMovementException, GameOverException {
+        int pit = firstLegalPit(hotGame);
+        if (pit < 0) {
+            resetBoard(hotGame);
+            pit = firstLegalPit(hotGame);
+        }
+        gameService.move(hotGame.getId(), pit);
+        return hotGame;
+    }
+
+    /**
+     * Same movement as {@link #moveOnHotBoard()} through the REST controller, with the response body written as JSON.
+     * The HTTP server and the Spring MVC dispatch are left out, they do not change with the engine or the storage
+     */
+    @Benchmark
+    public byte[] selectPitOnHotBoard() throws JsonProcessingException {
+        int pit = firstLegalPit(hotGame);
+        if (pit < 0) {
+            resetBoard(hotGame);
+            pit = firstLegalPit(hotGame);
+        }
+        ResponseEntity<?> response = gameRestController.selectPit(hotGame.getId(), pit, false);
+        return objectMapper.writeValueAsBytes(response.getBody());
+    }
+
+    /**
+     * Creates a game and plays random legal movements until it is over. The game is deleted afterwards, so the store
+     * does not grow during the run
+     */
+    @Benchmark
+    public int randomPlayout() throws GameNotFoundException, BadPitSelectionException, WrongPlayerTurnException, InvalidMovementException, GameOverException {
+        Game game = gameService.createGame();
+        int moves = 0;
+        int pit;
+        while ((pit = randomLegalPit(game)) > 0) {
+            gameService.move(game.getId(), pit);
+            moves++;
+        }
+        gameStore.deleteAll(List.of(game.getId()));
+        return moves;
+    }
+
+    /**
+     * Selects a pit out of bounds, as a misbehaving client would
+     */
+    @Benchmark
+    public MoveOutcome rejectedMove() {
+        return gameService.tryMove(hotGame.getId(), 0);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.Throughput)
+    public Game createGame() {
+        return creatingGameService.createGame();
+    }
+
+    private int firstLegalPit(Game game) {
+        if (Turn.GAME_OVER.equals(game.getTurn())) {
+            return -1;
+        }
+        int first = Turn.PLAYER_ONE.equals(game.getTurn()) ? 1 : PITS_PER_PLAYER + 1;
+        for (int pit = first; pit < first + PITS_PER_PLAYER; pit++) {
+            if (game.getPit(pit).getStones() > 0) {
+                return pit;
+            }
+        }
+        return -1;
+    }
+
+    private int randomLegalPit(Game game) {
+        if (Turn.GAME_OVER.equals(game.getTurn())) {
+            return -1;
+        }
+        int first = Turn.PLAYER_ONE.equals(game.getTurn()) ? 1 : PITS_PER_PLAYER + 1;
+        int offset = random.nextInt(PITS_PER_PLAYER);
+        for (int i = 0; i < PITS_PER_PLAYER; i++) {
+            int pit = first + (offset + i) % PITS_PER_PLAYER;
+            if (game.getPit(pit).getStones() > 0) {
+                return pit;
+            }
+        }
+        return -1;
+    }
+
+    private void resetBoard(Game game) {
+        for (Pit pit : game.getPits()) {
+            pit.setStones(STONES_PER_PIT);
+        }
+        game.setBigPitPlayerOne(0);
+        game.setBigPitPlayerTwo(0);
+        game.setTurn(Turn.PLAYER_ONE);
+    }
+
+    private static class BenchmarkGameConfig extends GameConfig {
+        @Override
+        public Integer getLittlePitsPerPlayer() {
+            return PITS_PER_PLAYER;
+        }
+
+        @Override
+        public Integer getInitialStonesPerPit() {
+            return STONES_PER_PIT;
+        }
+    }
+
+    private static class InMemoryGameStore implements GameStore {
+        private final Map<String, Game> games = new HashMap<>();
+
+        @Override
+        public Optional<Game> findById(String gameId) {
+            return Optional.ofNullable(games.get(gameId));
+        }
+
+        @Override
+        public Game save(Game game) {
+            games.put(game.getId(), game);
+            return game;
+        }
+
+        @Override
+        public void deleteAll(List<String> gameIds) {
+            gameIds.forEach(games::remove);
+        }
+    }
+
+    private static class DiscardingGameStore implements GameStore {
+        @Override
+        public Optional<Game> findById(String gameId) {
+            return Optional.empty();
+        }
+
+        @Override
+        public Game save(Game game) {
+            return game;
+        }
+    }
+}
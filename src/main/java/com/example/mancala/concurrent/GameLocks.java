@@ -0,0 +1,32 @@
+package com.example.mancala.concurrent;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Striped locks keyed by game ID. Movements on the same game are linearized, while movements on different games only
+ * contend when their IDs hash to the same stripe.
+ */
+@Component
+public class GameLocks {
+
+    private final ReentrantLock[] stripes;
+    private final int mask;
+
+    public GameLocks(@Value("${custom.locks.stripes:1024}") int stripes) {
+        int size = Integer.highestOneBit(Math.max(1, stripes - 1)) << 1;
+        this.stripes = new ReentrantLock[size];
+        for (int i = 0; i < size; i++) {
+            this.stripes[i] = new ReentrantLock();
+        }
+        this.mask = size - 1;
+    }
+
+    public Lock getLock(String gameId) {
+        int hash = gameId.hashCode();
+        return stripes[(hash ^ (hash >>> 16)) & mask];
+    }
+}
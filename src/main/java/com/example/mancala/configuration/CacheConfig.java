@@ -0,0 +1,45 @@
+package com.example.mancala.configuration;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Configuration
+@ConfigurationProperties(prefix = "custom.cache")
+@Getter
+@Setter
+public class CacheConfig {
+
+    /**
+     * Keeps the live games in memory in front of the configured storage
+     */
+    private boolean enabled = false;
+
+    /**
+     * Maximum number of games kept in memory, the least recently used ones are evicted once they are flushed
+     */
+    private int maximumSize = 10_000;
+
+    /**
+     * Games not accessed during this time are evicted once they are flushed
+     */
+    private Duration idleTimeout = Duration.ofMinutes(30);
+
+    /**
+     * A game is flushed as soon as it accumulates this number of pending movements
+     */
+    private int flushEveryMoves = 10;
+
+    /**
+     * Every pending game is flushed with this period
+     */
+    private Duration flushInterval = Duration.ofSeconds(1);
+
+    /**
+     * A game is flushed as soon as it is over
+     */
+    private boolean flushOnGameOver = true;
+}
@@ -0,0 +1,41 @@
+package com.example.mancala.configuration;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Configuration
+@ConfigurationProperties(prefix = "custom.events")
+@Getter
+@Setter
+public class EventsConfig {
+
+    /**
+     * Maximum number of open event streams in this node
+     */
+    private int maxSubscribers = 10_000;
+
+    /**
+     * Events queued for a slow subscriber before they are replaced by a single full state event
+     */
+    private int maxPendingEvents = 32;
+
+    /**
+     * Streams are closed after this time, clients are expected to reconnect
+     */
+    private Duration streamTimeout = Duration.ofMinutes(30);
+
+    /**
+     * Threads kept to write the events to the subscribers. More are started while they are all busy writing, so a
+     * stalled subscriber never holds back the others
+     */
+    private int dispatcherThreads = 4;
+
+    /**
+     * A subscriber still writing an event after this time is dropped, and its stream is closed once the write returns
+     */
+    private Duration sendTimeout = Duration.ofSeconds(10);
+}
@@ -0,0 +1,55 @@
+package com.example.mancala.configuration;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
+import org.springframework.boot.web.embedded.tomcat.TomcatProtocolHandlerCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.support.TaskExecutorAdapter;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.concurrent.Executors;
+
+/**
+ * Threads running the requests and the blocking game service calls, platform thread pools by default or virtual
+ * threads with {@code custom.threads.virtual}. Game state is only guarded by {@link java.util.concurrent.locks.Lock}s,
+ * never by {@code synchronized}, so a virtual thread waiting for a game does not pin its carrier thread.
+ */
+@Configuration
+@Slf4j
+public class ExecutionConfig {
+
+    /**
+     * Scheduler for the game service calls of the reactive controller. It is owned by the application, not shared with
+     * Reactor, so it is disposed with its threads on shutdown
+     */
+    @Bean(destroyMethod = "dispose")
+    public Scheduler gameServiceScheduler(ThreadsConfig threadsConfig) {
+        if (threadsConfig.isVirtual()) {
+            return Schedulers.fromExecutorService(Executors.newVirtualThreadPerTaskExecutor(), "game-service");
+        }
+        return Schedulers.newBoundedElastic(Schedulers.DEFAULT_BOUNDED_ELASTIC_SIZE, Schedulers.DEFAULT_BOUNDED_ELASTIC_QUEUESIZE, "game-service");
+    }
+
+    @Configuration
+    @ConditionalOnProperty(prefix = "custom.threads", name = "virtual", havingValue = "true")
+    static class VirtualThreadsConfig {
+
+        @Bean
+        public TomcatProtocolHandlerCustomizer<?> virtualThreadsProtocolHandlerCustomizer() {
+            log.info("Tomcat requests run on virtual threads");
+            return protocolHandler -> protocolHandler.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+        }
+
+        /**
+         * Replaces the default pool for the asynchronous requests (event streams)
+         */
+        @Bean(name = {TaskExecutionAutoConfiguration.APPLICATION_TASK_EXECUTOR_BEAN_NAME, "taskExecutor"})
+        public AsyncTaskExecutor applicationTaskExecutor() {
+            return new TaskExecutorAdapter(Executors.newVirtualThreadPerTaskExecutor());
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package com.example.mancala.configuration;
+
+import com.example.mancala.concurrent.GameLocks;
+import com.example.mancala.history.MoveHistory;
+import com.example.mancala.lifecycle.GameArchive;
+import com.example.mancala.lifecycle.GameLifecycleManager;
+import com.example.mancala.store.GameStore;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Clock;
+
+@Configuration
+@Slf4j
+public class GameLifecycleConfig {
+
+    @Bean
+    @ConditionalOnProperty(prefix = "custom.lifecycle", name = "enabled", havingValue = "true", matchIfMissing = true)
+    public GameLifecycleManager gameLifecycleManager(LifecycleConfig lifecycleConfig, GameStore gameStore, MoveHistory moveHistory, GameLocks gameLocks) throws IOException {
+        log.info("Finished games expire after {} and idle games after {} (archive enabled: {})",
+                lifecycleConfig.getFinishedTtl(), lifecycleConfig.getIdleTtl(), lifecycleConfig.isArchive());
+        GameArchive gameArchive = lifecycleConfig.isArchive() ? new GameArchive(Path.of(lifecycleConfig.getArchivePath())) : null;
+        return new GameLifecycleManager(gameStore, moveHistory, gameLocks, lifecycleConfig, gameArchive, Clock.systemUTC());
+    }
+}
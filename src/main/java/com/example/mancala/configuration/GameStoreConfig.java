@@ -0,0 +1,46 @@
+package com.example.mancala.configuration;
+
+import com.example.mancala.concurrent.GameLocks;
+import com.example.mancala.history.MoveHistory;
+import com.example.mancala.repository.GameRepository;
+import com.example.mancala.repository.PackedGameRepository;
+import com.example.mancala.store.CachingGameStore;
+import com.example.mancala.store.EventSourcedGameStore;
+import com.example.mancala.store.GameStore;
+import com.example.mancala.store.JpaGameStore;
+import com.example.mancala.store.MappedFileGameStore;
+import com.example.mancala.store.PackedGameStore;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+@Configuration
+@Slf4j
+public class GameStoreConfig {
+
+    @Bean
+    public GameStore gameStore(StorageConfig storageConfig, CacheConfig cacheConfig, MappedFileConfig mappedFileConfig, GameLocks gameLocks, GameRepository gameRepository, PackedGameRepository packedGameRepository, MoveHistory moveHistory) throws IOException {
+        // Rebuilding a game replays its movements, so games stored as events are always kept in memory once loaded
+        boolean cached = cacheConfig.isEnabled() || storageConfig.getMode() == StorageConfig.StorageMode.EVENTS;
+        log.info("Games are stored in {} mode (cache enabled: {})", storageConfig.getMode(), cached);
+        GameStore gameStore = createBackend(storageConfig, mappedFileConfig, gameRepository, packedGameRepository, moveHistory);
+        return cached ? new CachingGameStore(gameStore, cacheConfig, gameLocks) : gameStore;
+    }
+
+    private GameStore createBackend(StorageConfig storageConfig, MappedFileConfig mappedFileConfig, GameRepository gameRepository, PackedGameRepository packedGameRepository, MoveHistory moveHistory) throws IOException {
+        switch (storageConfig.getMode()) {
+            case PACKED:
+                return new PackedGameStore(packedGameRepository);
+            case EVENTS:
+                return new EventSourcedGameStore(moveHistory);
+            case MAPPED:
+                return new MappedFileGameStore(Path.of(mappedFileConfig.getPath()), mappedFileConfig.getSlotSize(), mappedFileConfig.getSegmentRecords(), mappedFileConfig.isSync());
+            case PITS:
+            default:
+                return new JpaGameStore(gameRepository);
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package com.example.mancala.configuration;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@ConfigurationProperties(prefix = "custom.history")
+@Getter
+@Setter
+public class HistoryConfig {
+
+    /**
+     * Records every movement in an append-only log, with periodic snapshots of the board
+     */
+    private boolean enabled = true;
+
+    /**
+     * Movements between two snapshots of the board, the most a game replays to be rebuilt
+     */
+    private int snapshotEvery = 20;
+
+    public void setSnapshotEvery(int snapshotEvery) {
+        if (snapshotEvery < 1) {
+            throw new IllegalArgumentException("Invalid number of movements between snapshots " + snapshotEvery);
+        }
+        this.snapshotEvery = snapshotEvery;
+    }
+}
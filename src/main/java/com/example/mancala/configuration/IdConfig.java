@@ -0,0 +1,35 @@
+package com.example.mancala.configuration;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@ConfigurationProperties(prefix = "custom.ids")
+@Getter
+@Setter
+public class IdConfig {
+
+    /**
+     * How game ids are generated: TIME_ORDERED generates compact ids that grow with time, UUID random UUIDs
+     */
+    private IdStrategy strategy = IdStrategy.TIME_ORDERED;
+
+    /**
+     * Node id (0-1023) embedded in the TIME_ORDERED ids. Every node sharing a database needs a different one. When
+     * negative, a random one is picked at startup
+     */
+    private int node = -1;
+
+    /**
+     * Whether the startup fails when the node id is not set, for deployments of several nodes sharing a database, where
+     * two random node ids may be the same and the nodes would generate the same ids
+     */
+    private boolean requireNode = false;
+
+    public enum IdStrategy {
+        TIME_ORDERED,
+        UUID
+    }
+}
@@ -0,0 +1,38 @@
+package com.example.mancala.configuration;
+
+import com.example.mancala.id.IdGenerator;
+import com.example.mancala.id.TimeOrderedIdGenerator;
+import com.example.mancala.id.UuidIdGenerator;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.security.SecureRandom;
+
+@Configuration
+@Slf4j
+public class IdGeneratorConfig {
+
+    @Bean
+    public IdGenerator idGenerator(IdConfig idConfig) {
+        switch (idConfig.getStrategy()) {
+            case UUID:
+                log.info("Game ids are random UUIDs");
+                return new UuidIdGenerator();
+            case TIME_ORDERED:
+            default:
+                int node = idConfig.getNode();
+                if (node >= 0) {
+                    log.info("Game ids are time ordered, node id: {}", node);
+                    return new TimeOrderedIdGenerator(node);
+                }
+                if (idConfig.isRequireNode()) {
+                    throw new IllegalStateException("custom.ids.node must be set to a node id (0-" + TimeOrderedIdGenerator.MAX_NODE + ") unique among the nodes sharing the database");
+                }
+                node = new SecureRandom().nextInt(TimeOrderedIdGenerator.MAX_NODE + 1);
+                log.warn("Game ids are time ordered with the random node id {}. Nodes sharing a database may draw the same one and "
+                        + "generate the same ids, set custom.ids.node on each of them", node);
+                return new TimeOrderedIdGenerator(node);
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package com.example.mancala.configuration;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Configuration
+@ConfigurationProperties(prefix = "custom.lifecycle")
+@Getter
+@Setter
+public class LifecycleConfig {
+
+    /**
+     * Deletes the finished and abandoned games in the background
+     */
+    private boolean enabled = true;
+
+    /**
+     * Finished games are deleted once they are not updated during this time
+     */
+    private Duration finishedTtl = Duration.ofHours(1);
+
+    /**
+     * Games in progress are deleted once they are not updated during this time
+     */
+    private Duration idleTtl = Duration.ofDays(1);
+
+    /**
+     * Time between two runs
+     */
+    private Duration interval = Duration.ofMinutes(1);
+
+    /**
+     * Games deleted at once. Every batch is a short transaction, so requests are never blocked for long
+     */
+    private int batchSize = 100;
+
+    /**
+     * Batches deleted per run at most, the rest is left for the next runs
+     */
+    private int maxBatchesPerRun = 50;
+
+    /**
+     * Pause between two batches of the same run
+     */
+    private Duration batchPause = Duration.ofMillis(10);
+
+    /**
+     * Appends the finished games to the archive file before deleting them
+     */
+    private boolean archive = false;
+
+    /**
+     * Archive file, created if it does not exist
+     */
+    private String archivePath = "data/archive.bin";
+}
@@ -0,0 +1,35 @@
+package com.example.mancala.configuration;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@ConfigurationProperties(prefix = "custom.storage.file")
+@Getter
+@Setter
+public class MappedFileConfig {
+
+    /**
+     * File holding the games in MAPPED storage mode, created if it does not exist
+     */
+    private String path = "data/games.db";
+
+    /**
+     * Bytes of each of the two slots of a game record. The default fits every variant, the file can not be reopened
+     * with a different value
+     */
+    private int slotSize = 512;
+
+    /**
+     * Game records mapped at once when the file grows, the file can not be reopened with a different value
+     */
+    private int segmentRecords = 65_536;
+
+    /**
+     * Forces every save to the storage device. Without it, saves survive a crash of the application but not of the
+     * operating system
+     */
+    private boolean sync = false;
+}
@@ -0,0 +1,104 @@
+package com.example.mancala.configuration;
+
+import com.example.mancala.event.GameEventBroadcaster;
+import com.example.mancala.lifecycle.GameLifecycleManager;
+import com.example.mancala.lifecycle.LifecycleStats;
+import com.example.mancala.search.TranspositionStats;
+import com.example.mancala.search.TranspositionTable;
+import com.example.mancala.store.CacheStats;
+import com.example.mancala.store.CachingGameStore;
+import com.example.mancala.store.GameStore;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.function.ToDoubleFunction;
+
+@Configuration
+public class MetricsConfig {
+
+    @Bean
+    public MeterBinder gameStoreMetrics(GameStore gameStore) {
+        return registry -> {
+            if (!(gameStore instanceof CachingGameStore)) {
+                return;
+            }
+            CachingGameStore cache = (CachingGameStore) gameStore;
+            cacheCounter(registry, cache, "mancala.cache.requests", "result", "hit", CacheStats::getHits);
+            cacheCounter(registry, cache, "mancala.cache.requests", "result", "miss", CacheStats::getMisses);
+            cacheCounter(registry, cache, "mancala.cache.flushes", "result", "success", CacheStats::getFlushes);
+            cacheCounter(registry, cache, "mancala.cache.flushes", "result", "error", CacheStats::getFlushErrors);
+            FunctionCounter.builder("mancala.cache.evictions", cache, store -> store.getStats().getEvictions())
+                    .description("Games evicted from the cache")
+                    .register(registry);
+            Gauge.builder("mancala.cache.size", cache, store -> store.getStats().getSize())
+                    .description("Games held in the cache")
+                    .register(registry);
+            Gauge.builder("mancala.cache.pending", cache, store -> store.getStats().getPending())
+                    .description("Games with movements not flushed yet")
+                    .register(registry);
+        };
+    }
+
+    @Bean
+    public MeterBinder gameEventsMetrics(GameEventBroadcaster broadcaster) {
+        return registry -> Gauge.builder("mancala.events.subscribers", broadcaster, GameEventBroadcaster::getSubscriberCount)
+                .description("Open game event streams")
+                .register(registry);
+    }
+
+    @Bean
+    public MeterBinder gameLifecycleMetrics(ObjectProvider<GameLifecycleManager> lifecycleManager) {
+        return registry -> lifecycleManager.ifAvailable(manager -> {
+            lifecycleCounter(registry, manager, "mancala.games.expired", "finished", LifecycleStats::getExpiredFinished);
+            lifecycleCounter(registry, manager, "mancala.games.expired", "idle", LifecycleStats::getExpiredIdle);
+            FunctionCounter.builder("mancala.games.archived", manager, lifecycle -> lifecycle.getStats().getArchived())
+                    .description("Finished games archived before being deleted")
+                    .register(registry);
+            Gauge.builder("mancala.games.stored", manager, lifecycle -> lifecycle.getStats().getStoredGames())
+                    .description("Games stored after the last expiry run, -1 if the storage can not count them")
+                    .register(registry);
+        });
+    }
+
+    @Bean
+    public MeterBinder transpositionTableMetrics(ObjectProvider<TranspositionTable> transpositionTable) {
+        return registry -> transpositionTable.ifAvailable(table -> {
+            tableCounter(registry, table, "hit", TranspositionStats::getHits);
+            tableCounter(registry, table, "miss", stats -> stats.getProbes() - stats.getHits());
+            Gauge.builder("mancala.search.table.hit.ratio", table, positions -> positions.getStats().getHitRate())
+                    .description("Probes of the transposition table that found the position")
+                    .register(registry);
+            Gauge.builder("mancala.search.table.occupancy", table, positions -> positions.getStats().getOccupancy())
+                    .description("Fraction of the entries of the transposition table in use")
+                    .register(registry);
+            Gauge.builder("mancala.search.table.capacity", table, positions -> positions.getStats().getCapacity())
+                    .description("Entries of the transposition table")
+                    .register(registry);
+        });
+    }
+
+    private static void tableCounter(MeterRegistry registry, TranspositionTable table, String result, ToDoubleFunction<TranspositionStats> stat) {
+        FunctionCounter.builder("mancala.search.table.probes", table, positions -> stat.applyAsDouble(positions.getStats()))
+                .description("Probes of the transposition table")
+                .tag("result", result)
+                .register(registry);
+    }
+
+    private static void lifecycleCounter(MeterRegistry registry, GameLifecycleManager manager, String name, String state, ToDoubleFunction<LifecycleStats> stat) {
+        FunctionCounter.builder(name, manager, lifecycle -> stat.applyAsDouble(lifecycle.getStats()))
+                .description("Games deleted once expired")
+                .tag("state", state)
+                .register(registry);
+    }
+
+    private static void cacheCounter(MeterRegistry registry, CachingGameStore cache, String name, String tag, String value, ToDoubleFunction<CacheStats> stat) {
+        FunctionCounter.builder(name, cache, store -> stat.applyAsDouble(store.getStats()))
+                .tag(tag, value)
+                .register(registry);
+    }
+}
@@ -0,0 +1,26 @@
+package com.example.mancala.configuration;
+
+import com.example.mancala.history.JpaMoveHistory;
+import com.example.mancala.history.MoveHistory;
+import com.example.mancala.history.NoMoveHistory;
+import com.example.mancala.repository.BoardSnapshotRepository;
+import com.example.mancala.repository.MoveRecordRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@Slf4j
+public class MoveHistoryConfig {
+
+    @Bean
+    public MoveHistory moveHistory(HistoryConfig historyConfig, StorageConfig storageConfig, MoveRecordRepository moveRecordRepository, BoardSnapshotRepository boardSnapshotRepository) {
+        // Games stored as events only exist in their history, so it cannot be disabled
+        if (!historyConfig.isEnabled() && storageConfig.getMode() != StorageConfig.StorageMode.EVENTS) {
+            log.info("Move history is disabled");
+            return new NoMoveHistory();
+        }
+        log.info("Move history enabled, with a snapshot every {} movements", historyConfig.getSnapshotEvery());
+        return new JpaMoveHistory(moveRecordRepository, boardSnapshotRepository, historyConfig.getSnapshotEvery());
+    }
+}
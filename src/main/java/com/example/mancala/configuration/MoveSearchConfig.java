@@ -0,0 +1,48 @@
+package com.example.mancala.configuration;
+
+import com.example.mancala.engine.BoardRules;
+import com.example.mancala.search.MoveSearch;
+import com.example.mancala.search.Tablebase;
+import com.example.mancala.search.TranspositionTable;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+@Configuration
+@Slf4j
+public class MoveSearchConfig {
+
+    @Bean
+    @ConditionalOnExpression("T(org.springframework.util.unit.DataSize).parse('${custom.search.tableSize:32MB}').toBytes() > 0")
+    public TranspositionTable transpositionTable(SearchConfig searchConfig) {
+        log.info("Searched positions are shared in a table of {}", searchConfig.getTableSize());
+        return new TranspositionTable(searchConfig.getTableSize().toBytes());
+    }
+
+    @Bean(destroyMethod = "close")
+    @ConditionalOnProperty(prefix = "custom.search", name = "tablebase")
+    public Tablebase tablebase(SearchConfig searchConfig, GameConfig gameConfig) throws IOException {
+        Tablebase tablebase = new Tablebase(Path.of(searchConfig.getTablebase()));
+        if (tablebase.getPitsPerPlayer() != gameConfig.getLittlePitsPerPlayer() || tablebase.getRules() != BoardRules.STANDARD) {
+            log.warn("Tablebase {} is for {} pits per player (capture: {}, empty capture: {}), games will not use it",
+                    searchConfig.getTablebase(), tablebase.getPitsPerPlayer(), tablebase.getRules().isCapture(), tablebase.getRules().isEmptyCapture());
+        } else {
+            log.info("Endgames with up to {} stones on the board are looked up in {}", tablebase.getMaxStones(), searchConfig.getTablebase());
+        }
+        return tablebase;
+    }
+
+    @Bean
+    public MoveSearch moveSearch(SearchConfig searchConfig, ObjectProvider<TranspositionTable> transpositionTable, ObjectProvider<Tablebase> tablebase) {
+        log.info("Move search limited to {} and {} plies, on {} threads",
+                searchConfig.getTimeBudget(), searchConfig.getMaxDepth(), searchConfig.getParallelism());
+        return new MoveSearch(searchConfig.getParallelism(), searchConfig.getTimeBudget(), searchConfig.getMaxDepth(),
+                transpositionTable.getIfAvailable(), tablebase.getIfAvailable());
+    }
+}
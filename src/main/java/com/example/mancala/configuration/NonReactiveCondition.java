@@ -0,0 +1,24 @@
+package com.example.mancala.configuration;
+
+import org.springframework.boot.autoconfigure.condition.AnyNestedCondition;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnNotWebApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+
+/**
+ * Matches unless the application runs in reactive mode ({@code spring.main.web-application-type=reactive}), so the
+ * servlet controllers and security are not registered next to their reactive equivalents
+ */
+public class NonReactiveCondition extends AnyNestedCondition {
+
+    NonReactiveCondition() {
+        super(ConfigurationPhase.REGISTER_BEAN);
+    }
+
+    @ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+    static class OnServletWebApplication {
+    }
+
+    @ConditionalOnNotWebApplication
+    static class OnNotWebApplication {
+    }
+}
@@ -0,0 +1,41 @@
+package com.example.mancala.configuration;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+
+@Configuration
+@ConfigurationProperties(prefix = "custom.search")
+@Getter
+@Setter
+public class SearchConfig {
+
+    /**
+     * Time a hint or a movement of the bot may spend searching, the search returns its deepest complete iteration
+     */
+    private Duration timeBudget = Duration.ofMillis(50);
+
+    /**
+     * Plies searched at most
+     */
+    private int maxDepth = 32;
+
+    /**
+     * Threads searching at once, shared by every request
+     */
+    private int parallelism = 2;
+
+    /**
+     * Memory of the table of searched positions shared by every search of the node, 0 to search without it
+     */
+    private DataSize tableSize = DataSize.ofMegabytes(32);
+
+    /**
+     * File of the endgame tablebase written by the {@code tablebase} Maven profile, unset to search endgames too
+     */
+    private String tablebase;
+}
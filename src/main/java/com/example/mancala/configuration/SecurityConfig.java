@@ -1,5 +1,6 @@
 package com.example.mancala.configuration;
 
+import org.springframework.context.annotation.Conditional;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.config.annotation.authentication.builders.AuthenticationManagerBuilder;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
@@ -8,6 +9,7 @@ import org.springframework.security.config.annotation.web.configuration.WebSecur
 
 @Configuration
 @EnableWebSecurity
+@Conditional(NonReactiveCondition.class)
 public class SecurityConfig extends WebSecurityConfigurerAdapter {
 
     @Override
@@ -0,0 +1,27 @@
+package com.example.mancala.configuration;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@ConfigurationProperties(prefix = "custom.storage")
+@Getter
+@Setter
+public class StorageConfig {
+
+    /**
+     * How the games are persisted: PITS stores a row per little pit, PACKED stores the whole board in the game row,
+     * EVENTS only stores the move history and rebuilds the games from it, MAPPED stores every game as a fixed-size
+     * record of a memory-mapped file
+     */
+    private StorageMode mode = StorageMode.PITS;
+
+    public enum StorageMode {
+        PITS,
+        PACKED,
+        EVENTS,
+        MAPPED
+    }
+}
@@ -0,0 +1,18 @@
+package com.example.mancala.configuration;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@ConfigurationProperties(prefix = "custom.threads")
+@Getter
+@Setter
+public class ThreadsConfig {
+
+    /**
+     * Runs the requests and the blocking game service calls on virtual threads instead of platform thread pools
+     */
+    private boolean virtual = false;
+}
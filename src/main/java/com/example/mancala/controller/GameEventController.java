@@ -0,0 +1,45 @@
+package com.example.mancala.controller;
+
+import com.example.mancala.configuration.NonReactiveCondition;
+import com.example.mancala.event.GameEventBroadcaster;
+import com.example.mancala.exception.GameNotFoundException;
+import com.example.mancala.exception.TooManySubscribersException;
+import com.example.mancala.service.GameService;
+import io.swagger.annotations.Api;
+import io.swagger.annotations.ApiOperation;
+import org.springframework.context.annotation.Conditional;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+@Api(tags = "mancala-game-events")
+@RestController
+@Conditional(NonReactiveCondition.class)
+@RequestMapping("/api/game")
+public class GameEventController {
+
+    private final GameService gameService;
+    private final GameEventBroadcaster gameEventBroadcaster;
+
+    public GameEventController(GameService gameService, GameEventBroadcaster gameEventBroadcaster) {
+        this.gameService = gameService;
+        this.gameEventBroadcaster = gameEventBroadcaster;
+    }
+
+    @ApiOperation(value = "Streams the movements of the game as server-sent events",
+            notes = "'move' events contain the changed pits, big pits and next turn. A 'state' event with the whole game is sent instead when the client falls behind")
+    @GetMapping(value = "/{gameId}/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter events(@PathVariable String gameId) throws GameNotFoundException {
+        gameService.getGame(gameId);
+        try {
+            return gameEventBroadcaster.subscribe(gameId);
+        } catch (TooManySubscribersException e) {
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, e.getMessage(), e);
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package com.example.mancala.controller;
+
+import com.example.mancala.exception.GameRejectedException;
+import com.example.mancala.model.GameError;
+import com.example.mancala.model.RejectionReason;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+
+/**
+ * Maps rejected requests to a bad request with a {@link GameError} body, for both the servlet and the reactive
+ * controllers
+ */
+@RestControllerAdvice
+public class GameExceptionHandler {
+
+    @ExceptionHandler(GameRejectedException.class)
+    public ResponseEntity<GameError> handleRejection(GameRejectedException e) {
+        return rejected(e.getReason());
+    }
+
+    static ResponseEntity<GameError> rejected(RejectionReason reason) {
+        return ResponseEntity.badRequest().body(GameError.of(reason));
+    }
+}
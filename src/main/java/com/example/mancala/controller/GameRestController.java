@@ -1,16 +1,30 @@
 package com.example.mancala.controller;
 
-import com.example.mancala.exception.*;
+import com.example.mancala.configuration.NonReactiveCondition;
+import com.example.mancala.exception.GameNotFoundException;
+import com.example.mancala.exception.GameOverException;
+import com.example.mancala.exception.InvalidGameCountException;
+import com.example.mancala.exception.InvalidVariantException;
+import com.example.mancala.model.BatchMoveResult;
 import com.example.mancala.model.Game;
+import com.example.mancala.model.MoveDelta;
+import com.example.mancala.model.MoveHint;
+import com.example.mancala.model.MoveHistoryPage;
+import com.example.mancala.model.MovePreview;
+import com.example.mancala.model.Variant;
 import com.example.mancala.service.GameService;
+import com.example.mancala.service.MoveOutcome;
 import io.swagger.annotations.Api;
 import io.swagger.annotations.ApiOperation;
-import org.springframework.http.HttpStatus;
+import org.springframework.context.annotation.Conditional;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
-import org.springframework.web.server.ResponseStatusException;
+
+import java.util.List;
 
 @Api(tags = "mancala-game")
 @RestController
+@Conditional(NonReactiveCondition.class)
 @RequestMapping("/api/game")
 public class GameRestController {
 
@@ -20,37 +34,71 @@ public class GameRestController {
         this.gameService = gameService;
     }
 
-    @ApiOperation(value = "Starts a new game for 2 players", notes = "Returns the game")
+    @ApiOperation(value = "Starts a new game for 2 players", notes = "Optionally takes the board variant, the fields left empty take the configured values. Returns the game")
     @PostMapping
-    public Game startGame() {
-        return gameService.createGame();
+    public Game startGame(@RequestBody(required = false) Variant variant) throws InvalidVariantException {
+        return gameService.createGame(variant);
+    }
+
+    @ApiOperation(value = "Starts several games at once", notes = "Optionally takes the board variant shared by every game. Returns the ids of the games")
+    @PostMapping("/bulk")
+    public List<String> startGames(@RequestParam int count, @RequestBody(required = false) Variant variant) throws InvalidGameCountException, InvalidVariantException {
+        return gameService.createGames(count, variant);
     }
 
     @ApiOperation(value = "Retrieves the game according to the game ID provided", response = Game.class)
     @GetMapping("/{gameId}")
-    public Game get(@PathVariable String gameId) {
-        try {
-            return gameService.getGame(gameId);
-        } catch (GameNotFoundException e) {
-            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Game not started", e);
-        }
+    public Game get(@PathVariable String gameId) throws GameNotFoundException {
+        return gameService.getGame(gameId);
     }
 
-    @ApiOperation(value = "Selects the pit for the movement. Default: 1-6 for pits from player 1, 7-12 for pits from player 2")
+    @ApiOperation(value = "Selects the pit for the movement. Default: 1-6 for pits from player 1, 7-12 for pits from player 2", notes = "Returns the game after the movement, or the rejection reason", response = Game.class)
     @PutMapping("/{gameId}/selectPit/{pit}")
-    public void selectPit(@PathVariable String gameId, @PathVariable Integer pit) {
-        try {
-            gameService.move(gameId, pit);
-        } catch (GameNotFoundException e) {
-            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Game not started", e);
-        } catch (BadPitSelectionException e) {
-            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Bad pit selected", e);
-        } catch (WrongPlayerTurnException e) {
-            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Wrong turn", e);
-        } catch (InvalidMovementException e) {
-            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid movement, pit is empty", e);
-        } catch (GameOverException e) {
-            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Game is over", e);
-        }
+    public ResponseEntity<?> selectPit(@PathVariable String gameId, @PathVariable Integer pit, @RequestParam(defaultValue = "false") boolean bot) {
+        MoveOutcome outcome = move(gameId, pit, bot);
+        return outcome.isApplied() ? ResponseEntity.ok(outcome.getResult().getGame()) : GameExceptionHandler.rejected(outcome.getRejection());
+    }
+
+    @ApiOperation(value = "Selects the pit for the movement, with view=delta", notes = "Returns only the little pits changed by the movement, the big pits and the next turn", response = MoveDelta.class)
+    @PutMapping(value = "/{gameId}/selectPit/{pit}", params = "view=delta")
+    public ResponseEntity<?> selectPitDelta(@PathVariable String gameId, @PathVariable Integer pit, @RequestParam(defaultValue = "false") boolean bot) {
+        MoveOutcome outcome = move(gameId, pit, bot);
+        return outcome.isApplied() ? ResponseEntity.ok(outcome.getResult().getDelta()) : GameExceptionHandler.rejected(outcome.getRejection());
+    }
+
+    @ApiOperation(value = "Selects several pits in order, with all-or-nothing semantics", notes = "Returns the resulting game, or the unchanged game and the index of the first rejected movement", response = BatchMoveResult.class)
+    @PutMapping("/{gameId}/selectPits")
+    public ResponseEntity<BatchMoveResult> selectPits(@PathVariable String gameId, @RequestBody List<Integer> pits) throws GameNotFoundException {
+        BatchMoveResult result = gameService.moveAll(gameId, pits);
+        return result.isApplied() ? ResponseEntity.ok(result) : ResponseEntity.badRequest().body(result);
+    }
+
+    @ApiOperation(value = "Lets the server play the player in turn", notes = "Used when the bot starts the game. Returns the game after the movements of the bot, or the rejection reason", response = Game.class)
+    @PutMapping("/{gameId}/bot")
+    public ResponseEntity<?> botMove(@PathVariable String gameId) {
+        MoveOutcome outcome = gameService.tryBotMove(gameId);
+        return outcome.isApplied() ? ResponseEntity.ok(outcome.getResult().getGame()) : GameExceptionHandler.rejected(outcome.getRejection());
+    }
+
+    @ApiOperation(value = "Suggests the best movement for the player in turn", notes = "Searched within the configured time budget", response = MoveHint.class)
+    @GetMapping("/{gameId}/hint")
+    public MoveHint hint(@PathVariable String gameId) throws GameNotFoundException, GameOverException {
+        return gameService.getHint(gameId);
+    }
+
+    @ApiOperation(value = "Lists the legal movements of the player in turn with the board each one leaves", notes = "Nothing is played or saved", response = MovePreview.class, responseContainer = "List")
+    @GetMapping("/{gameId}/moves")
+    public List<MovePreview> moves(@PathVariable String gameId) throws GameNotFoundException {
+        return gameService.getMoves(gameId);
+    }
+
+    @ApiOperation(value = "Retrieves the movements of the game, in the order they were played", response = MoveHistoryPage.class)
+    @GetMapping("/{gameId}/history")
+    public MoveHistoryPage history(@PathVariable String gameId, @RequestParam(defaultValue = "0") int page, @RequestParam(defaultValue = "50") int size) throws GameNotFoundException {
+        return gameService.getHistory(gameId, page, size);
+    }
+
+    private MoveOutcome move(String gameId, int pit, boolean bot) {
+        return bot ? gameService.tryMoveAgainstBot(gameId, pit) : gameService.tryMove(gameId, pit);
     }
 }
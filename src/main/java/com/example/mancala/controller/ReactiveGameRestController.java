@@ -0,0 +1,160 @@
+package com.example.mancala.controller;
+
+import com.example.mancala.event.GameEventBroadcaster;
+import com.example.mancala.event.GameEventSink;
+import com.example.mancala.event.GameEventSubscription;
+import com.example.mancala.exception.TooManySubscribersException;
+import com.example.mancala.model.BatchMoveResult;
+import com.example.mancala.model.Game;
+import com.example.mancala.model.MoveDelta;
+import com.example.mancala.model.MoveHint;
+import com.example.mancala.model.MoveHistoryPage;
+import com.example.mancala.model.MovePreview;
+import com.example.mancala.model.Variant;
+import com.example.mancala.service.GameService;
+import io.swagger.annotations.Api;
+import io.swagger.annotations.ApiOperation;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.FluxSink;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+
+import java.util.List;
+import java.util.concurrent.Callable;
+
+/**
+ * Reactive equivalent of {@link GameRestController} and {@link GameEventController}, registered when the application
+ * runs with {@code spring.main.web-application-type=reactive}. The event loop never blocks: the game service calls,
+ * which may wait on a game lock or on the database, run on the game service scheduler, and the event streams only
+ * receive events while the client has demand.
+ */
+@Api(tags = "mancala-game")
+@RestController
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+@RequestMapping("/api/game")
+public class ReactiveGameRestController {
+
+    private final GameService gameService;
+    private final GameEventBroadcaster gameEventBroadcaster;
+    private final Scheduler scheduler;
+
+    public ReactiveGameRestController(GameService gameService, GameEventBroadcaster gameEventBroadcaster, Scheduler gameServiceScheduler) {
+        this.gameService = gameService;
+        this.gameEventBroadcaster = gameEventBroadcaster;
+        this.scheduler = gameServiceScheduler;
+    }
+
+    @ApiOperation(value = "Starts a new game for 2 players", notes = "Optionally takes the board variant, the fields left empty take the configured values. Returns the game")
+    @PostMapping
+    public Mono<Game> startGame(@RequestBody(required = false) Variant variant) {
+        return call(() -> gameService.createGame(variant));
+    }
+
+    @ApiOperation(value = "Starts several games at once", notes = "Optionally takes the board variant shared by every game. Returns the ids of the games")
+    @PostMapping("/bulk")
+    public Mono<List<String>> startGames(@RequestParam int count, @RequestBody(required = false) Variant variant) {
+        return call(() -> gameService.createGames(count, variant));
+    }
+
+    @ApiOperation(value = "Retrieves the game according to the game ID provided", response = Game.class)
+    @GetMapping("/{gameId}")
+    public Mono<Game> get(@PathVariable String gameId) {
+        return call(() -> gameService.getGame(gameId));
+    }
+
+    @ApiOperation(value = "Selects the pit for the movement. Default: 1-6 for pits from player 1, 7-12 for pits from player 2", notes = "Returns the game after the movement, or the rejection reason", response = Game.class)
+    @PutMapping("/{gameId}/selectPit/{pit}")
+    public Mono<ResponseEntity<?>> selectPit(@PathVariable String gameId, @PathVariable Integer pit, @RequestParam(defaultValue = "false") boolean bot) {
+        return call(() -> bot ? gameService.tryMoveAgainstBot(gameId, pit) : gameService.tryMove(gameId, pit))
+                .map(outcome -> outcome.isApplied() ? ResponseEntity.ok(outcome.getResult().getGame()) : GameExceptionHandler.rejected(outcome.getRejection()));
+    }
+
+    @ApiOperation(value = "Selects the pit for the movement, with view=delta", notes = "Returns only the little pits changed by the movement, the big pits and the next turn", response = MoveDelta.class)
+    @PutMapping(value = "/{gameId}/selectPit/{pit}", params = "view=delta")
+    public Mono<ResponseEntity<?>> selectPitDelta(@PathVariable String gameId, @PathVariable Integer pit, @RequestParam(defaultValue = "false") boolean bot) {
+        return call(() -> bot ? gameService.tryMoveAgainstBot(gameId, pit) : gameService.tryMove(gameId, pit))
+                .map(outcome -> outcome.isApplied() ? ResponseEntity.ok(outcome.getResult().getDelta()) : GameExceptionHandler.rejected(outcome.getRejection()));
+    }
+
+    @ApiOperation(value = "Selects several pits in order, with all-or-nothing semantics", notes = "Returns the resulting game, or the unchanged game and the index of the first rejected movement", response = BatchMoveResult.class)
+    @PutMapping("/{gameId}/selectPits")
+    public Mono<ResponseEntity<BatchMoveResult>> selectPits(@PathVariable String gameId, @RequestBody List<Integer> pits) {
+        return call(() -> gameService.moveAll(gameId, pits))
+                .map(result -> result.isApplied() ? ResponseEntity.ok(result) : ResponseEntity.badRequest().body(result));
+    }
+
+    @ApiOperation(value = "Lets the server play the player in turn", notes = "Used when the bot starts the game. Returns the game after the movements of the bot, or the rejection reason", response = Game.class)
+    @PutMapping("/{gameId}/bot")
+    public Mono<ResponseEntity<?>> botMove(@PathVariable String gameId) {
+        return call(() -> gameService.tryBotMove(gameId))
+                .map(outcome -> outcome.isApplied() ? ResponseEntity.ok(outcome.getResult().getGame()) : GameExceptionHandler.rejected(outcome.getRejection()));
+    }
+
+    @ApiOperation(value = "Suggests the best movement for the player in turn", notes = "Searched within the configured time budget", response = MoveHint.class)
+    @GetMapping("/{gameId}/hint")
+    public Mono<MoveHint> hint(@PathVariable String gameId) {
+        return call(() -> gameService.getHint(gameId));
+    }
+
+    @ApiOperation(value = "Lists the legal movements of the player in turn with the board each one leaves", notes = "Nothing is played or saved", response = MovePreview.class, responseContainer = "List")
+    @GetMapping("/{gameId}/moves")
+    public Mono<List<MovePreview>> moves(@PathVariable String gameId) {
+        return call(() -> gameService.getMoves(gameId));
+    }
+
+    @ApiOperation(value = "Retrieves the movements of the game, in the order they were played", response = MoveHistoryPage.class)
+    @GetMapping("/{gameId}/history")
+    public Mono<MoveHistoryPage> history(@PathVariable String gameId, @RequestParam(defaultValue = "0") int page, @RequestParam(defaultValue = "50") int size) {
+        return call(() -> gameService.getHistory(gameId, page, size));
+    }
+
+    @ApiOperation(value = "Streams the movements of the game as server-sent events",
+            notes = "'move' events contain the changed pits, big pits and next turn. A 'state' event with the whole game is sent instead when the client falls behind")
+    @GetMapping(value = "/{gameId}/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public Flux<ServerSentEvent<Object>> events(@PathVariable String gameId) {
+        return call(() -> gameService.getGame(gameId))
+                .flatMapMany(game -> Flux.create(fluxSink -> subscribe(gameId, fluxSink)));
+    }
+
+    private void subscribe(String gameId, FluxSink<ServerSentEvent<Object>> fluxSink) {
+        try {
+            GameEventSubscription subscription = gameEventBroadcaster.subscribe(gameId, new GameEventSink() {
+                @Override
+                public boolean isReady() {
+                    return fluxSink.requestedFromDownstream() > 0;
+                }
+
+                @Override
+                public void send(String name, Object data) {
+                    fluxSink.next(ServerSentEvent.builder(data).event(name).build());
+                }
+
+                @Override
+                public void complete() {
+                    fluxSink.complete();
+                }
+
+                @Override
+                public void completeWithError(Throwable error) {
+                    fluxSink.error(error);
+                }
+            });
+            fluxSink.onRequest(requested -> subscription.resume());
+            fluxSink.onDispose(subscription::cancel);
+        } catch (TooManySubscribersException e) {
+            fluxSink.error(new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, e.getMessage(), e));
+        }
+    }
+
+    private <T> Mono<T> call(Callable<T> serviceCall) {
+        return Mono.fromCallable(serviceCall)
+                .subscribeOn(scheduler);
+    }
+}
@@ -0,0 +1,327 @@
+package com.example.mancala.engine;
+
+import java.util.Arrays;
+
+/**
+ * Allocation-free Mancala board engine. The whole board lives in a flat {@code int[]} with the following layout:
+ * <pre>
+ *   [0 .. n-1]     little pits of player one (positions 1..n)
+ *   [n]            big pit of player one
+ *   [n+1 .. 2n]    little pits of player two (positions n+1..2n)
+ *   [2n+1]         big pit of player two
+ * </pre>
+ * Positions used by the public API are the same 1-based pit positions exposed by the REST API. The geometry of the
+ * board comes from the shared {@link BoardTopology} of its size, so sowing only walks precomputed tables, and the
+ * capture rules of its variant come from a shared {@link BoardRules}.
+ */
+public final class Board {
+
+    public static final int PLAYER_ONE = 0;
+    public static final int PLAYER_TWO = 1;
+    public static final int GAME_OVER = 2;
+
+    /**
+     * Flag returned by {@link #move(int)} when the last stone ended in the mover's big pit
+     */
+    public static final int EXTRA_TURN = 1;
+    /**
+     * Flag returned by {@link #move(int)} when the last stone captured the opposite pit
+     */
+    public static final int CAPTURE = 1 << 1;
+    /**
+     * Flag returned by {@link #move(int)} when the movement finished the game
+     */
+    public static final int FINISHED = 1 << 2;
+
+    private static final int UNDO_TURN_SHIFT = 3;
+    private static final int UNDO_STONES_SHIFT = 8;
+    private static final int UNDO_CAPTURED_SHIFT = 32;
+    private static final int UNDO_FIELD_MASK = (1 << 24) - 1;
+
+    private final BoardTopology topology;
+    private final BoardRules rules;
+    private final int pitsPerPlayer;
+    private final int[] cells;
+    private int stonesPerPit;
+    private int turn;
+
+    public Board(int pitsPerPlayer) {
+        this(BoardTopology.of(pitsPerPlayer), BoardRules.STANDARD);
+    }
+
+    public Board(int pitsPerPlayer, BoardRules rules) {
+        this(BoardTopology.of(pitsPerPlayer), rules);
+    }
+
+    private Board(BoardTopology topology, BoardRules rules) {
+        this.topology = topology;
+        this.rules = rules;
+        this.pitsPerPlayer = topology.getPitsPerPlayer();
+        this.cells = new int[topology.getCellCount()];
+    }
+
+    public static Board initial(int pitsPerPlayer, int stonesPerPit, int turn) {
+        return initial(pitsPerPlayer, stonesPerPit, BoardRules.STANDARD, turn);
+    }
+
+    public static Board initial(int pitsPerPlayer, int stonesPerPit, BoardRules rules, int turn) {
+        Board board = new Board(BoardTopology.of(pitsPerPlayer), rules);
+        board.stonesPerPit = stonesPerPit;
+        Arrays.fill(board.cells, stonesPerPit);
+        board.cells[board.topology.bigPit(PLAYER_ONE)] = 0;
+        board.cells[board.topology.bigPit(PLAYER_TWO)] = 0;
+        board.turn = turn;
+        return board;
+    }
+
+    public BoardTopology getTopology() {
+        return topology;
+    }
+
+    public BoardRules getRules() {
+        return rules;
+    }
+
+    /**
+     * @return stones per pit at the start of the game, 0 if unknown
+     */
+    public int getStonesPerPit() {
+        return stonesPerPit;
+    }
+
+    public void setStonesPerPit(int stonesPerPit) {
+        this.stonesPerPit = stonesPerPit;
+    }
+
+    public int getPitsPerPlayer() {
+        return pitsPerPlayer;
+    }
+
+    public int getTotalPits() {
+        return pitsPerPlayer * 2;
+    }
+
+    public int getTurn() {
+        return turn;
+    }
+
+    public void setTurn(int turn) {
+        this.turn = turn;
+    }
+
+    public int getStones(int position) {
+        return cells[topology.cellOf(position)];
+    }
+
+    public void setStones(int position, int stones) {
+        cells[topology.cellOf(position)] = stones;
+    }
+
+    public int getBigPit(int player) {
+        return cells[topology.bigPit(player)];
+    }
+
+    public void setBigPit(int player, int stones) {
+        cells[topology.bigPit(player)] = stones;
+    }
+
+    public boolean isGameOver() {
+        return turn == GAME_OVER;
+    }
+
+    public boolean isValidPit(int position) {
+        return position > 0 && position <= pitsPerPlayer * 2;
+    }
+
+    public int getOwner(int position) {
+        return position <= pitsPerPlayer ? PLAYER_ONE : PLAYER_TWO;
+    }
+
+    /**
+     * Plays the pit in the given position for the player in turn. The movement must have been validated before.
+     *
+     * @param position 1-based position of the pit to pick the stones from
+     * @return bitmask with {@link #EXTRA_TURN}, {@link #CAPTURE} and {@link #FINISHED} flags
+     */
+    public int move(int position) {
+        int flags = flags(make(position));
+        if ((flags & FINISHED) != 0) {
+            sweep();
+        }
+        return flags;
+    }
+
+    /**
+     * Plays the pit like {@link #move(int)}, but leaves the stones of a finished game on their side, so the movement
+     * can be taken back with {@link #unmake(int, long)}. Used by searches to walk the game tree on a single board.
+     *
+     * @return token to take the movement back, with the flags of the movement available through {@link #flags(long)}
+     */
+    public long make(int position) {
+        final int mover = turn;
+        final int ownBigPit = topology.bigPit(mover);
+        final int skippedBigPit = topology.bigPit(1 - mover);
+        final int ringSize = cells.length - 1;
+        final int[] next = topology.nextTable(mover);
+
+        int from = topology.cellOf(position);
+        int stones = cells[from];
+        cells[from] = 0;
+
+        // Full laps drop the same amount of stones in every pit of the ring, no need to walk them stone by stone
+        int laps = stones / ringSize;
+        if (laps > 0) {
+            for (int i = 0; i < cells.length; i++) {
+                cells[i] += laps;
+            }
+            cells[skippedBigPit] -= laps;
+        }
+
+        int last = from;
+        for (int remaining = stones % ringSize; remaining > 0; remaining--) {
+            last = next[last];
+            cells[last]++;
+        }
+
+        int flags = 0;
+        long captured = 0;
+        if (last == ownBigPit) {
+            flags |= EXTRA_TURN;
+        } else if (rules.isCapture() && cells[last] == 1 && topology.owner(last) == mover
+                && (rules.isEmptyCapture() || cells[topology.opposite(last)] > 0)) {
+            int opposite = topology.opposite(last);
+            captured = cells[opposite];
+            cells[ownBigPit] += cells[last] + cells[opposite];
+            cells[last] = 0;
+            cells[opposite] = 0;
+            flags |= CAPTURE;
+        }
+
+        if (isSideEmpty(mover)) {
+            turn = GAME_OVER;
+            flags |= FINISHED;
+        } else if ((flags & EXTRA_TURN) == 0) {
+            turn = 1 - mover;
+        }
+        return flags | (long) mover << UNDO_TURN_SHIFT | (long) stones << UNDO_STONES_SHIFT | captured << UNDO_CAPTURED_SHIFT;
+    }
+
+    /**
+     * Takes back the last movement made with {@link #make(int)}, walking the sowing backwards
+     *
+     * @param undo token returned by {@link #make(int)}
+     */
+    public void unmake(int position, long undo) {
+        final int mover = (int) (undo >>> UNDO_TURN_SHIFT) & 0x3;
+        final int stones = (int) (undo >>> UNDO_STONES_SHIFT) & UNDO_FIELD_MASK;
+        final int ringSize = cells.length - 1;
+        final int[] next = topology.nextTable(mover);
+        final int from = topology.cellOf(position);
+
+        int last = from;
+        int remaining = stones % ringSize;
+        for (int i = 0; i < remaining; i++) {
+            last = next[last];
+        }
+        if ((undo & CAPTURE) != 0) {
+            int captured = (int) (undo >>> UNDO_CAPTURED_SHIFT) & UNDO_FIELD_MASK;
+            int opposite = topology.opposite(last);
+            cells[topology.bigPit(mover)] -= captured + 1;
+            cells[last] = 1;
+            cells[opposite] = captured;
+        }
+
+        last = from;
+        for (int i = 0; i < remaining; i++) {
+            last = next[last];
+            cells[last]--;
+        }
+        int laps = stones / ringSize;
+        if (laps > 0) {
+            for (int i = 0; i < cells.length; i++) {
+                cells[i] -= laps;
+            }
+            cells[topology.bigPit(1 - mover)] += laps;
+        }
+        cells[from] = stones;
+        turn = mover;
+    }
+
+    /**
+     * @return the {@link #EXTRA_TURN}, {@link #CAPTURE} and {@link #FINISHED} flags of a movement made with
+     * {@link #make(int)}
+     */
+    public static int flags(long undo) {
+        return (int) undo & (EXTRA_TURN | CAPTURE | FINISHED);
+    }
+
+    /**
+     * @return stones of the player, in the big pit and still on the side. Once the game is over, the final score of
+     * the player whether the last stones were swept or not
+     */
+    public int getScore(int player) {
+        int bigPit = topology.bigPit(player);
+        int score = cells[bigPit];
+        for (int i = topology.sideStart(player); i < bigPit; i++) {
+            score += cells[i];
+        }
+        return score;
+    }
+
+    /**
+     * @return 64-bit hash of the cells and the turn, to check that a replayed board matches the recorded one
+     */
+    public long hash() {
+        long hash = 0x9E3779B97F4A7C15L * (turn + 1);
+        for (int cell : cells) {
+            hash = (hash ^ cell) * 0xBF58476D1CE4E5B9L;
+            hash ^= hash >>> 31;
+        }
+        return hash;
+    }
+
+    /**
+     * @return Zobrist key of the position: the stones of every cell, the turn and the capture rules. The same position
+     * has the same key whatever the game and the movements that reached it, so searches can share what they learn
+     * about it
+     */
+    public long zobristKey() {
+        long key = topology.zobristState(turn, rules);
+        for (int cell = 0; cell < cells.length; cell++) {
+            key ^= topology.zobristStones(cell, cells[cell]);
+        }
+        return key;
+    }
+
+    public Board copy() {
+        Board board = new Board(topology, rules);
+        board.copyFrom(this);
+        return board;
+    }
+
+    public void copyFrom(Board other) {
+        System.arraycopy(other.cells, 0, cells, 0, cells.length);
+        stonesPerPit = other.stonesPerPit;
+        turn = other.turn;
+    }
+
+    private void sweep() {
+        for (int player = PLAYER_ONE; player <= PLAYER_TWO; player++) {
+            int bigPit = topology.bigPit(player);
+            for (int i = topology.sideStart(player); i < bigPit; i++) {
+                cells[bigPit] += cells[i];
+                cells[i] = 0;
+            }
+        }
+    }
+
+    private boolean isSideEmpty(int player) {
+        int end = topology.bigPit(player);
+        for (int i = topology.sideStart(player); i < end; i++) {
+            if (cells[i] > 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
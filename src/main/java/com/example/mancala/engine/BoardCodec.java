@@ -0,0 +1,83 @@
+package com.example.mancala.engine;
+
+import lombok.experimental.UtilityClass;
+
+import java.io.ByteArrayOutputStream;
+
+/**
+ * Packs a whole {@link Board} (little pits, big pits and turn) into a compact byte array, so a game can be stored in a
+ * single column. Counters are written as unsigned varints, so a default board takes 19 bytes. The format is:
+ * <pre>
+ *   version (2), pits per player, turn, rule flags, stones per pit, little pits, big pit 1, big pit 2
+ * </pre>
+ * Boards written with version 1, without rule flags nor stones per pit, are read with the standard rules.
+ */
+@UtilityClass
+public class BoardCodec {
+
+    private static final int FORMAT_VERSION = 2;
+    private static final int LEGACY_FORMAT_VERSION = 1;
+    private static final int CAPTURE_FLAG = 1;
+    private static final int EMPTY_CAPTURE_FLAG = 1 << 1;
+
+    public static byte[] encode(Board board) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(board.getTotalPits() + 8);
+        out.write(FORMAT_VERSION);
+        writeVarInt(out, board.getPitsPerPlayer());
+        out.write(board.getTurn());
+        BoardRules rules = board.getRules();
+        out.write((rules.isCapture() ? CAPTURE_FLAG : 0) | (rules.isEmptyCapture() ? EMPTY_CAPTURE_FLAG : 0));
+        writeVarInt(out, board.getStonesPerPit());
+        for (int position = 1; position <= board.getTotalPits(); position++) {
+            writeVarInt(out, board.getStones(position));
+        }
+        writeVarInt(out, board.getBigPit(Board.PLAYER_ONE));
+        writeVarInt(out, board.getBigPit(Board.PLAYER_TWO));
+        return out.toByteArray();
+    }
+
+    public static Board decode(byte[] data) {
+        int[] offset = {0};
+        int version = data[offset[0]++];
+        if (version != FORMAT_VERSION && version != LEGACY_FORMAT_VERSION) {
+            throw new IllegalArgumentException("Unsupported board format version: " + version);
+        }
+        int pitsPerPlayer = readVarInt(data, offset);
+        int turn = data[offset[0]++];
+        Board board;
+        if (version == LEGACY_FORMAT_VERSION) {
+            board = new Board(pitsPerPlayer);
+        } else {
+            int flags = data[offset[0]++];
+            board = new Board(pitsPerPlayer, BoardRules.of((flags & CAPTURE_FLAG) != 0, (flags & EMPTY_CAPTURE_FLAG) != 0));
+            board.setStonesPerPit(readVarInt(data, offset));
+        }
+        board.setTurn(turn);
+        for (int position = 1; position <= board.getTotalPits(); position++) {
+            board.setStones(position, readVarInt(data, offset));
+        }
+        board.setBigPit(Board.PLAYER_ONE, readVarInt(data, offset));
+        board.setBigPit(Board.PLAYER_TWO, readVarInt(data, offset));
+        return board;
+    }
+
+    private static void writeVarInt(ByteArrayOutputStream out, int value) {
+        while ((value & ~0x7F) != 0) {
+            out.write((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        out.write(value);
+    }
+
+    private static int readVarInt(byte[] data, int[] offset) {
+        int value = 0;
+        int shift = 0;
+        byte current;
+        do {
+            current = data[offset[0]++];
+            value |= (current & 0x7F) << shift;
+            shift += 7;
+        } while ((current & 0x80) != 0);
+        return value;
+    }
+}
@@ -0,0 +1,123 @@
+package com.example.mancala.engine;
+
+import com.example.mancala.model.Game;
+import com.example.mancala.model.MoveDelta;
+import com.example.mancala.model.MovePreview;
+import com.example.mancala.model.Pit;
+import com.example.mancala.model.Turn;
+import com.example.mancala.model.Variant;
+import lombok.experimental.UtilityClass;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Maps the entity model in and out of the {@link Board} engine
+ */
+@UtilityClass
+public class BoardMapper {
+
+    private static final Turn[] TURNS = Turn.values();
+
+    public static Board toBoard(Game game) {
+        List<Pit> pits = game.getPits();
+        int totalPits = pits == null ? 0 : pits.size();
+        Variant variant = game.getVariant();
+        Board board = new Board(totalPits / 2, toRules(variant));
+        if (variant != null && variant.getStonesPerPit() != null) {
+            board.setStonesPerPit(variant.getStonesPerPit());
+        }
+        for (int position = 1; position <= totalPits; position++) {
+            board.setStones(position, pits.get(position - 1).getStones());
+        }
+        board.setBigPit(Board.PLAYER_ONE, game.getBigPitPlayerOne());
+        board.setBigPit(Board.PLAYER_TWO, game.getBigPitPlayerTwo());
+        board.setTurn(toBoardTurn(game.getTurn()));
+        return board;
+    }
+
+    public static Game toGame(String gameId, Board board) {
+        Game game = new Game();
+        game.setId(gameId);
+        List<Pit> pits = new ArrayList<>(board.getTotalPits());
+        for (int position = 1; position <= board.getTotalPits(); position++) {
+            pits.add(new Pit(pitId(gameId, position), game, board.getOwner(position) + 1, position, board.getStones(position)));
+        }
+        game.setPits(pits);
+        game.setVariant(toVariant(board));
+        game.setBigPitPlayerOne(board.getBigPit(Board.PLAYER_ONE));
+        game.setBigPitPlayerTwo(board.getBigPit(Board.PLAYER_TWO));
+        game.setTurn(toTurn(board.getTurn()));
+        return game;
+    }
+
+    /**
+     * Pits are identified by their game and position, so no random id is needed
+     */
+    public static String pitId(String gameId, int position) {
+        return gameId + "-" + position;
+    }
+
+    public static void apply(Board board, Game game) {
+        List<Pit> pits = game.getPits();
+        for (int position = 1; position <= board.getTotalPits(); position++) {
+            Pit pit = pits.get(position - 1);
+            int stones = board.getStones(position);
+            if (pit.getStones() != stones) {
+                pit.setStones(stones);
+            }
+        }
+        game.setBigPitPlayerOne(board.getBigPit(Board.PLAYER_ONE));
+        game.setBigPitPlayerTwo(board.getBigPit(Board.PLAYER_TWO));
+        game.setTurn(toTurn(board.getTurn()));
+    }
+
+    public static MoveDelta toDelta(Board before, Board after) {
+        List<MoveDelta.ChangedPit> changedPits = new ArrayList<>();
+        for (int position = 1; position <= after.getTotalPits(); position++) {
+            if (before.getStones(position) != after.getStones(position)) {
+                changedPits.add(new MoveDelta.ChangedPit(position, after.getStones(position)));
+            }
+        }
+        return new MoveDelta(changedPits, after.getBigPit(Board.PLAYER_ONE), after.getBigPit(Board.PLAYER_TWO), toTurn(after.getTurn()));
+    }
+
+    /**
+     * @param flags flags returned by {@link Board#move(int)} when the pit was played on the board
+     */
+    public static MovePreview toPreview(int position, int flags, Board after) {
+        List<Integer> pits = new ArrayList<>(after.getTotalPits());
+        for (int pit = 1; pit <= after.getTotalPits(); pit++) {
+            pits.add(after.getStones(pit));
+        }
+        return new MovePreview(position, (flags & Board.EXTRA_TURN) != 0, (flags & Board.CAPTURE) != 0, (flags & Board.FINISHED) != 0,
+                pits, after.getBigPit(Board.PLAYER_ONE), after.getBigPit(Board.PLAYER_TWO), toTurn(after.getTurn()));
+    }
+
+    public static BoardRules toRules(Variant variant) {
+        if (variant == null) {
+            return BoardRules.STANDARD;
+        }
+        return BoardRules.of(!Boolean.FALSE.equals(variant.getCapture()), !Boolean.FALSE.equals(variant.getEmptyCapture()));
+    }
+
+    /**
+     * @return the variant of the board, null if the board does not know its initial stones, as games started before
+     * variants were supported
+     */
+    public static Variant toVariant(Board board) {
+        if (board.getStonesPerPit() == 0) {
+            return null;
+        }
+        BoardRules rules = board.getRules();
+        return new Variant(board.getPitsPerPlayer(), board.getStonesPerPit(), rules.isCapture(), rules.isEmptyCapture());
+    }
+
+    public static int toBoardTurn(Turn turn) {
+        return turn.ordinal();
+    }
+
+    public static Turn toTurn(int boardTurn) {
+        return TURNS[boardTurn];
+    }
+}
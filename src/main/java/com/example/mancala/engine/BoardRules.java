@@ -0,0 +1,47 @@
+package com.example.mancala.engine;
+
+/**
+ * Capture rules of a board variant. There are only four combinations, all of them preallocated, so resolving the
+ * rules of a game never allocates.
+ */
+public final class BoardRules {
+
+    private static final BoardRules[] RULES = {
+            new BoardRules(false, false),
+            new BoardRules(false, true),
+            new BoardRules(true, false),
+            new BoardRules(true, true)
+    };
+
+    /**
+     * Rules of the original game: the last stone in an own empty pit captures it with the opposite pit, even when the
+     * opposite pit is empty
+     */
+    public static final BoardRules STANDARD = of(true, true);
+
+    private final boolean capture;
+    private final boolean emptyCapture;
+
+    private BoardRules(boolean capture, boolean emptyCapture) {
+        this.capture = capture;
+        this.emptyCapture = emptyCapture;
+    }
+
+    public static BoardRules of(boolean capture, boolean emptyCapture) {
+        return RULES[(capture ? 2 : 0) | (emptyCapture ? 1 : 0)];
+    }
+
+    /**
+     * @return whether the last stone in an own empty pit captures the opposite pit
+     */
+    public boolean isCapture() {
+        return capture;
+    }
+
+    /**
+     * @return whether the capture also happens when the opposite pit is empty, moving only the last stone to the big pit
+     */
+    public boolean isEmptyCapture() {
+        return emptyCapture;
+    }
+}
@@ -0,0 +1,151 @@
+package com.example.mancala.engine;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Immutable geometry of a board with a given number of pits per player, using the cell layout of {@link Board}. Every
+ * formula the engine needs while sowing is precomputed into a table, and the tables are built once per board size and
+ * shared by every board of that size.
+ */
+public final class BoardTopology {
+
+    private static final ConcurrentMap<Integer, BoardTopology> TOPOLOGIES = new ConcurrentHashMap<>();
+    /**
+     * Stones per cell with their own random Zobrist key, bigger amounts derive theirs from the key of the cell
+     */
+    private static final int ZOBRIST_STONES = 64;
+
+    private final int pitsPerPlayer;
+    private final int cellCount;
+    private final int[] bigPit;
+    private final int[] sideStart;
+    /**
+     * Next cell to sow for every player and cell, skipping the big pit of the other player
+     */
+    private final int[][] next;
+    /**
+     * Cell facing every little pit, -1 for the big pits
+     */
+    private final int[] opposite;
+    /**
+     * Player owning every little pit, -1 for the big pits
+     */
+    private final int[] owner;
+    /**
+     * Cell of every 1-based position, index 0 is unused
+     */
+    private final int[] cellOfPosition;
+    /**
+     * Zobrist key of every cell and amount of stones below {@link #ZOBRIST_STONES}, then of every turn and of every
+     * combination of capture rules
+     */
+    private final long[] zobrist;
+
+    private BoardTopology(int pitsPerPlayer) {
+        this.pitsPerPlayer = pitsPerPlayer;
+        this.cellCount = pitsPerPlayer * 2 + 2;
+        this.bigPit = new int[]{pitsPerPlayer, pitsPerPlayer * 2 + 1};
+        this.sideStart = new int[]{0, pitsPerPlayer + 1};
+
+        this.next = new int[2][cellCount];
+        for (int player = Board.PLAYER_ONE; player <= Board.PLAYER_TWO; player++) {
+            int skipped = bigPit[1 - player];
+            for (int cell = 0; cell < cellCount; cell++) {
+                int nextCell = (cell + 1) % cellCount;
+                next[player][cell] = nextCell == skipped ? (nextCell + 1) % cellCount : nextCell;
+            }
+        }
+
+        this.opposite = new int[cellCount];
+        this.owner = new int[cellCount];
+        Arrays.fill(opposite, -1);
+        Arrays.fill(owner, -1);
+        for (int player = Board.PLAYER_ONE; player <= Board.PLAYER_TWO; player++) {
+            for (int cell = sideStart[player]; cell < sideStart[player] + pitsPerPlayer; cell++) {
+                opposite[cell] = pitsPerPlayer * 2 - cell;
+                owner[cell] = player;
+            }
+        }
+
+        this.cellOfPosition = new int[pitsPerPlayer * 2 + 1];
+        for (int position = 1; position < cellOfPosition.length; position++) {
+            cellOfPosition[position] = position <= pitsPerPlayer ? position - 1 : position;
+        }
+
+        // Seeded by the size, so keys are the same on every node and boards of different sizes do not share them
+        SplittableRandom random = new SplittableRandom(0x5DEECE66DL * pitsPerPlayer);
+        this.zobrist = new long[cellCount * ZOBRIST_STONES + 3 + 4];
+        for (int i = 0; i < zobrist.length; i++) {
+            zobrist[i] = random.nextLong();
+        }
+    }
+
+    public static BoardTopology of(int pitsPerPlayer) {
+        return TOPOLOGIES.computeIfAbsent(pitsPerPlayer, BoardTopology::new);
+    }
+
+    public int getPitsPerPlayer() {
+        return pitsPerPlayer;
+    }
+
+    public int getCellCount() {
+        return cellCount;
+    }
+
+    public int bigPit(int player) {
+        return bigPit[player];
+    }
+
+    public int sideStart(int player) {
+        return sideStart[player];
+    }
+
+    public int next(int player, int cell) {
+        return next[player][cell];
+    }
+
+    /**
+     * @return the table of next cells for the player, to be walked without further lookups. Must not be modified
+     */
+    int[] nextTable(int player) {
+        return next[player];
+    }
+
+    public int opposite(int cell) {
+        return opposite[cell];
+    }
+
+    public int owner(int cell) {
+        return owner[cell];
+    }
+
+    public int cellOf(int position) {
+        return cellOfPosition[position];
+    }
+
+    /**
+     * @return Zobrist key of the cell holding the given stones
+     */
+    public long zobristStones(int cell, int stones) {
+        if (stones < ZOBRIST_STONES) {
+            return zobrist[cell * ZOBRIST_STONES + stones];
+        }
+        // SplitMix64 finalizer over the key of the cell, so big amounts still get well distributed keys
+        long key = zobrist[cell * ZOBRIST_STONES] + stones * 0x9E3779B97F4A7C15L;
+        key = (key ^ (key >>> 30)) * 0xBF58476D1CE4E5B9L;
+        key = (key ^ (key >>> 27)) * 0x94D049BB133111EBL;
+        return key ^ (key >>> 31);
+    }
+
+    /**
+     * @return Zobrist key of the turn and the capture rules of the board
+     */
+    public long zobristState(int turn, BoardRules rules) {
+        int base = cellCount * ZOBRIST_STONES;
+        int rulesIndex = (rules.isCapture() ? 2 : 0) | (rules.isEmptyCapture() ? 1 : 0);
+        return zobrist[base + turn] ^ zobrist[base + 3 + rulesIndex];
+    }
+}
@@ -0,0 +1,265 @@
+package com.example.mancala.event;
+
+import com.example.mancala.configuration.EventsConfig;
+import com.example.mancala.engine.Board;
+import com.example.mancala.engine.BoardMapper;
+import com.example.mancala.exception.TooManySubscribersException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import javax.annotation.PreDestroy;
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Pushes the movements of a game to every subscriber of that game as server-sent events. Events are queued per
+ * subscriber and written by a pool of dispatcher threads, so a slow subscriber never blocks the movements. When a
+ * subscriber falls too far behind, its queued events are dropped and replaced by a single event with the full state.
+ * <p>
+ * Writing an event blocks until the client takes it. The pool starts another thread when all of them are writing, so
+ * stalled subscribers only hold their own thread, at most one each. A subscriber still writing after the send timeout
+ * is dropped on its next event, and its stream is closed once the write returns.
+ */
+@Component
+@Slf4j
+public class GameEventBroadcaster {
+
+    static final String MOVE_EVENT = "move";
+    static final String STATE_EVENT = "state";
+
+    private final EventsConfig eventsConfig;
+    private final Map<String, List<Subscriber>> subscribers = new ConcurrentHashMap<>();
+    private final AtomicInteger subscriberCount = new AtomicInteger();
+    private final ExecutorService dispatcher;
+
+    public GameEventBroadcaster(EventsConfig eventsConfig) {
+        this.eventsConfig = eventsConfig;
+        AtomicInteger threadNumber = new AtomicInteger();
+        // Every subscriber has at most one write in flight, so the threads are bounded by the subscribers
+        this.dispatcher = new ThreadPoolExecutor(eventsConfig.getDispatcherThreads(), Integer.MAX_VALUE, 60, TimeUnit.SECONDS, new SynchronousQueue<>(), runnable -> {
+            Thread thread = new Thread(runnable, "game-events-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    public SseEmitter subscribe(String gameId) throws TooManySubscribersException {
+        SseEmitter emitter = createEmitter(eventsConfig.getStreamTimeout().toMillis());
+        GameEventSubscription subscription = subscribe(gameId, new SseEmitterSink(emitter));
+        emitter.onCompletion(subscription::cancel);
+        emitter.onTimeout(subscription::cancel);
+        emitter.onError(e -> subscription.cancel());
+        return emitter;
+    }
+
+    public GameEventSubscription subscribe(String gameId, GameEventSink sink) throws TooManySubscribersException {
+        if (subscriberCount.incrementAndGet() > eventsConfig.getMaxSubscribers()) {
+            subscriberCount.decrementAndGet();
+            log.warn("Subscription to game {} rejected, the limit of {} subscribers was reached", gameId, eventsConfig.getMaxSubscribers());
+            throw new TooManySubscribersException();
+        }
+
+        Subscriber subscriber = new Subscriber(gameId, sink);
+        // Added within the mapping, so the list cannot be dropped by the last subscriber of the game leaving meanwhile
+        subscribers.compute(gameId, (id, gameSubscribers) -> {
+            List<Subscriber> updated = gameSubscribers == null ? new CopyOnWriteArrayList<>() : gameSubscribers;
+            updated.add(subscriber);
+            return updated;
+        });
+        return subscriber;
+    }
+
+    public int getSubscriberCount() {
+        return subscriberCount.get();
+    }
+
+    @EventListener
+    public void onGameMoved(GameMovedEvent event) {
+        List<Subscriber> gameSubscribers = subscribers.get(event.getGameId());
+        if (gameSubscribers != null) {
+            gameSubscribers.forEach(subscriber -> subscriber.offer(event));
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        dispatcher.shutdownNow();
+        subscribers.values().forEach(gameSubscribers -> gameSubscribers.forEach(subscriber -> subscriber.sink.complete()));
+    }
+
+    SseEmitter createEmitter(long timeout) {
+        return new SseEmitter(timeout);
+    }
+
+    private void unsubscribe(Subscriber subscriber) {
+        if (subscriber.removed.compareAndSet(false, true)) {
+            subscriberCount.decrementAndGet();
+            subscribers.computeIfPresent(subscriber.gameId, (id, gameSubscribers) -> {
+                gameSubscribers.remove(subscriber);
+                return gameSubscribers.isEmpty() ? null : gameSubscribers;
+            });
+        }
+    }
+
+    private class Subscriber implements GameEventSubscription {
+        private final String gameId;
+        private final GameEventSink sink;
+        private final AtomicBoolean removed = new AtomicBoolean();
+        private final AtomicBoolean stalled = new AtomicBoolean();
+        private final ReentrantLock lock = new ReentrantLock();
+        private final ArrayDeque<GameMovedEvent> pending = new ArrayDeque<>();
+        private Board resync;
+        private boolean scheduled;
+        private volatile boolean sending;
+        private long sendStartedAt;
+
+        Subscriber(String gameId, GameEventSink sink) {
+            this.gameId = gameId;
+            this.sink = sink;
+        }
+
+        @Override
+        public void resume() {
+            boolean schedule;
+            lock.lock();
+            try {
+                schedule = !scheduled && (resync != null || !pending.isEmpty());
+                scheduled |= schedule;
+            } finally {
+                lock.unlock();
+            }
+
+            if (schedule) {
+                dispatcher.execute(this::drain);
+            }
+        }
+
+        @Override
+        public void cancel() {
+            unsubscribe(this);
+        }
+
+        void offer(GameMovedEvent event) {
+            if (sending && System.nanoTime() - sendStartedAt > eventsConfig.getSendTimeout().toNanos()) {
+                // The sink is still blocked in the write and holds its own monitor, so it is closed by the writer
+                if (stalled.compareAndSet(false, true)) {
+                    log.warn("Subscriber of game {} dropped, it has been writing an event for more than {}", gameId, eventsConfig.getSendTimeout());
+                    unsubscribe(this);
+                }
+                return;
+            }
+            boolean schedule;
+            lock.lock();
+            try {
+                if (resync != null) {
+                    resync = event.getAfter();
+                } else if (pending.size() >= eventsConfig.getMaxPendingEvents()) {
+                    pending.clear();
+                    resync = event.getAfter();
+                } else {
+                    pending.add(event);
+                }
+                schedule = !scheduled;
+                scheduled = true;
+            } finally {
+                lock.unlock();
+            }
+
+            if (schedule) {
+                dispatcher.execute(this::drain);
+            }
+        }
+
+        private void drain() {
+            while (true) {
+                boolean ready;
+                Board state = null;
+                GameMovedEvent event = null;
+                lock.lock();
+                try {
+                    if (removed.get() || (resync == null && pending.isEmpty())) {
+                        scheduled = false;
+                        return;
+                    }
+                    ready = sink.isReady();
+                    if (!ready) {
+                        scheduled = false;
+                    } else if (resync != null) {
+                        state = resync;
+                        resync = null;
+                    } else {
+                        event = pending.poll();
+                    }
+                } finally {
+                    lock.unlock();
+                }
+
+                if (!ready) {
+                    // The sink could have become ready right before the flag was cleared
+                    if (sink.isReady()) {
+                        resume();
+                    }
+                    return;
+                }
+
+                sendStartedAt = System.nanoTime();
+                sending = true;
+                try {
+                    if (state != null) {
+                        sink.send(STATE_EVENT, BoardMapper.toGame(gameId, state));
+                    } else {
+                        sink.send(MOVE_EVENT, BoardMapper.toDelta(event.getBefore(), event.getAfter()));
+                    }
+                } catch (IOException | IllegalStateException e) {
+                    log.debug("Subscriber of game {} disconnected", gameId, e);
+                    unsubscribe(this);
+                    sink.completeWithError(e);
+                    return;
+                } finally {
+                    sending = false;
+                }
+                if (stalled.get()) {
+                    sink.completeWithError(new TimeoutException("Event not written within " + eventsConfig.getSendTimeout()));
+                    return;
+                }
+            }
+        }
+    }
+
+    private static class SseEmitterSink implements GameEventSink {
+        private final SseEmitter emitter;
+
+        SseEmitterSink(SseEmitter emitter) {
+            this.emitter = emitter;
+        }
+
+        @Override
+        public void send(String name, Object data) throws IOException {
+            emitter.send(SseEmitter.event().name(name).data(data));
+        }
+
+        @Override
+        public void complete() {
+            emitter.complete();
+        }
+
+        @Override
+        public void completeWithError(Throwable error) {
+            emitter.completeWithError(error);
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package com.example.mancala.event;
+
+import java.io.IOException;
+
+/**
+ * Destination of the events of one subscriber, independent of the web stack writing them
+ */
+public interface GameEventSink {
+
+    /**
+     * @return False while the subscriber cannot take more events. The broadcaster keeps them queued until
+     * {@link GameEventSubscription#resume()} is called.
+     */
+    default boolean isReady() {
+        return true;
+    }
+
+    void send(String name, Object data) throws IOException;
+
+    void complete();
+
+    void completeWithError(Throwable error);
+}
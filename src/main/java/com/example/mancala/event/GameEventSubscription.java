@@ -0,0 +1,14 @@
+package com.example.mancala.event;
+
+/**
+ * Handle of a subscription to the events of a game
+ */
+public interface GameEventSubscription {
+
+    /**
+     * Resumes sending the queued events after the sink became ready again
+     */
+    void resume();
+
+    void cancel();
+}
@@ -0,0 +1,17 @@
+package com.example.mancala.event;
+
+import com.example.mancala.engine.Board;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Published by the game service every time movements are applied to a game. The boards are private copies, so they can
+ * be read after the game lock has been released.
+ */
+@AllArgsConstructor
+@Getter
+public class GameMovedEvent {
+    private final String gameId;
+    private final Board before;
+    private final Board after;
+}
@@ -1,4 +1,10 @@
 package com.example.mancala.exception;
 
-public class BadPitSelectionException extends Exception {
+import com.example.mancala.model.RejectionReason;
+
+public class BadPitSelectionException extends GameRejectedException {
+
+    public BadPitSelectionException() {
+        super(RejectionReason.BAD_PIT);
+    }
 }
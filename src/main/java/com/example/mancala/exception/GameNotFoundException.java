@@ -1,4 +1,10 @@
 package com.example.mancala.exception;
 
-public class GameNotFoundException extends Exception {
+import com.example.mancala.model.RejectionReason;
+
+public class GameNotFoundException extends GameRejectedException {
+
+    public GameNotFoundException() {
+        super(RejectionReason.GAME_NOT_FOUND);
+    }
 }
@@ -1,4 +1,10 @@
 package com.example.mancala.exception;
 
-public class GameOverException extends Exception {
+import com.example.mancala.model.RejectionReason;
+
+public class GameOverException extends GameRejectedException {
+
+    public GameOverException() {
+        super(RejectionReason.GAME_OVER);
+    }
 }
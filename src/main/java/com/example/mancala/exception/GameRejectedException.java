@@ -0,0 +1,21 @@
+package com.example.mancala.exception;
+
+import com.example.mancala.model.RejectionReason;
+
+/**
+ * Base of the exceptions rejecting a request on a game. They are expected client errors, so they don't fill in the
+ * stack trace
+ */
+public abstract class GameRejectedException extends Exception {
+
+    private final RejectionReason reason;
+
+    protected GameRejectedException(RejectionReason reason) {
+        super(reason.getMessage(), null, false, false);
+        this.reason = reason;
+    }
+
+    public RejectionReason getReason() {
+        return reason;
+    }
+}
@@ -0,0 +1,10 @@
+package com.example.mancala.exception;
+
+import com.example.mancala.model.RejectionReason;
+
+public class InvalidGameCountException extends GameRejectedException {
+
+    public InvalidGameCountException() {
+        super(RejectionReason.INVALID_GAME_COUNT);
+    }
+}
@@ -1,4 +1,10 @@
 package com.example.mancala.exception;
 
-public class InvalidMovementException extends Exception {
+import com.example.mancala.model.RejectionReason;
+
+public class InvalidMovementException extends GameRejectedException {
+
+    public InvalidMovementException() {
+        super(RejectionReason.EMPTY_PIT);
+    }
 }
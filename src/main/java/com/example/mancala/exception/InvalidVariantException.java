@@ -0,0 +1,10 @@
+package com.example.mancala.exception;
+
+import com.example.mancala.model.RejectionReason;
+
+public class InvalidVariantException extends GameRejectedException {
+
+    public InvalidVariantException() {
+        super(RejectionReason.INVALID_VARIANT);
+    }
+}
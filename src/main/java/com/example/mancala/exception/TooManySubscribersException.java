@@ -0,0 +1,8 @@
+package com.example.mancala.exception;
+
+public class TooManySubscribersException extends Exception {
+
+    public TooManySubscribersException() {
+        super("Too many subscribers");
+    }
+}
@@ -1,4 +1,10 @@
 package com.example.mancala.exception;
 
-public class WrongPlayerTurnException extends Exception {
+import com.example.mancala.model.RejectionReason;
+
+public class WrongPlayerTurnException extends GameRejectedException {
+
+    public WrongPlayerTurnException() {
+        super(RejectionReason.WRONG_TURN);
+    }
 }
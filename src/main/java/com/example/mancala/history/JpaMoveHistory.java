@@ -0,0 +1,111 @@
+package com.example.mancala.history;
+
+import com.example.mancala.engine.Board;
+import com.example.mancala.engine.BoardCodec;
+import com.example.mancala.model.BoardSnapshot;
+import com.example.mancala.model.MoveRecord;
+import com.example.mancala.repository.BoardSnapshotRepository;
+import com.example.mancala.repository.MoveRecordRepository;
+import org.springframework.data.domain.PageRequest;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Stores every movement as a small row, and the packed board every {@code snapshotEvery} movements, so rebuilding a
+ * game never replays more than that many movements. The last movement of a game is always followed by a snapshot, which
+ * marks the game as finished
+ */
+public class JpaMoveHistory implements MoveHistory {
+
+    private final MoveRecordRepository moveRecordRepository;
+    private final BoardSnapshotRepository boardSnapshotRepository;
+    private final int snapshotEvery;
+
+    public JpaMoveHistory(MoveRecordRepository moveRecordRepository, BoardSnapshotRepository boardSnapshotRepository, int snapshotEvery) {
+        if (snapshotEvery < 1) {
+            throw new IllegalArgumentException("Invalid number of movements between snapshots " + snapshotEvery);
+        }
+        this.moveRecordRepository = moveRecordRepository;
+        this.boardSnapshotRepository = boardSnapshotRepository;
+        this.snapshotEvery = snapshotEvery;
+    }
+
+    @Override
+    public void start(String gameId, Board board) {
+        boardSnapshotRepository.save(snapshot(gameId, 0, board, Instant.now()));
+    }
+
+    @Override
+    public void startAll(Map<String, Board> boards) {
+        List<BoardSnapshot> snapshots = new ArrayList<>(boards.size());
+        Instant now = Instant.now();
+        boards.forEach((gameId, board) -> snapshots.add(snapshot(gameId, 0, board, now)));
+        boardSnapshotRepository.saveAll(snapshots);
+    }
+
+    @Override
+    public void append(String gameId, List<MoveRecord> moves, Board board) {
+        if (moves.isEmpty()) {
+            return;
+        }
+        moveRecordRepository.saveAll(moves);
+        int firstSequence = moves.get(0).getSequence();
+        MoveRecord last = moves.get(moves.size() - 1);
+        int lastSequence = last.getSequence();
+        if (board.isGameOver() || (firstSequence - 1) / snapshotEvery != lastSequence / snapshotEvery) {
+            boardSnapshotRepository.save(snapshot(gameId, lastSequence, board, last.getPlayedAt()));
+        }
+    }
+
+    @Override
+    public List<MoveRecord> getMoves(String gameId, int fromSequence, int toSequence) {
+        return moveRecordRepository.findByGameIdAndSequenceBetweenOrderBySequenceAsc(gameId, fromSequence, toSequence);
+    }
+
+    @Override
+    public Optional<Replay> rebuild(String gameId) {
+        return boardSnapshotRepository.findFirstByGameIdOrderBySequenceDesc(gameId)
+                .map(snapshot -> replay(gameId, snapshot));
+    }
+
+    /**
+     * Finished games are found by their final snapshot, and games in progress by their first snapshot when no movement
+     * was played since the idle time
+     */
+    @Override
+    public List<String> findExpiredIds(Instant finishedBefore, Instant idleBefore, int limit) {
+        return boardSnapshotRepository.findExpiredIds(finishedBefore, idleBefore, PageRequest.of(0, limit));
+    }
+
+    @Override
+    public void deleteAll(List<String> gameIds) {
+        moveRecordRepository.deleteByGameIdIn(gameIds);
+        boardSnapshotRepository.deleteByGameIdIn(gameIds);
+    }
+
+    private Replay replay(String gameId, BoardSnapshot snapshot) {
+        Board board = BoardCodec.decode(snapshot.getBoard());
+        int moves = snapshot.getSequence();
+        Instant updatedAt = snapshot.getTakenAt();
+        for (MoveRecord move : moveRecordRepository.findByGameIdAndSequenceGreaterThanOrderBySequenceAsc(gameId, snapshot.getSequence())) {
+            if (move.getPlayer() - 1 != board.getTurn()) {
+                throw new IllegalStateException("History of game " + gameId + " has movement " + move.getSequence() + " out of turn");
+            }
+            board.move(move.getPit());
+            if (board.hash() != move.getBoardHash()) {
+                throw new IllegalStateException("History of game " + gameId + " diverges at movement " + move.getSequence());
+            }
+            moves = move.getSequence();
+            updatedAt = move.getPlayedAt();
+        }
+        return new Replay(board, moves, updatedAt);
+    }
+
+    private static BoardSnapshot snapshot(String gameId, int sequence, Board board, Instant takenAt) {
+        return new BoardSnapshot(gameId, sequence, BoardCodec.encode(board), takenAt, board.isGameOver());
+    }
+}
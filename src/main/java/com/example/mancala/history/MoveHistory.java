@@ -0,0 +1,62 @@
+package com.example.mancala.history;
+
+import com.example.mancala.engine.Board;
+import com.example.mancala.model.MoveRecord;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Append-only log of the movements of every game, with periodic snapshots of the board
+ */
+public interface MoveHistory {
+
+    /**
+     * Records the initial board of a new game
+     */
+    void start(String gameId, Board board);
+
+    /**
+     * Records the initial boards of new games, by game id
+     */
+    default void startAll(Map<String, Board> boards) {
+        boards.forEach(this::start);
+    }
+
+    /**
+     * Appends movements already applied to the game
+     *
+     * @param board board after the last movement
+     */
+    void append(String gameId, List<MoveRecord> moves, Board board);
+
+    /**
+     * @return the movements with a sequence number between both values, inclusive, in the order they were played
+     */
+    List<MoveRecord> getMoves(String gameId, int fromSequence, int toSequence);
+
+    /**
+     * Rebuilds the board by replaying the movements recorded after the latest snapshot
+     *
+     * @return the rebuilt board and the number of movements played, empty if the game has no history
+     */
+    Optional<Replay> rebuild(String gameId);
+
+    /**
+     * Finds the games to expire from their history, for the games stored only as events
+     *
+     * @param finishedBefore finished games last updated before this time are expired
+     * @param idleBefore     games in progress last updated before this time are expired
+     * @return the ids of at most {@code limit} expired games, empty if the history does not record the games
+     */
+    default List<String> findExpiredIds(Instant finishedBefore, Instant idleBefore, int limit) {
+        return List.of();
+    }
+
+    /**
+     * Deletes the movements and snapshots of the games
+     */
+    void deleteAll(List<String> gameIds);
+}
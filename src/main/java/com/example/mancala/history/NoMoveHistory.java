@@ -0,0 +1,36 @@
+package com.example.mancala.history;
+
+import com.example.mancala.engine.Board;
+import com.example.mancala.model.MoveRecord;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * History used when it is disabled: nothing is recorded
+ */
+public class NoMoveHistory implements MoveHistory {
+
+    @Override
+    public void start(String gameId, Board board) {
+    }
+
+    @Override
+    public void append(String gameId, List<MoveRecord> moves, Board board) {
+    }
+
+    @Override
+    public List<MoveRecord> getMoves(String gameId, int fromSequence, int toSequence) {
+        return Collections.emptyList();
+    }
+
+    @Override
+    public Optional<Replay> rebuild(String gameId) {
+        return Optional.empty();
+    }
+
+    @Override
+    public void deleteAll(List<String> gameIds) {
+    }
+}
@@ -0,0 +1,23 @@
+package com.example.mancala.history;
+
+import com.example.mancala.engine.Board;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.Instant;
+
+/**
+ * Board of a game rebuilt from its history, with the number of movements played to reach it
+ */
+@AllArgsConstructor
+@Getter
+public class Replay {
+
+    private final Board board;
+    private final int moves;
+
+    /**
+     * Time of the creation of the game or of its last movement, null for histories recorded without it
+     */
+    private final Instant updatedAt;
+}
@@ -0,0 +1,9 @@
+package com.example.mancala.id;
+
+/**
+ * Generates the identifiers of new games
+ */
+public interface IdGenerator {
+
+    String nextId();
+}
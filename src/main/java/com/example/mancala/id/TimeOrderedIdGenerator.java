@@ -0,0 +1,73 @@
+package com.example.mancala.id;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * 64-bit time-ordered ids, rendered as 13 characters of Crockford's base32 so that their string order is their
+ * numeric order. The bits are laid out as:
+ * <pre>
+ *   [63]       always 0
+ *   [62 .. 22] milliseconds since 2020-01-01T00:00:00Z (enough for 69 years)
+ *   [21 .. 12] node id, 0..1023
+ *   [11 .. 0]  sequence within the millisecond
+ * </pre>
+ * New ids always land at the end of the primary key index, and no entropy is needed. When more than 4096 ids are
+ * generated in the same millisecond, or the clock goes backwards, the generator keeps counting on the last timestamp
+ * instead of waiting, so it never blocks and ids are unique and increasing per node.
+ */
+public class TimeOrderedIdGenerator implements IdGenerator {
+
+    public static final int MAX_NODE = 1023;
+
+    static final long EPOCH_MILLIS = 1_577_836_800_000L;
+
+    private static final int NODE_BITS = 10;
+    private static final int SEQUENCE_BITS = 12;
+    private static final long SEQUENCE_MASK = (1L << SEQUENCE_BITS) - 1;
+    private static final int ID_LENGTH = 13;
+    private static final char[] ALPHABET = "0123456789ABCDEFGHJKMNPQRSTVWXYZ".toCharArray();
+
+    private final long node;
+    private final LongSupplier clock;
+    /**
+     * Last timestamp (relative to the epoch) shifted over the sequence bits, plus the last sequence
+     */
+    private final AtomicLong state = new AtomicLong();
+
+    public TimeOrderedIdGenerator(int node) {
+        this(node, System::currentTimeMillis);
+    }
+
+    TimeOrderedIdGenerator(int node, LongSupplier clock) {
+        if (node < 0 || node > MAX_NODE) {
+            throw new IllegalArgumentException("Node id must be between 0 and " + MAX_NODE + ": " + node);
+        }
+        this.node = node;
+        this.clock = clock;
+    }
+
+    @Override
+    public String nextId() {
+        long now = clock.getAsLong() - EPOCH_MILLIS;
+        long last;
+        long next;
+        do {
+            last = state.get();
+            // An overflowing sequence carries into the timestamp, borrowing the next millisecond
+            next = now > last >>> SEQUENCE_BITS ? now << SEQUENCE_BITS : last + 1;
+        } while (!state.compareAndSet(last, next));
+
+        long id = (next >>> SEQUENCE_BITS) << (NODE_BITS + SEQUENCE_BITS) | node << SEQUENCE_BITS | (next & SEQUENCE_MASK);
+        return encode(id);
+    }
+
+    static String encode(long id) {
+        char[] chars = new char[ID_LENGTH];
+        for (int i = ID_LENGTH - 1; i >= 0; i--) {
+            chars[i] = ALPHABET[(int) (id & 31)];
+            id >>>= 5;
+        }
+        return new String(chars);
+    }
+}
@@ -0,0 +1,15 @@
+package com.example.mancala.id;
+
+import java.util.UUID;
+
+/**
+ * Random 36 characters UUIDs. Every id reads from {@code SecureRandom} and ids are spread all over the primary key
+ * index
+ */
+public class UuidIdGenerator implements IdGenerator {
+
+    @Override
+    public String nextId() {
+        return UUID.randomUUID().toString();
+    }
+}
@@ -0,0 +1,80 @@
+package com.example.mancala.lifecycle;
+
+import com.example.mancala.engine.BoardCodec;
+import com.example.mancala.engine.BoardMapper;
+import com.example.mancala.model.Game;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Append-only file of finished games. Every entry is the game id, the time of its last movement, the movements played
+ * and the board packed by {@link BoardCodec}, so a default game takes around 50 bytes
+ */
+public class GameArchive implements AutoCloseable {
+
+    private final DataOutputStream out;
+
+    public GameArchive(Path file) throws IOException {
+        if (file.getParent() != null) {
+            Files.createDirectories(file.getParent());
+        }
+        this.out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(file, StandardOpenOption.CREATE, StandardOpenOption.APPEND)));
+    }
+
+    /**
+     * Appends the games and flushes them to the file
+     */
+    public void append(List<Game> games) throws IOException {
+        for (Game game : games) {
+            byte[] board = BoardCodec.encode(BoardMapper.toBoard(game));
+            out.writeUTF(game.getId());
+            out.writeLong(game.getUpdatedAt() == null ? 0 : game.getUpdatedAt().toEpochMilli());
+            out.writeInt(game.getMoves());
+            out.writeShort(board.length);
+            out.write(board);
+        }
+        out.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        out.close();
+    }
+
+    /**
+     * Reads every game of an archive file, in the order they were archived
+     */
+    public static void read(Path file, Consumer<Game> consumer) throws IOException {
+        try (InputStream stream = Files.newInputStream(file);
+             DataInputStream in = new DataInputStream(new BufferedInputStream(stream))) {
+            while (true) {
+                String gameId;
+                try {
+                    gameId = in.readUTF();
+                } catch (EOFException e) {
+                    return;
+                }
+                long updatedAt = in.readLong();
+                int moves = in.readInt();
+                byte[] board = new byte[in.readUnsignedShort()];
+                in.readFully(board);
+                Game game = BoardMapper.toGame(gameId, BoardCodec.decode(board));
+                game.setMoves(moves);
+                game.setUpdatedAt(updatedAt == 0 ? null : Instant.ofEpochMilli(updatedAt));
+                consumer.accept(game);
+            }
+        }
+    }
+}
@@ -0,0 +1,191 @@
+package com.example.mancala.lifecycle;
+
+import com.example.mancala.concurrent.GameLocks;
+import com.example.mancala.configuration.LifecycleConfig;
+import com.example.mancala.history.MoveHistory;
+import com.example.mancala.model.Game;
+import com.example.mancala.model.Turn;
+import com.example.mancala.store.GameStore;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.time.Clock;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.Lock;
+
+/**
+ * Deletes the finished games and the games in progress that are no longer played, once they are not updated during
+ * their TTL. A single background thread deletes them in small batches, each one with the locks of its games, so a
+ * game is never deleted while a movement is being applied. Finished games can be archived before being deleted.
+ */
+@Slf4j
+public class GameLifecycleManager implements AutoCloseable {
+
+    private final GameStore gameStore;
+    private final MoveHistory moveHistory;
+    private final GameLocks gameLocks;
+    private final LifecycleConfig lifecycleConfig;
+    private final GameArchive gameArchive;
+    private final Clock clock;
+    private final ScheduledExecutorService scheduler;
+
+    private final LongAdder expiredFinished = new LongAdder();
+    private final LongAdder expiredIdle = new LongAdder();
+    private final LongAdder archived = new LongAdder();
+    private final LongAdder runs = new LongAdder();
+    private volatile long storedGames = -1;
+
+    /**
+     * @param gameArchive archive of the finished games, null to delete them without archiving
+     */
+    public GameLifecycleManager(GameStore gameStore, MoveHistory moveHistory, GameLocks gameLocks, LifecycleConfig lifecycleConfig, GameArchive gameArchive, Clock clock) {
+        this.gameStore = gameStore;
+        this.moveHistory = moveHistory;
+        this.gameLocks = gameLocks;
+        this.lifecycleConfig = lifecycleConfig;
+        this.gameArchive = gameArchive;
+        this.clock = clock;
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "game-lifecycle");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long period = lifecycleConfig.getInterval().toMillis();
+        scheduler.scheduleWithFixedDelay(this::run, period, period, TimeUnit.MILLISECONDS);
+    }
+
+    public LifecycleStats getStats() {
+        return new LifecycleStats(expiredFinished.sum(), expiredIdle.sum(), archived.sum(), runs.sum(), storedGames);
+    }
+
+    /**
+     * Stops the background thread and closes the archive
+     */
+    @Override
+    public void close() {
+        scheduler.shutdown();
+        try {
+            scheduler.awaitTermination(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (gameArchive != null) {
+            try {
+                gameArchive.close();
+            } catch (IOException e) {
+                log.error("Unable to close the game archive", e);
+            }
+        }
+    }
+
+    private void run() {
+        try {
+            expire();
+        } catch (RuntimeException e) {
+            log.error("Error expiring games, they will be retried", e);
+        }
+    }
+
+    void expire() {
+        Instant now = clock.instant();
+        Instant finishedBefore = now.minus(lifecycleConfig.getFinishedTtl());
+        Instant idleBefore = now.minus(lifecycleConfig.getIdleTtl());
+        long finishedBeforeRun = expiredFinished.sum();
+        long idleBeforeRun = expiredIdle.sum();
+
+        for (int batch = 0; batch < lifecycleConfig.getMaxBatchesPerRun() && !Thread.currentThread().isInterrupted(); batch++) {
+            List<String> candidates = gameStore.findExpiredIds(finishedBefore, idleBefore, lifecycleConfig.getBatchSize());
+            if (candidates.isEmpty() || expireBatch(candidates, finishedBefore, idleBefore) == 0) {
+                break;
+            }
+            pause();
+        }
+
+        runs.increment();
+        storedGames = gameStore.count();
+        long finished = expiredFinished.sum() - finishedBeforeRun;
+        long idle = expiredIdle.sum() - idleBeforeRun;
+        if (finished + idle > 0) {
+            log.info("Expired {} finished and {} idle games, {} games stored", finished, idle, storedGames);
+        }
+    }
+
+    /**
+     * Deletes the candidates that are still expired once their locks are held. Games locked by a movement are skipped
+     * instead of waited for, they are found again by the next run if they are still expired
+     *
+     * @return the number of games deleted
+     */
+    private int expireBatch(List<String> candidates, Instant finishedBefore, Instant idleBefore) {
+        List<Lock> locks = new ArrayList<>(candidates.size());
+        List<String> lockedIds = new ArrayList<>(candidates.size());
+        try {
+            for (String gameId : candidates) {
+                Lock lock = gameLocks.getLock(gameId);
+                if (lock.tryLock()) {
+                    locks.add(lock);
+                    lockedIds.add(gameId);
+                }
+            }
+            if (lockedIds.isEmpty()) {
+                return 0;
+            }
+
+            List<Game> finished = new ArrayList<>();
+            List<String> expiredIds = new ArrayList<>(lockedIds.size());
+            for (Game game : gameStore.findAllById(lockedIds)) {
+                boolean isFinished = Turn.GAME_OVER.equals(game.getTurn());
+                Instant updatedAt = game.getUpdatedAt();
+                if (updatedAt != null && updatedAt.isBefore(isFinished ? finishedBefore : idleBefore)) {
+                    expiredIds.add(game.getId());
+                    if (isFinished) {
+                        finished.add(game);
+                    }
+                }
+            }
+            if (expiredIds.isEmpty()) {
+                return 0;
+            }
+
+            archive(finished);
+            gameStore.deleteAll(expiredIds);
+            moveHistory.deleteAll(expiredIds);
+            expiredFinished.add(finished.size());
+            expiredIdle.add(expiredIds.size() - finished.size());
+            return expiredIds.size();
+        } finally {
+            locks.forEach(Lock::unlock);
+        }
+    }
+
+    private void archive(List<Game> finished) {
+        if (gameArchive == null || finished.isEmpty()) {
+            return;
+        }
+        try {
+            gameArchive.append(finished);
+            archived.add(finished.size());
+        } catch (IOException e) {
+            // Deleting games that could not be archived would lose them
+            throw new IllegalStateException("Unable to archive " + finished.size() + " games", e);
+        }
+    }
+
+    private void pause() {
+        long pause = lifecycleConfig.getBatchPause().toMillis();
+        if (pause <= 0) {
+            return;
+        }
+        try {
+            Thread.sleep(pause);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
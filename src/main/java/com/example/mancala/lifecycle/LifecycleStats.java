@@ -0,0 +1,18 @@
+package com.example.mancala.lifecycle;
+
+import lombok.Value;
+
+/**
+ * Snapshot of the counters of a {@link GameLifecycleManager}
+ */
+@Value
+public class LifecycleStats {
+    long expiredFinished;
+    long expiredIdle;
+    long archived;
+    long runs;
+    /**
+     * Games stored after the last run, -1 if the storage can not count them
+     */
+    long storedGames;
+}
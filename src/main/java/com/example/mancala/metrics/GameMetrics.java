@@ -0,0 +1,132 @@
+package com.example.mancala.metrics;
+
+import com.example.mancala.model.RejectionReason;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Meters of the game service: latency of every operation, of every phase of a movement, rejected movements by reason
+ * and games with recent movements. The games that stopped moving are pruned by the movements themselves, at most once
+ * per {@link #PRUNE_INTERVAL}, so the active games are bounded even if the gauge is never read
+ */
+@Component
+public class GameMetrics {
+
+    private static final Duration ACTIVE_WINDOW = Duration.ofMinutes(5);
+    private static final Duration PRUNE_INTERVAL = Duration.ofSeconds(30);
+
+    private final Timer createTimer;
+    private final Timer bulkCreateTimer;
+    private final Counter bulkCreatedGames;
+    private final Timer getTimer;
+    private final Timer moveTimer;
+    private final Timer searchTimer;
+    private final Counter searchNodes;
+    private final Map<MovePhase, Timer> phaseTimers = new EnumMap<>(MovePhase.class);
+    private final Map<RejectionReason, Counter> rejectionCounters = new EnumMap<>(RejectionReason.class);
+    private final Map<String, Long> lastMoves = new ConcurrentHashMap<>();
+    private final LongSupplier nanoClock;
+    private final AtomicLong nextPrune;
+
+    @Autowired
+    public GameMetrics(MeterRegistry meterRegistry) {
+        this(meterRegistry, System::nanoTime);
+    }
+
+    GameMetrics(MeterRegistry meterRegistry, LongSupplier nanoClock) {
+        this.nanoClock = nanoClock;
+        this.nextPrune = new AtomicLong(nanoClock.getAsLong() + PRUNE_INTERVAL.toNanos());
+        this.createTimer = Timer.builder("mancala.game.create").description("Game creation").register(meterRegistry);
+        this.bulkCreateTimer = Timer.builder("mancala.game.create.bulk").description("Creation of several games at once").register(meterRegistry);
+        this.bulkCreatedGames = Counter.builder("mancala.game.create.bulk.games").description("Games created in bulk").register(meterRegistry);
+        this.getTimer = Timer.builder("mancala.game.get").description("Game retrieval").register(meterRegistry);
+        this.moveTimer = Timer.builder("mancala.game.move").description("Whole movement, including the wait for the game lock").register(meterRegistry);
+        this.searchTimer = Timer.builder("mancala.game.search").description("Search of a hint or a movement of the bot").register(meterRegistry);
+        this.searchNodes = Counter.builder("mancala.game.search.nodes").description("Positions searched").register(meterRegistry);
+        for (MovePhase phase : MovePhase.values()) {
+            phaseTimers.put(phase, Timer.builder("mancala.game.move.phase")
+                    .description("Phase of a movement")
+                    .tag("phase", phase.name().toLowerCase())
+                    .register(meterRegistry));
+        }
+        for (RejectionReason reason : RejectionReason.values()) {
+            rejectionCounters.put(reason, Counter.builder("mancala.game.rejections")
+                    .description("Rejected requests by reason")
+                    .tag("reason", reason.name())
+                    .register(meterRegistry));
+        }
+        Gauge.builder("mancala.games.active", this, GameMetrics::countActiveGames)
+                .description("Games with movements in the last " + ACTIVE_WINDOW.toMinutes() + " minutes")
+                .register(meterRegistry);
+    }
+
+    public void recordCreate(long nanos) {
+        createTimer.record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void recordBulkCreate(int games, long nanos) {
+        bulkCreateTimer.record(nanos, TimeUnit.NANOSECONDS);
+        bulkCreatedGames.increment(games);
+    }
+
+    public void recordGet(long nanos) {
+        getTimer.record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void recordMove(String gameId, long nanos) {
+        moveTimer.record(nanos, TimeUnit.NANOSECONDS);
+        long now = nanoClock.getAsLong();
+        lastMoves.put(gameId, now);
+        long next = nextPrune.get();
+        // Only one of the concurrent movements prunes
+        if (now - next >= 0 && nextPrune.compareAndSet(next, now + PRUNE_INTERVAL.toNanos())) {
+            pruneInactiveGames(now);
+        }
+    }
+
+    public void recordSearch(long nodes, long nanos) {
+        searchTimer.record(nanos, TimeUnit.NANOSECONDS);
+        searchNodes.increment(nodes);
+    }
+
+    public void recordPhase(MovePhase phase, long nanos) {
+        phaseTimers.get(phase).record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void recordRejection(RejectionReason reason) {
+        rejectionCounters.get(reason).increment();
+    }
+
+    private double countActiveGames() {
+        pruneInactiveGames(nanoClock.getAsLong());
+        return lastMoves.size();
+    }
+
+    private void pruneInactiveGames(long now) {
+        long threshold = now - ACTIVE_WINDOW.toNanos();
+        lastMoves.values().removeIf(lastMove -> lastMove - threshold < 0);
+    }
+
+    int trackedGames() {
+        return lastMoves.size();
+    }
+
+    public enum MovePhase {
+        LOAD,
+        VALIDATE,
+        MOVE,
+        SAVE
+    }
+}
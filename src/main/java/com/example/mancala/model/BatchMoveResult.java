@@ -0,0 +1,28 @@
+package com.example.mancala.model;
+
+import io.swagger.annotations.ApiModelProperty;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@AllArgsConstructor
+@Getter
+public class BatchMoveResult {
+
+    @ApiModelProperty(notes = "Copy of the game after the batch. Unchanged if any movement was rejected")
+    private Game game;
+
+    @ApiModelProperty(notes = "Index in the batch of the first rejected movement, null if every movement was applied", example = "2")
+    private Integer rejectedMove;
+
+    @ApiModelProperty(notes = "Reason code why the movement was rejected", example = "WRONG_TURN")
+    private RejectionReason reason;
+
+    public boolean isApplied() {
+        return rejectedMove == null;
+    }
+
+    @ApiModelProperty(notes = "Human readable reason why the movement was rejected", example = "Wrong turn")
+    public String getMessage() {
+        return reason == null ? null : reason.getMessage();
+    }
+}
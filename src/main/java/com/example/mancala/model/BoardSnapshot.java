@@ -0,0 +1,74 @@
+package com.example.mancala.model;
+
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.springframework.data.domain.Persistable;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.Id;
+import javax.persistence.IdClass;
+import javax.persistence.Index;
+import javax.persistence.Table;
+import java.io.Serializable;
+import java.time.Instant;
+
+/**
+ * Board of a game after a given number of movements, packed by {@link com.example.mancala.engine.BoardCodec}. A game
+ * is rebuilt from its latest snapshot plus the movements recorded after it. A snapshot is always taken when the game
+ * ends, so the games stored as events can be expired without being rebuilt
+ */
+@AllArgsConstructor
+@NoArgsConstructor
+@Getter
+@Setter
+@Entity
+@IdClass(BoardSnapshot.Key.class)
+@Table(indexes = {@Index(columnList = "finished, takenAt"), @Index(columnList = "sequence, takenAt")})
+public class BoardSnapshot implements Persistable<BoardSnapshot.Key> {
+
+    @Id
+    private String gameId;
+
+    @Id
+    private int sequence;
+
+    @Column(nullable = false, length = 1024)
+    private byte[] board;
+
+    /**
+     * Time of the creation of the game, or of the last movement of the snapshot
+     */
+    private Instant takenAt;
+
+    /**
+     * Whether the game is over, kept out of the packed board to find the finished games
+     */
+    private boolean finished;
+
+    @Override
+    public Key getId() {
+        return new Key(gameId, sequence);
+    }
+
+    /**
+     * Snapshots are never updated, so they are inserted without being looked up first
+     */
+    @Override
+    public boolean isNew() {
+        return true;
+    }
+
+    @AllArgsConstructor
+    @NoArgsConstructor
+    @Getter
+    @Setter
+    @EqualsAndHashCode
+    public static class Key implements Serializable {
+        private String gameId;
+        private int sequence;
+    }
+}
@@ -1,24 +1,34 @@
 package com.example.mancala.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import io.swagger.annotations.ApiModelProperty;
+import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
+import org.springframework.data.domain.Persistable;
 
 import javax.persistence.*;
 import java.io.Serializable;
+import java.time.Instant;
+import java.util.ArrayList;
 import java.util.List;
 
 @Getter
 @Setter
 @Entity
+@Table(indexes = @Index(columnList = "turn, updatedAt"))
 @NoArgsConstructor
-public class Game implements Serializable {
+public class Game implements Persistable<String>, Serializable {
 
     @ApiModelProperty(notes = "Game ID")
     @Id
     private String id;
 
+    @ApiModelProperty(notes = "Board variant, empty for games started before variants were supported")
+    @Embedded
+    private Variant variant;
+
     @ApiModelProperty(notes = "Current turn")
     private Turn turn;
 
@@ -28,11 +38,26 @@ public class Game implements Serializable {
     @ApiModelProperty(notes = "Player 2 big pit (score points)")
     private int bigPitPlayerTwo;
 
+    @ApiModelProperty(notes = "Movements played", example = "0")
+    private int moves;
+
+    @ApiModelProperty(notes = "Time of the creation or of the last movement")
+    private Instant updatedAt;
+
     @ApiModelProperty(notes = "Little pits from both players")
     @OneToMany(mappedBy = "game", cascade = CascadeType.ALL)
     @OrderBy("position asc")
     private List<Pit> pits;
 
+    /**
+     * Whether the game was loaded from or written to the database. Game ids are assigned by the service, so without it
+     * every new game would be looked up before being inserted
+     */
+    @Transient
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private boolean persisted;
+
     public void addStonesBigPitPlayerOne(int stones) {
         bigPitPlayerOne += stones;
     }
@@ -44,4 +69,41 @@ public class Game implements Serializable {
     public Pit getPit(int index) {
         return pits.get(index - 1);
     }
+
+    /**
+     * Detached copy of the game and its pits, so a game shared by the cache can be read while movements change it
+     */
+    public Game copy() {
+        Game copy = new Game();
+        copy.id = id;
+        copy.variant = variant;
+        copy.turn = turn;
+        copy.bigPitPlayerOne = bigPitPlayerOne;
+        copy.bigPitPlayerTwo = bigPitPlayerTwo;
+        copy.moves = moves;
+        copy.updatedAt = updatedAt;
+        copy.persisted = persisted;
+        if (pits != null) {
+            copy.pits = new ArrayList<>(pits.size());
+            for (Pit pit : pits) {
+                copy.pits.add(new Pit(pit.getId(), copy, pit.getPlayer(), pit.getPosition(), pit.getStones()));
+            }
+        }
+        return copy;
+    }
+
+    @JsonIgnore
+    @Override
+    public boolean isNew() {
+        return !persisted;
+    }
+
+    /**
+     * Called by JPA, and by the stores rebuilding games from another entity once it is loaded or written
+     */
+    @PostLoad
+    @PostPersist
+    public void markPersisted() {
+        persisted = true;
+    }
 }
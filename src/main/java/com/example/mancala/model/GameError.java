@@ -0,0 +1,23 @@
+package com.example.mancala.model;
+
+import io.swagger.annotations.ApiModelProperty;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Body of the responses of rejected requests
+ */
+@AllArgsConstructor
+@Getter
+public class GameError {
+
+    @ApiModelProperty(notes = "Reason code", example = "WRONG_TURN")
+    private RejectionReason reason;
+
+    @ApiModelProperty(notes = "Human readable reason", example = "Wrong turn")
+    private String message;
+
+    public static GameError of(RejectionReason reason) {
+        return new GameError(reason, reason.getMessage());
+    }
+}
@@ -0,0 +1,39 @@
+package com.example.mancala.model;
+
+import io.swagger.annotations.ApiModelProperty;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+
+/**
+ * Compact representation of the changes made by a movement: only the little pits that changed, the big pits and the
+ * next turn
+ */
+@AllArgsConstructor
+@Getter
+public class MoveDelta {
+
+    @ApiModelProperty(notes = "Little pits changed by the movement")
+    private List<ChangedPit> pits;
+
+    @ApiModelProperty(notes = "Player 1 big pit (score points)")
+    private int bigPitPlayerOne;
+
+    @ApiModelProperty(notes = "Player 2 big pit (score points)")
+    private int bigPitPlayerTwo;
+
+    @ApiModelProperty(notes = "Next turn")
+    private Turn turn;
+
+    @AllArgsConstructor
+    @Getter
+    public static class ChangedPit {
+
+        @ApiModelProperty(notes = "Pit position in the board", example = "1")
+        private int position;
+
+        @ApiModelProperty(notes = "Stones in the pit", example = "6")
+        private int stones;
+    }
+}
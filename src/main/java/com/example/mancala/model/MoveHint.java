@@ -0,0 +1,31 @@
+package com.example.mancala.model;
+
+import io.swagger.annotations.ApiModelProperty;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Movement suggested for the player in turn by the move search
+ */
+@AllArgsConstructor
+@Getter
+public class MoveHint {
+
+    @ApiModelProperty(notes = "Pit to select", example = "3")
+    private int pit;
+
+    @ApiModelProperty(notes = "Player the hint is for")
+    private Turn turn;
+
+    @ApiModelProperty(notes = "Expected difference of stones for the player at the end of the search horizon", example = "4")
+    private int score;
+
+    @ApiModelProperty(notes = "Movements searched ahead", example = "12")
+    private int depth;
+
+    @ApiModelProperty(notes = "Positions searched", example = "250000")
+    private long nodes;
+
+    @ApiModelProperty(notes = "Whether the score is the result of perfect play, from the endgame tablebase or a search to the end of the game")
+    private boolean exact;
+}
@@ -0,0 +1,27 @@
+package com.example.mancala.model;
+
+import io.swagger.annotations.ApiModelProperty;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+
+@AllArgsConstructor
+@Getter
+public class MoveHistoryPage {
+
+    @ApiModelProperty(notes = "Game ID")
+    private String gameId;
+
+    @ApiModelProperty(notes = "Page number, starting at 0", example = "0")
+    private int page;
+
+    @ApiModelProperty(notes = "Page size", example = "50")
+    private int size;
+
+    @ApiModelProperty(notes = "Movements played in the game", example = "42")
+    private int totalMoves;
+
+    @ApiModelProperty(notes = "Movements of the page, in the order they were played")
+    private List<MoveRecord> moves;
+}
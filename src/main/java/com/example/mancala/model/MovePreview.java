@@ -0,0 +1,39 @@
+package com.example.mancala.model;
+
+import io.swagger.annotations.ApiModelProperty;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+
+/**
+ * Legal movement of the player in turn with the board it would leave, computed without playing it
+ */
+@AllArgsConstructor
+@Getter
+public class MovePreview {
+
+    @ApiModelProperty(notes = "Pit to select", example = "3")
+    private int pit;
+
+    @ApiModelProperty(notes = "Whether the last stone ends in the big pit of the player, who plays again")
+    private boolean extraTurn;
+
+    @ApiModelProperty(notes = "Whether the last stone captures the stones of the opposite pit")
+    private boolean capture;
+
+    @ApiModelProperty(notes = "Whether the movement finishes the game")
+    private boolean finished;
+
+    @ApiModelProperty(notes = "Stones of the little pits from both players after the movement, in position order")
+    private List<Integer> pits;
+
+    @ApiModelProperty(notes = "Player 1 big pit (score points) after the movement")
+    private int bigPitPlayerOne;
+
+    @ApiModelProperty(notes = "Player 2 big pit (score points) after the movement")
+    private int bigPitPlayerTwo;
+
+    @ApiModelProperty(notes = "Turn after the movement")
+    private Turn turn;
+}
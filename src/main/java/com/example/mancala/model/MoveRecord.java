@@ -0,0 +1,73 @@
+package com.example.mancala.model;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import io.swagger.annotations.ApiModelProperty;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.springframework.data.domain.Persistable;
+
+import javax.persistence.Entity;
+import javax.persistence.Id;
+import javax.persistence.IdClass;
+import java.io.Serializable;
+import java.time.Instant;
+
+/**
+ * Entry of the append-only log of movements of a game
+ */
+@AllArgsConstructor
+@NoArgsConstructor
+@Getter
+@Setter
+@Entity
+@IdClass(MoveRecord.Key.class)
+public class MoveRecord implements Persistable<MoveRecord.Key> {
+
+    @JsonIgnore
+    @Id
+    private String gameId;
+
+    @ApiModelProperty(notes = "Number of the movement in the game, starting at 1", example = "1")
+    @Id
+    private int sequence;
+
+    @ApiModelProperty(notes = "Pit selected", example = "3")
+    private int pit;
+
+    @ApiModelProperty(notes = "Player number", example = "[1, 2]")
+    private int player;
+
+    @ApiModelProperty(notes = "Hash of the board after the movement, to check a replay of the game")
+    private long boardHash;
+
+    @ApiModelProperty(notes = "When the movement was played")
+    private Instant playedAt;
+
+    @JsonIgnore
+    @Override
+    public Key getId() {
+        return new Key(gameId, sequence);
+    }
+
+    /**
+     * Movements are never updated, so they are inserted without being looked up first
+     */
+    @JsonIgnore
+    @Override
+    public boolean isNew() {
+        return true;
+    }
+
+    @AllArgsConstructor
+    @NoArgsConstructor
+    @Getter
+    @Setter
+    @EqualsAndHashCode
+    public static class Key implements Serializable {
+        private String gameId;
+        private int sequence;
+    }
+}
@@ -0,0 +1,72 @@
+package com.example.mancala.model;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.springframework.data.domain.Persistable;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.Id;
+import javax.persistence.Index;
+import javax.persistence.PostLoad;
+import javax.persistence.PostPersist;
+import javax.persistence.Table;
+import javax.persistence.Transient;
+import java.time.Instant;
+
+/**
+ * Single row representation of a {@link Game}, with the whole board packed by
+ * {@link com.example.mancala.engine.BoardCodec}
+ */
+@NoArgsConstructor
+@Getter
+@Setter
+@Entity
+@Table(indexes = @Index(columnList = "finished, updatedAt"))
+public class PackedGame implements Persistable<String> {
+
+    @Id
+    private String id;
+
+    @Column(nullable = false, length = 1024)
+    private byte[] board;
+
+    private int moves;
+
+    /**
+     * Whether the game is over, kept out of the packed board to find the finished games
+     */
+    private boolean finished;
+
+    private Instant updatedAt;
+
+    /**
+     * Whether the row exists, as in {@link Game}. Packed games are built from a game for every save, so the store marks
+     * the ones of games it already wrote
+     */
+    @Transient
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private boolean persisted;
+
+    public PackedGame(String id, byte[] board, int moves, boolean finished, Instant updatedAt) {
+        this.id = id;
+        this.board = board;
+        this.moves = moves;
+        this.finished = finished;
+        this.updatedAt = updatedAt;
+    }
+
+    @Override
+    public boolean isNew() {
+        return !persisted;
+    }
+
+    @PostLoad
+    @PostPersist
+    public void markPersisted() {
+        persisted = true;
+    }
+}
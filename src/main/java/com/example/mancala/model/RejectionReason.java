@@ -0,0 +1,24 @@
+package com.example.mancala.model;
+
+/**
+ * Machine-readable reason why a request on a game was rejected
+ */
+public enum RejectionReason {
+    GAME_NOT_FOUND("Game not started"),
+    BAD_PIT("Bad pit selected"),
+    WRONG_TURN("Wrong turn"),
+    EMPTY_PIT("Invalid movement, pit is empty"),
+    GAME_OVER("Game is over"),
+    INVALID_VARIANT("Invalid board variant"),
+    INVALID_GAME_COUNT("Invalid number of games");
+
+    private final String message;
+
+    RejectionReason(String message) {
+        this.message = message;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+}
@@ -0,0 +1,41 @@
+package com.example.mancala.model;
+
+import io.swagger.annotations.ApiModelProperty;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import javax.persistence.Column;
+import javax.persistence.Embeddable;
+import java.io.Serializable;
+
+/**
+ * Board variant of a game. When starting a game, the fields left empty take the values from the configuration
+ */
+@AllArgsConstructor
+@NoArgsConstructor
+@Getter
+@Setter
+@Embeddable
+public class Variant implements Serializable {
+
+    public static final int MAX_PITS_PER_PLAYER = 64;
+    public static final int MAX_STONES_PER_PIT = 1000;
+
+    @ApiModelProperty(notes = "Little pits per player", example = "6")
+    @Column(name = "variant_pits_per_player")
+    private Integer pitsPerPlayer;
+
+    @ApiModelProperty(notes = "Initial stones per little pit", example = "6")
+    @Column(name = "variant_stones_per_pit")
+    private Integer stonesPerPit;
+
+    @ApiModelProperty(notes = "Whether the last stone in an own empty pit captures the opposite pit", example = "true")
+    @Column(name = "variant_capture")
+    private Boolean capture;
+
+    @ApiModelProperty(notes = "Whether the capture also happens when the opposite pit is empty", example = "true")
+    @Column(name = "variant_empty_capture")
+    private Boolean emptyCapture;
+}
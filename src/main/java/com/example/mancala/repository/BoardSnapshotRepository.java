@@ -0,0 +1,32 @@
+package com.example.mancala.repository;
+
+import com.example.mancala.model.BoardSnapshot;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.CrudRepository;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface BoardSnapshotRepository extends CrudRepository<BoardSnapshot, BoardSnapshot.Key> {
+
+    Optional<BoardSnapshot> findFirstByGameIdOrderBySequenceDesc(String gameId);
+
+    @Query("select s.gameId from BoardSnapshot s where (s.finished = true and s.takenAt < :finishedBefore)"
+            + " or (s.sequence = 0 and s.finished = false and s.takenAt < :idleBefore"
+            + " and not exists (select f.gameId from BoardSnapshot f where f.gameId = s.gameId and f.finished = true)"
+            + " and not exists (select r.gameId from MoveRecord r where r.gameId = s.gameId and r.playedAt >= :idleBefore))")
+    List<String> findExpiredIds(@Param("finishedBefore") Instant finishedBefore, @Param("idleBefore") Instant idleBefore, Pageable pageable);
+
+    @Transactional
+    @Modifying
+    @Query("delete from BoardSnapshot s where s.gameId in :gameIds")
+    void deleteByGameIdIn(@Param("gameIds") Collection<String> gameIds);
+}
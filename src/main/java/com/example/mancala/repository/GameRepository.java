@@ -1,9 +1,56 @@
 package com.example.mancala.repository;
 
 import com.example.mancala.model.Game;
+import com.example.mancala.model.Turn;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.CrudRepository;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface GameRepository extends CrudRepository<Game, String> {
+
+    @Query("select g.id from Game g where (g.turn = :gameOver and g.updatedAt < :finishedBefore)"
+            + " or (g.turn <> :gameOver and g.updatedAt < :idleBefore)")
+    List<String> findExpiredIds(@Param("gameOver") Turn gameOver, @Param("finishedBefore") Instant finishedBefore, @Param("idleBefore") Instant idleBefore, Pageable pageable);
+
+    /**
+     * Loads the game with its pits in a single query. The reactive endpoints call the service on a scheduler without an
+     * open session in view, so the pits can not be loaded lazily once the game is returned
+     */
+    @Override
+    @EntityGraph(attributePaths = "pits")
+    Optional<Game> findById(String id);
+
+    /**
+     * Loads the games with their pits in a single query
+     */
+    @EntityGraph(attributePaths = "pits")
+    List<Game> findByIdIn(Collection<String> ids);
+
+    @Modifying
+    @Query("delete from Pit p where p.game.id in :ids")
+    void deletePitsByGameIdIn(@Param("ids") Collection<String> ids);
+
+    @Modifying
+    @Query("delete from Game g where g.id in :ids")
+    void deleteGamesByIdIn(@Param("ids") Collection<String> ids);
+
+    /**
+     * Deletes the games and their pits with two statements, instead of loading every game to cascade the removal
+     */
+    @Transactional
+    default void deleteGames(Collection<String> ids) {
+        deletePitsByGameIdIn(ids);
+        deleteGamesByIdIn(ids);
+    }
 }
@@ -0,0 +1,25 @@
+package com.example.mancala.repository;
+
+import com.example.mancala.model.MoveRecord;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.CrudRepository;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface MoveRecordRepository extends CrudRepository<MoveRecord, MoveRecord.Key> {
+
+    List<MoveRecord> findByGameIdAndSequenceBetweenOrderBySequenceAsc(String gameId, int fromSequence, int toSequence);
+
+    List<MoveRecord> findByGameIdAndSequenceGreaterThanOrderBySequenceAsc(String gameId, int sequence);
+
+    @Transactional
+    @Modifying
+    @Query("delete from MoveRecord r where r.gameId in :gameIds")
+    void deleteByGameIdIn(@Param("gameIds") Collection<String> gameIds);
+}
@@ -0,0 +1,27 @@
+package com.example.mancala.repository;
+
+import com.example.mancala.model.PackedGame;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.CrudRepository;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface PackedGameRepository extends CrudRepository<PackedGame, String> {
+
+    @Query("select p.id from PackedGame p where (p.finished = true and p.updatedAt < :finishedBefore)"
+            + " or (p.finished = false and p.updatedAt < :idleBefore)")
+    List<String> findExpiredIds(@Param("finishedBefore") Instant finishedBefore, @Param("idleBefore") Instant idleBefore, Pageable pageable);
+
+    @Transactional
+    @Modifying
+    @Query("delete from PackedGame p where p.id in :ids")
+    void deleteGamesByIdIn(@Param("ids") Collection<String> ids);
+}
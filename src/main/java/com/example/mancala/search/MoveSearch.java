@@ -0,0 +1,415 @@
+package com.example.mancala.search;
+
+import com.example.mancala.engine.Board;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Finds the best movement for the player in turn with an iterative-deepening alpha-beta search (negamax) over the
+ * rules of {@link Board}. The game tree is walked with {@link Board#make(int)} and {@link Board#unmake(int, long)} on
+ * a single detached board per task, so the search allocates nothing per node and never touches the stored game.
+ * <p>
+ * Every iteration searches the best movement of the previous one first, then the other root movements in parallel
+ * on a dedicated fork-join pool, sharing the best score found so far as their lower bound. Iterations go deeper until
+ * the time budget is spent, the maximum depth is reached or the whole game tree has been searched, and the result of
+ * the last complete iteration is returned. Positions are scored by the difference of stones of the player in the big
+ * pits, and finished games by the difference of their final scores.
+ * <p>
+ * With a {@link TranspositionTable}, every position searched is stored with its score and best movement, so the
+ * positions reached again by another order of movements, by a deeper iteration or by another search are cut short.
+ * With a {@link Tablebase}, the endgame positions it holds are not searched at all, their perfect play is looked up.
+ */
+@Slf4j
+public class MoveSearch implements AutoCloseable {
+
+    private static final int INFINITY = Integer.MAX_VALUE / 2;
+    private static final int DEADLINE_CHECK_MASK = 1023;
+
+    private final ForkJoinPool pool;
+    private final Duration timeBudget;
+    private final int maxDepth;
+    private final TranspositionTable table;
+    private final Tablebase tablebase;
+
+    /**
+     * @param parallelism threads searching the root movements at once, shared by every search
+     * @param timeBudget  time after which a search stops deepening and returns the last complete iteration
+     * @param maxDepth    plies searched at most
+     */
+    public MoveSearch(int parallelism, Duration timeBudget, int maxDepth) {
+        this(parallelism, timeBudget, maxDepth, null, null);
+    }
+
+    /**
+     * @param table table of searched positions shared by every search, null to search without it
+     */
+    public MoveSearch(int parallelism, Duration timeBudget, int maxDepth, TranspositionTable table) {
+        this(parallelism, timeBudget, maxDepth, table, null);
+    }
+
+    /**
+     * @param tablebase endgame positions solved beforehand, null to search them too
+     */
+    public MoveSearch(int parallelism, Duration timeBudget, int maxDepth, TranspositionTable table, Tablebase tablebase) {
+        if (parallelism < 1 || maxDepth < 1) {
+            throw new IllegalArgumentException("Invalid parallelism " + parallelism + " or maximum depth " + maxDepth);
+        }
+        this.pool = new ForkJoinPool(parallelism, pool -> {
+            ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+            thread.setName("move-search-" + thread.getPoolIndex());
+            return thread;
+        }, null, false);
+        this.timeBudget = timeBudget;
+        this.maxDepth = maxDepth;
+        this.table = table;
+        this.tablebase = tablebase;
+    }
+
+    /**
+     * @param board board to search from, left unchanged
+     * @return the best movement found for the player in turn, empty if the game is over or the player has no movement
+     */
+    public Optional<SearchResult> search(Board board) {
+        return search(board, timeBudget);
+    }
+
+    public Optional<SearchResult> search(Board board, Duration budget) {
+        long start = System.nanoTime();
+        if (board.isGameOver()) {
+            return Optional.empty();
+        }
+        int[] rootMoves = legalMoves(board);
+        if (rootMoves.length == 0) {
+            return Optional.empty();
+        }
+        int solved = probeTablebase(board);
+        if (solved != Tablebase.MISSING) {
+            int player = board.getTurn();
+            int score = board.getBigPit(player) - board.getBigPit(1 - player) + Tablebase.value(solved);
+            return Optional.of(new SearchResult(Tablebase.move(solved), score, 0, 0, System.nanoTime() - start, true));
+        }
+        long deadline = start + budget.toNanos();
+        int generation = table == null ? 0 : table.newSearch();
+
+        Iteration result = null;
+        long nodes = 0;
+        for (int depth = 1; depth <= maxDepth; depth++) {
+            // The first iteration always completes, so there is always a movement to return
+            Iteration iteration = new Iteration(depth, deadline, depth > 1, generation);
+            boolean complete = iteration.searchRoot(board, rootMoves);
+            nodes += iteration.nodes.get();
+            if (!complete) {
+                break;
+            }
+            result = iteration;
+            moveToFront(rootMoves, iteration.bestMove);
+            if (!iteration.cutOff || System.nanoTime() - deadline >= 0) {
+                break;
+            }
+        }
+        if (result == null) {
+            return Optional.empty();
+        }
+        long elapsed = System.nanoTime() - start;
+        log.debug("Searched {} nodes to depth {} in {} ms", nodes, result.depth, TimeUnit.NANOSECONDS.toMillis(elapsed));
+        return Optional.of(new SearchResult(result.bestMove, result.bestScore, result.depth, nodes, elapsed, !result.cutOff));
+    }
+
+    @Override
+    public void close() {
+        pool.shutdownNow();
+    }
+
+    /**
+     * @return the positions of the player in turn with stones, the ones giving an extra turn first
+     */
+    static int[] legalMoves(Board board) {
+        int[] moves = new int[board.getPitsPerPlayer()];
+        return Arrays.copyOf(moves, orderMoves(board, moves));
+    }
+
+    /**
+     * Fills the array with the movements of the player in turn, the ones ending in the own big pit first, as they keep
+     * the turn and tend to be the best ones
+     *
+     * @return number of movements
+     */
+    private static int orderMoves(Board board, int[] moves) {
+        int pitsPerPlayer = board.getPitsPerPlayer();
+        int first = board.getTurn() == Board.PLAYER_ONE ? 1 : pitsPerPlayer + 1;
+        int last = first + pitsPerPlayer - 1;
+        int count = 0;
+        int extraTurns = 0;
+        for (int position = last; position >= first; position--) {
+            int stones = board.getStones(position);
+            if (stones == 0) {
+                continue;
+            }
+            if (stones == last - position + 1) {
+                moves[count] = moves[extraTurns];
+                moves[extraTurns++] = position;
+            } else {
+                moves[count] = position;
+            }
+            count++;
+        }
+        return count;
+    }
+
+    private int probeTablebase(Board board) {
+        return tablebase == null ? Tablebase.MISSING : tablebase.probe(board);
+    }
+
+    private static void moveToFront(int[] moves, int move) {
+        moveToFront(moves, moves.length, move);
+    }
+
+    private static void moveToFront(int[] moves, int count, int move) {
+        for (int i = 0; i < count; i++) {
+            if (moves[i] == move) {
+                System.arraycopy(moves, 0, moves, 1, i);
+                moves[0] = move;
+                return;
+            }
+        }
+    }
+
+    /**
+     * Score of the board for the player, by the difference of stones in the big pits, or of final scores once the
+     * game is over
+     */
+    private static int evaluate(Board board, int player) {
+        if (board.isGameOver()) {
+            return board.getScore(player) - board.getScore(1 - player);
+        }
+        return board.getBigPit(player) - board.getBigPit(1 - player);
+    }
+
+    /**
+     * Thrown by the tasks once the deadline has passed, without stack trace as it only unwinds the search
+     */
+    private static final class SearchTimeout extends RuntimeException {
+
+        private static final SearchTimeout INSTANCE = new SearchTimeout();
+
+        private SearchTimeout() {
+            super(null, null, false, false);
+        }
+    }
+
+    /**
+     * Search of every root movement to a fixed depth
+     */
+    private final class Iteration {
+
+        private final int depth;
+        private final long deadline;
+        private final boolean timed;
+        private final int generation;
+        private final AtomicInteger alpha = new AtomicInteger(-INFINITY);
+        private final AtomicLong nodes = new AtomicLong();
+        private volatile boolean cutOff;
+        private int bestMove;
+        private int bestScore = -INFINITY;
+
+        /**
+         * @param timed whether the iteration stops at the deadline
+         */
+        private Iteration(int depth, long deadline, boolean timed, int generation) {
+            this.depth = depth;
+            this.deadline = deadline;
+            this.timed = timed;
+            this.generation = generation;
+        }
+
+        /**
+         * @return true if the iteration completed before the deadline
+         */
+        private boolean searchRoot(Board board, int[] rootMoves) {
+            try {
+                bestMove = rootMoves[0];
+                bestScore = new Task(board, rootMoves[0]).call();
+                if (rootMoves.length == 1) {
+                    return true;
+                }
+
+                List<Callable<Integer>> siblings = new ArrayList<>(rootMoves.length - 1);
+                for (int i = 1; i < rootMoves.length; i++) {
+                    siblings.add(new Task(board, rootMoves[i]));
+                }
+                List<Future<Integer>> scores = pool.invokeAll(siblings);
+                for (int i = 0; i < scores.size(); i++) {
+                    int score = scores.get(i).get();
+                    if (score > bestScore) {
+                        bestScore = score;
+                        bestMove = rootMoves[i + 1];
+                    }
+                }
+                return true;
+            } catch (SearchTimeout e) {
+                return false;
+            } catch (ExecutionException e) {
+                if (e.getCause() instanceof SearchTimeout) {
+                    return false;
+                }
+                throw new IllegalStateException("Move search failed", e.getCause());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return false;
+            }
+        }
+
+        /**
+         * Search of a root movement on its own copy of the board
+         */
+        private final class Task implements Callable<Integer> {
+
+            private final Board board;
+            private final int rootMove;
+            private final int[][] moves;
+            private long taskNodes;
+            private long taskProbes;
+            private long taskHits;
+            /**
+             * Whether a line was cut by the depth limit since the flag was last cleared, so its score is an estimate
+             */
+            private boolean taskCutOff;
+
+            private Task(Board root, int rootMove) {
+                this.board = root.copy();
+                this.rootMove = rootMove;
+                this.moves = new int[depth + 1][root.getPitsPerPlayer()];
+            }
+
+            /**
+             * @return the score of the root movement for the player in turn, exact if it is above the best score of the
+             * previous root movements when the task started, or an upper bound otherwise
+             */
+            @Override
+            public Integer call() {
+                try {
+                    int score = child(rootMove, depth, alpha.get(), INFINITY);
+                    alpha.accumulateAndGet(score, Math::max);
+                    return score;
+                } finally {
+                    nodes.addAndGet(taskNodes);
+                    if (table != null) {
+                        table.recordProbes(taskProbes, taskHits);
+                    }
+                    if (taskCutOff) {
+                        cutOff = true;
+                    }
+                }
+            }
+
+            /**
+             * Plays the movement, scores the resulting board for the player who moved and takes the movement back.
+             * An extra turn keeps the perspective and the window, as the same player moves again
+             */
+            private int child(int position, int depth, int alpha, int beta) {
+                int mover = board.getTurn();
+                long undo = board.make(position);
+                int score;
+                if (board.isGameOver()) {
+                    score = evaluate(board, mover);
+                } else if (board.getTurn() == mover) {
+                    score = negamax(depth - 1, alpha, beta);
+                } else {
+                    score = -negamax(depth - 1, -beta, -alpha);
+                }
+                board.unmake(position, undo);
+                return score;
+            }
+
+            private int negamax(int depth, int alpha, int beta) {
+                if ((++taskNodes & DEADLINE_CHECK_MASK) == 0 && timed && System.nanoTime() - deadline >= 0) {
+                    throw SearchTimeout.INSTANCE;
+                }
+                int player = board.getTurn();
+                int solved = probeTablebase(board);
+                if (solved != Tablebase.MISSING) {
+                    // Solved positions are exact at any depth, also at the horizon
+                    return board.getBigPit(player) - board.getBigPit(1 - player) + Tablebase.value(solved);
+                }
+                if (depth == 0) {
+                    taskCutOff = true;
+                    return evaluate(board, player);
+                }
+
+                long key = 0;
+                int tableMove = 0;
+                if (table != null) {
+                    key = board.zobristKey();
+                    long entry = table.probe(key);
+                    taskProbes++;
+                    if (entry != 0) {
+                        taskHits++;
+                        tableMove = TranspositionTable.move(entry);
+                        boolean complete = TranspositionTable.isComplete(entry);
+                        if (complete || TranspositionTable.depth(entry) >= depth) {
+                            int score = TranspositionTable.score(entry);
+                            int bound = TranspositionTable.bound(entry);
+                            if (bound == TranspositionTable.EXACT
+                                    || (bound == TranspositionTable.LOWER && score >= beta)
+                                    || (bound == TranspositionTable.UPPER && score <= alpha)) {
+                                taskCutOff |= !complete;
+                                return score;
+                            }
+                        }
+                    }
+                }
+
+                int[] plyMoves = moves[depth];
+                int count = orderMoves(board, plyMoves);
+                if (count == 0) {
+                    // The rules only end the game when the side of the mover is empty, so the player in turn may have
+                    // no movement left: score it as a finished game
+                    return board.getScore(player) - board.getScore(1 - player);
+                }
+                if (tableMove != 0) {
+                    moveToFront(plyMoves, count, tableMove);
+                }
+
+                boolean outerCutOff = taskCutOff;
+                taskCutOff = false;
+                int originalAlpha = alpha;
+                int best = -INFINITY;
+                int bestMove = 0;
+                for (int i = 0; i < count; i++) {
+                    int score = child(plyMoves[i], depth, alpha, beta);
+                    if (score > best) {
+                        best = score;
+                        bestMove = plyMoves[i];
+                        if (score > alpha) {
+                            alpha = score;
+                            if (alpha >= beta) {
+                                break;
+                            }
+                        }
+                    }
+                }
+
+                if (table != null) {
+                    int bound = best <= originalAlpha ? TranspositionTable.UPPER
+                            : best >= beta ? TranspositionTable.LOWER : TranspositionTable.EXACT;
+                    table.store(key, generation, depth, bound, !taskCutOff, bestMove, best);
+                }
+                taskCutOff |= outerCutOff;
+                return best;
+            }
+        }
+    }
+}
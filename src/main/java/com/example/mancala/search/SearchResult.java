@@ -0,0 +1,28 @@
+package com.example.mancala.search;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Best movement found by a {@link MoveSearch}, with the depth of the last complete iteration
+ */
+@AllArgsConstructor
+@Getter
+public class SearchResult {
+
+    /**
+     * 1-based position of the pit to play
+     */
+    private final int pit;
+    /**
+     * Expected difference of stones for the player in turn, exact once the whole game tree was searched
+     */
+    private final int score;
+    private final int depth;
+    private final long nodes;
+    private final long nanos;
+    /**
+     * Whether the score is the result of perfect play by both players, from the tablebase or a search of the whole tree
+     */
+    private final boolean exact;
+}
@@ -0,0 +1,111 @@
+package com.example.mancala.search;
+
+import com.example.mancala.engine.Board;
+import com.example.mancala.engine.BoardRules;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Perfect play of every endgame position of a board size and capture rules, up to a number of stones on the board,
+ * written by {@link TablebaseGenerator}. The file is memory-mapped, and a lookup is the {@link TablebaseIndex} of the
+ * position and two bytes read: the stones the player in turn still wins by and the best movement.
+ * <p>
+ * The file layout is: magic, format version, pits per player, maximum stones, capture rules and number of positions,
+ * followed by two bytes per position.
+ */
+public class Tablebase implements AutoCloseable {
+
+    /**
+     * Returned by {@link #probe(Board)} for the positions out of the tablebase
+     */
+    public static final int MISSING = Integer.MIN_VALUE;
+
+    static final int MAGIC = 0x4D544231;
+    static final int FORMAT_VERSION = 1;
+    static final int HEADER_SIZE = 6 * Integer.BYTES;
+    static final int ENTRY_BYTES = 2;
+    static final int NO_MOVE = 0xFF;
+    static final int MAX_STONES = Byte.MAX_VALUE;
+
+    private final FileChannel channel;
+    private final MappedByteBuffer entries;
+    private final TablebaseIndex index;
+    private final BoardRules rules;
+
+    public Tablebase(Path file) throws IOException {
+        this.channel = FileChannel.open(file, StandardOpenOption.READ);
+        ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+        channel.read(header, 0);
+        header.flip();
+        if (header.remaining() < HEADER_SIZE || header.getInt() != MAGIC || header.getInt() != FORMAT_VERSION) {
+            channel.close();
+            throw new IllegalStateException("Not a tablebase file, or written by an unsupported version");
+        }
+        int pitsPerPlayer = header.getInt();
+        int maxStones = header.getInt();
+        int rulesFlags = header.getInt();
+        int positions = header.getInt();
+        this.index = new TablebaseIndex(pitsPerPlayer, maxStones);
+        this.rules = BoardRules.of((rulesFlags & 2) != 0, (rulesFlags & 1) != 0);
+        long size = channel.size();
+        if (positions != index.size() || size != HEADER_SIZE + (long) positions * ENTRY_BYTES) {
+            channel.close();
+            throw new IllegalStateException("Tablebase file truncated, " + size + " bytes for " + positions + " positions");
+        }
+        this.entries = channel.map(FileChannel.MapMode.READ_ONLY, HEADER_SIZE, (long) positions * ENTRY_BYTES);
+    }
+
+    public int getPitsPerPlayer() {
+        return index.getPitsPerPlayer();
+    }
+
+    public int getMaxStones() {
+        return index.getMaxStones();
+    }
+
+    public BoardRules getRules() {
+        return rules;
+    }
+
+    /**
+     * @return the result of the position with perfect play, to decode with {@link #value(int)} and {@link #move(int)},
+     * or {@link #MISSING} if the board has another size or rules, more stones than the tablebase or the game is over
+     */
+    public int probe(Board board) {
+        if (board.getPitsPerPlayer() != index.getPitsPerPlayer() || board.getRules() != rules || board.isGameOver()) {
+            return MISSING;
+        }
+        int position = index.of(board);
+        if (position < 0) {
+            return MISSING;
+        }
+        int value = entries.get(position * ENTRY_BYTES);
+        int pit = entries.get(position * ENTRY_BYTES + 1) & 0xFF;
+        int move = pit == NO_MOVE ? 0 : (board.getTurn() == Board.PLAYER_ONE ? 1 : board.getPitsPerPlayer() + 1) + pit;
+        return value << 8 | move;
+    }
+
+    /**
+     * @return the difference between the stones the player in turn and the other player still get from the board
+     */
+    public static int value(int result) {
+        return result >> 8;
+    }
+
+    /**
+     * @return position of the best movement, 0 if the player in turn has no movement
+     */
+    public static int move(int result) {
+        return result & 0xFF;
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+}
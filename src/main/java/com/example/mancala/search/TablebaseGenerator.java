@@ -0,0 +1,144 @@
+package com.example.mancala.search;
+
+import com.example.mancala.engine.Board;
+import com.example.mancala.engine.BoardRules;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.BitSet;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Offline generator of a {@link Tablebase}. Solves every position with up to the maximum stones on the board and
+ * writes the value and the best movement of each one.
+ * <p>
+ * The value of a position only depends on its little pits, as the big pits never change hands, and a position only
+ * leads to positions with fewer stones on the board or with the same stones moved closer to the big pit of the player
+ * who moved. The positions form an acyclic graph, so each one is solved once its successors are, walking the movements
+ * with {@link Board#make(int)} and {@link Board#unmake(int, long)} on a single board.
+ * <p>
+ * Usage: {@code TablebaseGenerator <file> <pitsPerPlayer> <maxStones> [capture] [emptyCapture]}
+ */
+@Slf4j
+public class TablebaseGenerator {
+
+    private final TablebaseIndex index;
+    private final Board board;
+    private final byte[] entries;
+    private final BitSet solved;
+    private final BitSet solving;
+
+    private TablebaseGenerator(int pitsPerPlayer, int maxStones, BoardRules rules) {
+        this.index = new TablebaseIndex(pitsPerPlayer, maxStones);
+        if (index.size() * Tablebase.ENTRY_BYTES > Integer.MAX_VALUE - Tablebase.HEADER_SIZE) {
+            throw new IllegalArgumentException("A tablebase of " + pitsPerPlayer + " pits per player and " + maxStones + " stones has too many positions");
+        }
+        this.board = Board.initial(pitsPerPlayer, 0, rules, Board.PLAYER_ONE);
+        this.entries = new byte[(int) index.size() * Tablebase.ENTRY_BYTES];
+        this.solved = new BitSet((int) index.size());
+        this.solving = new BitSet((int) index.size());
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 3) {
+            System.err.println("Usage: TablebaseGenerator <file> <pitsPerPlayer> <maxStones> [capture] [emptyCapture]");
+            System.exit(1);
+        }
+        boolean capture = args.length < 4 || Boolean.parseBoolean(args[3]);
+        boolean emptyCapture = args.length < 5 || Boolean.parseBoolean(args[4]);
+        generate(Path.of(args[0]), Integer.parseInt(args[1]), Integer.parseInt(args[2]), BoardRules.of(capture, emptyCapture));
+    }
+
+    /**
+     * @param maxStones stones on the board of the biggest positions, at most {@value Tablebase#MAX_STONES}
+     */
+    public static void generate(Path file, int pitsPerPlayer, int maxStones, BoardRules rules) throws IOException {
+        if (pitsPerPlayer < 1 || maxStones < 0 || maxStones > Tablebase.MAX_STONES) {
+            throw new IllegalArgumentException("Invalid tablebase of " + pitsPerPlayer + " pits per player and " + maxStones + " stones");
+        }
+        long start = System.nanoTime();
+        TablebaseGenerator generator = new TablebaseGenerator(pitsPerPlayer, maxStones, rules);
+        generator.solveAll();
+        generator.write(file, rules);
+        log.info("Solved {} positions of {} pits per player with up to {} stones in {} s", generator.index.size(),
+                pitsPerPlayer, maxStones, TimeUnit.NANOSECONDS.toSeconds(System.nanoTime() - start));
+    }
+
+    private void solveAll() {
+        for (int position = 0; position < index.size(); position++) {
+            if (!solved.get(position)) {
+                index.set(position, board);
+                solve();
+            }
+        }
+    }
+
+    /**
+     * @return the difference between the stones the player in turn and the other player still get from the board,
+     * with perfect play by both
+     */
+    private int solve() {
+        int position = index.of(board);
+        if (solved.get(position)) {
+            return entries[position * Tablebase.ENTRY_BYTES];
+        }
+        if (solving.get(position)) {
+            throw new IllegalStateException("Position " + position + " leads to itself");
+        }
+        solving.set(position);
+
+        int player = board.getTurn();
+        int first = player == Board.PLAYER_ONE ? 1 : board.getPitsPerPlayer() + 1;
+        int ownBigPit = board.getBigPit(player);
+        int otherBigPit = board.getBigPit(1 - player);
+        int best = Integer.MIN_VALUE;
+        int bestPit = Tablebase.NO_MOVE;
+        for (int pit = 0; pit < board.getPitsPerPlayer(); pit++) {
+            if (board.getStones(first + pit) == 0) {
+                continue;
+            }
+            long undo = board.make(first + pit);
+            int value;
+            if (board.isGameOver()) {
+                value = board.getScore(player) - board.getScore(1 - player) - (ownBigPit - otherBigPit);
+            } else {
+                int gained = board.getBigPit(player) - ownBigPit - (board.getBigPit(1 - player) - otherBigPit);
+                value = board.getTurn() == player ? gained + solve() : gained - solve();
+            }
+            board.unmake(first + pit, undo);
+            if (value > best) {
+                best = value;
+                bestPit = pit;
+            }
+        }
+        if (bestPit == Tablebase.NO_MOVE) {
+            // The player in turn has no movement left, the game ends with the stones on the board of the other player
+            best = board.getScore(player) - ownBigPit - (board.getScore(1 - player) - otherBigPit);
+        }
+
+        entries[position * Tablebase.ENTRY_BYTES] = (byte) best;
+        entries[position * Tablebase.ENTRY_BYTES + 1] = (byte) bestPit;
+        solving.clear(position);
+        solved.set(position);
+        return best;
+    }
+
+    private void write(Path file, BoardRules rules) throws IOException {
+        if (file.getParent() != null) {
+            Files.createDirectories(file.getParent());
+        }
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(file)))) {
+            out.writeInt(Tablebase.MAGIC);
+            out.writeInt(Tablebase.FORMAT_VERSION);
+            out.writeInt(index.getPitsPerPlayer());
+            out.writeInt(index.getMaxStones());
+            out.writeInt((rules.isCapture() ? 2 : 0) | (rules.isEmptyCapture() ? 1 : 0));
+            out.writeInt((int) index.size());
+            out.write(entries);
+        }
+    }
+}
@@ -0,0 +1,110 @@
+package com.example.mancala.search;
+
+import com.example.mancala.engine.Board;
+
+/**
+ * Perfect hash of the positions of a tablebase: every distribution of up to the maximum stones over the little pits,
+ * seen from the player in turn. Positions are numbered by their stones on the board, then in lexicographic order of
+ * the pits of the player in turn followed by the pits of the other player, with the combinatorial number system, so
+ * the index takes one pass over the pits and the table has no gaps. The board is symmetric, so a position of the second
+ * player has the same index as the same position of the first player.
+ */
+final class TablebaseIndex {
+
+    private final int pitsPerPlayer;
+    private final int maxStones;
+    /**
+     * Distributions of every amount of stones over every number of pits
+     */
+    private final long[][] distributions;
+    /**
+     * Index of the first position with every amount of stones on the board, the last one is the size of the table
+     */
+    private final long[] offsets;
+
+    TablebaseIndex(int pitsPerPlayer, int maxStones) {
+        this.pitsPerPlayer = pitsPerPlayer;
+        this.maxStones = maxStones;
+        int pits = pitsPerPlayer * 2;
+        this.distributions = new long[pits + 1][maxStones + 1];
+        distributions[0][0] = 1;
+        for (int parts = 1; parts <= pits; parts++) {
+            for (int stones = 0; stones <= maxStones; stones++) {
+                // Either the first pit is empty, or taking one stone from it leaves a distribution of one stone less
+                distributions[parts][stones] = distributions[parts - 1][stones] + (stones > 0 ? distributions[parts][stones - 1] : 0);
+            }
+        }
+        this.offsets = new long[maxStones + 2];
+        for (int stones = 0; stones <= maxStones; stones++) {
+            offsets[stones + 1] = offsets[stones] + distributions[pits][stones];
+        }
+    }
+
+    long size() {
+        return offsets[maxStones + 1];
+    }
+
+    int getPitsPerPlayer() {
+        return pitsPerPlayer;
+    }
+
+    int getMaxStones() {
+        return maxStones;
+    }
+
+    /**
+     * @return index of the position of the board, -1 if it has more stones on the board than the tablebase
+     */
+    int of(Board board) {
+        int own = board.getTurn() == Board.PLAYER_ONE ? 1 : pitsPerPlayer + 1;
+        int other = own == 1 ? pitsPerPlayer + 1 : 1;
+        int stones = 0;
+        for (int pit = 0; pit < pitsPerPlayer; pit++) {
+            stones += board.getStones(own + pit) + board.getStones(other + pit);
+        }
+        if (stones > maxStones) {
+            return -1;
+        }
+
+        long index = offsets[stones];
+        int remaining = stones;
+        int pits = pitsPerPlayer * 2;
+        for (int pit = 0; pit < pits - 1 && remaining > 0; pit++) {
+            int pitStones = board.getStones(pit < pitsPerPlayer ? own + pit : other + pit - pitsPerPlayer);
+            long[] rest = distributions[pits - pit - 1];
+            for (int fewer = 0; fewer < pitStones; fewer++) {
+                index += rest[remaining - fewer];
+            }
+            remaining -= pitStones;
+        }
+        return (int) index;
+    }
+
+    /**
+     * Sets the little pits of the board to the position of the index, for the first player
+     */
+    void set(int index, Board board) {
+        int stones = 0;
+        while (offsets[stones + 1] <= index) {
+            stones++;
+        }
+        long rank = index - offsets[stones];
+        int remaining = stones;
+        int pits = pitsPerPlayer * 2;
+        for (int pit = 0; pit < pits; pit++) {
+            int pitStones = 0;
+            if (pit == pits - 1) {
+                pitStones = remaining;
+            } else {
+                long[] rest = distributions[pits - pit - 1];
+                while (rank >= rest[remaining - pitStones]) {
+                    rank -= rest[remaining - pitStones];
+                    pitStones++;
+                }
+            }
+            board.setStones(pit + 1, pitStones);
+            remaining -= pitStones;
+        }
+        board.setTurn(Board.PLAYER_ONE);
+    }
+}
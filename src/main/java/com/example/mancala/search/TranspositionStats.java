@@ -0,0 +1,25 @@
+package com.example.mancala.search;
+
+import lombok.Value;
+
+/**
+ * Snapshot of the counters of a {@link TranspositionTable}
+ */
+@Value
+public class TranspositionStats {
+    /**
+     * Entries of the table
+     */
+    long capacity;
+    long probes;
+    long hits;
+    long stores;
+    /**
+     * Fraction of the entries in use
+     */
+    double occupancy;
+
+    public double getHitRate() {
+        return probes == 0 ? 0 : (double) hits / probes;
+    }
+}
@@ -0,0 +1,173 @@
+package com.example.mancala.search;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Fixed-size table of searched positions, found by their {@link com.example.mancala.engine.Board#zobristKey()} and
+ * shared by every search of the node, so positions seen by a previous search or by another thread are not searched
+ * again. It is a flat {@code long[]} without locks: every entry is two longs, the key xor the data and the data, so an
+ * entry torn by two threads writing at once no longer matches its key and is just a miss.
+ * <p>
+ * Positions map to buckets of two entries. The first one keeps the deepest search of the bucket, the second one the
+ * latest search that did not fit in the first one, and entries left by previous searches are always replaced first.
+ * <p>
+ * The data of an entry is packed as: score (32 bits), depth (8 bits), bound (2 bits), complete flag, position of the
+ * best movement (8 bits), search generation (8 bits) and a used flag, so a stored entry is never 0.
+ */
+public class TranspositionTable {
+
+    /**
+     * The score is the exact value of the position
+     */
+    public static final int EXACT = 0;
+    /**
+     * The search failed high, the value of the position is at least the score
+     */
+    public static final int LOWER = 1;
+    /**
+     * The search failed low, the value of the position is at most the score
+     */
+    public static final int UPPER = 2;
+
+    private static final int ENTRY_BYTES = 2 * Long.BYTES;
+    private static final int BUCKET_ENTRIES = 2;
+    private static final int OCCUPANCY_SAMPLE = 4096;
+
+    private static final int DEPTH_SHIFT = 32;
+    private static final int BOUND_SHIFT = 40;
+    private static final int COMPLETE_SHIFT = 42;
+    private static final int MOVE_SHIFT = 43;
+    private static final int GENERATION_SHIFT = 51;
+    private static final long USED = 1L << 63;
+    private static final int BYTE_MASK = 0xFF;
+
+    private final long[] table;
+    private final int bucketMask;
+    private final AtomicInteger generation = new AtomicInteger();
+    private final LongAdder probes = new LongAdder();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder stores = new LongAdder();
+
+    /**
+     * @param bytes memory of the table, rounded down to a power of two number of buckets
+     */
+    public TranspositionTable(long bytes) {
+        long buckets = Long.highestOneBit(Math.max(1, bytes / (ENTRY_BYTES * BUCKET_ENTRIES)));
+        if (buckets * BUCKET_ENTRIES * 2 > Integer.MAX_VALUE - 8) {
+            throw new IllegalArgumentException("Transposition table of " + bytes + " bytes is too big");
+        }
+        this.table = new long[(int) buckets * BUCKET_ENTRIES * 2];
+        this.bucketMask = (int) buckets - 1;
+    }
+
+    /**
+     * Starts a new search, so the entries of the previous ones are replaced first
+     *
+     * @return generation of the entries stored by the search
+     */
+    public int newSearch() {
+        return generation.incrementAndGet() & BYTE_MASK;
+    }
+
+    /**
+     * @return the data of the entry of the position, 0 if it is not in the table
+     */
+    public long probe(long key) {
+        int index = bucketIndex(key);
+        for (int entry = 0; entry < BUCKET_ENTRIES; entry++, index += 2) {
+            long data = table[index + 1];
+            if ((table[index] ^ data) == key && data != 0) {
+                return data;
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * @param depth    plies searched below the position
+     * @param complete whether the search reached the end of every line, so the score holds at any depth
+     * @param move     position of the best movement found, 0 if none
+     */
+    public void store(long key, int generation, int depth, int bound, boolean complete, int move, int score) {
+        long data = USED
+                | (long) generation << GENERATION_SHIFT
+                | (long) move << MOVE_SHIFT
+                | (complete ? 1L << COMPLETE_SHIFT : 0)
+                | (long) bound << BOUND_SHIFT
+                | (long) Math.min(depth, BYTE_MASK) << DEPTH_SHIFT
+                | (score & 0xFFFFFFFFL);
+
+        int first = bucketIndex(key);
+        int second = first + 2;
+        long firstData = table[first + 1];
+        int index;
+        if ((table[first] ^ firstData) == key) {
+            index = first;
+        } else if ((table[second] ^ table[second + 1]) == key) {
+            index = second;
+        } else if (firstData == 0 || generation(firstData) != generation || depth(firstData) <= depth) {
+            index = first;
+        } else {
+            index = second;
+        }
+        table[index] = key ^ data;
+        table[index + 1] = data;
+        stores.increment();
+    }
+
+    /**
+     * Adds the probes of a search, counted by the search itself so probing stays free of shared writes
+     */
+    public void recordProbes(long searchProbes, long searchHits) {
+        probes.add(searchProbes);
+        hits.add(searchHits);
+    }
+
+    public TranspositionStats getStats() {
+        return new TranspositionStats(table.length / 2, probes.sum(), hits.sum(), stores.sum(), occupancy());
+    }
+
+    public static int score(long data) {
+        return (int) data;
+    }
+
+    public static int depth(long data) {
+        return (int) (data >>> DEPTH_SHIFT) & BYTE_MASK;
+    }
+
+    public static int bound(long data) {
+        return (int) (data >>> BOUND_SHIFT) & 0x3;
+    }
+
+    public static boolean isComplete(long data) {
+        return (data & 1L << COMPLETE_SHIFT) != 0;
+    }
+
+    public static int move(long data) {
+        return (int) (data >>> MOVE_SHIFT) & BYTE_MASK;
+    }
+
+    private static int generation(long data) {
+        return (int) (data >>> GENERATION_SHIFT) & BYTE_MASK;
+    }
+
+    private int bucketIndex(long key) {
+        // The low bits of the key pick the bucket, the whole key is checked against the entry
+        return ((int) key & bucketMask) * BUCKET_ENTRIES * 2;
+    }
+
+    /**
+     * @return fraction of the entries in use, sampled over the first entries of the table
+     */
+    private double occupancy() {
+        int entries = Math.min(table.length / 2, OCCUPANCY_SAMPLE);
+        int used = 0;
+        for (int entry = 0; entry < entries; entry++) {
+            if (table[entry * 2 + 1] != 0) {
+                used++;
+            }
+        }
+        return (double) used / entries;
+    }
+}
@@ -1,19 +1,41 @@
 package com.example.mancala.service;
 
+import com.example.mancala.concurrent.GameLocks;
 import com.example.mancala.configuration.GameConfig;
+import com.example.mancala.engine.Board;
+import com.example.mancala.engine.BoardMapper;
+import com.example.mancala.event.GameMovedEvent;
 import com.example.mancala.exception.*;
+import com.example.mancala.history.MoveHistory;
+import com.example.mancala.id.IdGenerator;
+import com.example.mancala.metrics.GameMetrics;
+import com.example.mancala.metrics.GameMetrics.MovePhase;
+import com.example.mancala.model.BatchMoveResult;
 import com.example.mancala.model.Game;
+import com.example.mancala.model.MoveHint;
+import com.example.mancala.model.MoveHistoryPage;
+import com.example.mancala.model.MovePreview;
+import com.example.mancala.model.MoveRecord;
 import com.example.mancala.model.Pit;
-import com.example.mancala.model.Turn;
-import com.example.mancala.repository.GameRepository;
+import com.example.mancala.model.RejectionReason;
+import com.example.mancala.model.Variant;
+import com.example.mancala.search.MoveSearch;
+import com.example.mancala.search.SearchResult;
+import com.example.mancala.store.GameStore;
 import com.example.mancala.utils.GameUtils;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 
+import java.time.Duration;
+import java.time.Instant;
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
-import java.util.UUID;
+import java.util.concurrent.locks.Lock;
+import java.util.function.Function;
 
 @Service
 @Slf4j
@@ -21,184 +43,493 @@ public class GameService {
 
     private final static int PLAYER_ONE = 1;
     private final static int PLAYER_TWO = 2;
+    private final static Duration REJECTION_LOG_INTERVAL = Duration.ofSeconds(1);
+    private final static int MAX_HISTORY_PAGE_SIZE = 200;
+    final static int MAX_GAMES_PER_REQUEST = 1000;
 
     private final GameConfig gameConfig;
-    private final GameRepository gameRepository;
-
-    GameService(GameConfig gameConfig, GameRepository gameRepository) {
+    private final GameStore gameStore;
+    private final GameLocks gameLocks;
+    private final ApplicationEventPublisher eventPublisher;
+    private final GameMetrics gameMetrics;
+    private final IdGenerator idGenerator;
+    private final MoveHistory moveHistory;
+    private final MoveSearch moveSearch;
+    private final RejectionLogger rejectionLogger = new RejectionLogger(REJECTION_LOG_INTERVAL);
+
+    GameService(GameConfig gameConfig, GameStore gameStore, GameLocks gameLocks, ApplicationEventPublisher eventPublisher, GameMetrics gameMetrics, IdGenerator idGenerator, MoveHistory moveHistory, MoveSearch moveSearch) {
         this.gameConfig = gameConfig;
-        this.gameRepository = gameRepository;
+        this.gameStore = gameStore;
+        this.gameLocks = gameLocks;
+        this.eventPublisher = eventPublisher;
+        this.gameMetrics = gameMetrics;
+        this.idGenerator = idGenerator;
+        this.moveHistory = moveHistory;
+        this.moveSearch = moveSearch;
     }
 
     public Game createGame() {
-        Game game = gameRepository.save(initializeNewGame());
-        log.info("New game started with ID: {} - next turn: {}", game.getId(), game.getTurn().getLabel());
-        return game;
+        return startGame(defaultVariant());
     }
 
-    public Game getGame(String gameId) throws GameNotFoundException {
-        Optional<Game> game = gameRepository.findById(gameId);
-        if (game.isEmpty()) {
-            log.error("Game not found");
-            throw new GameNotFoundException();
-        }
-        return game.get();
+    /**
+     * Starts a game with the given variant. The fields of the variant left empty, or the whole variant if null, take
+     * the values from the configuration
+     */
+    public Game createGame(Variant requestedVariant) throws InvalidVariantException {
+        return startGame(validateVariant(requestedVariant));
     }
 
-    public void move(String gameId, int pitIndex) throws GameNotFoundException, BadPitSelectionException, WrongPlayerTurnException, InvalidMovementException, GameOverException {
-        Game game = getGame(gameId);
-
-        validateMovement(game, pitIndex);
+    /**
+     * Starts several games with the same variant at once, for instance at the beginning of a tournament round. The
+     * games are written in a single batch
+     *
+     * @return the ids of the new games
+     */
+    public List<String> createGames(int count, Variant requestedVariant) throws InvalidGameCountException, InvalidVariantException {
+        if (count < 1 || count > MAX_GAMES_PER_REQUEST) {
+            gameMetrics.recordRejection(RejectionReason.INVALID_GAME_COUNT);
+            rejectionLogger.rejected("(new)", RejectionReason.INVALID_GAME_COUNT);
+            throw new InvalidGameCountException();
+        }
+        Variant variant = validateVariant(requestedVariant);
 
-        pickStones(game, pitIndex);
+        long start = System.nanoTime();
+        List<Game> games = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            games.add(initializeNewGame(variant));
+        }
+        List<Game> savedGames = gameStore.saveAll(games);
+        Map<String, Board> boards = new LinkedHashMap<>();
+        List<String> gameIds = new ArrayList<>(count);
+        for (Game game : savedGames) {
+            boards.put(game.getId(), BoardMapper.toBoard(game));
+            gameIds.add(game.getId());
+        }
+        moveHistory.startAll(boards);
+        gameMetrics.recordBulkCreate(count, System.nanoTime() - start);
+        log.info("{} new games started", count);
+        return gameIds;
     }
 
-    private Game initializeNewGame() {
-        Game game = new Game();
-        game.setId(UUID.randomUUID().toString());
-        game.setTurn(GameUtils.getRandomTurn());
-        game.setPits(createLittlePits(game));
+    /**
+     * @return a copy of the game read under its lock, so the caller never sees a movement half applied
+     */
+    public Game getGame(String gameId) throws GameNotFoundException {
+        long start = System.nanoTime();
+        Game game = read(gameId, Game::copy);
+        gameMetrics.recordGet(System.nanoTime() - start);
         return game;
     }
 
-    private List<Pit> createLittlePits(Game game) {
-        List<Pit> littlePits = new ArrayList<>();
-        for (int position = 1; position <= gameConfig.getLittlePitsPerPlayer() * 2; position++) {
-            littlePits.add(new Pit(UUID.randomUUID().toString(), game, position <= gameConfig.getLittlePitsPerPlayer() ? PLAYER_ONE : PLAYER_TWO, position, gameConfig.getInitialStonesPerPit()));
+    public MoveResult move(String gameId, int pitIndex) throws GameNotFoundException, BadPitSelectionException, WrongPlayerTurnException, InvalidMovementException, GameOverException {
+        MoveOutcome outcome = tryMove(gameId, pitIndex);
+        if (!outcome.isApplied()) {
+            throwRejection(outcome.getRejection());
         }
-        return littlePits;
+        return outcome.getResult();
+    }
+
+    /**
+     * Same as {@link #move(String, int)}, but rejected movements are returned as an outcome instead of thrown, so
+     * invalid movements cost no more than valid ones
+     */
+    public MoveOutcome tryMove(String gameId, int pitIndex) {
+        return play(gameId, pitIndex, false);
     }
 
-    private void validateMovement(Game game, int pitIndex) throws WrongPlayerTurnException, BadPitSelectionException, GameOverException, InvalidMovementException {
-        if (isGameOver(game)) {
-            int scorePlayerOne = game.getBigPitPlayerOne();
-            int scorePlayerTwo = game.getBigPitPlayerTwo();
-            log.error("Game is over. {}!! ({}-{})", scorePlayerOne > scorePlayerTwo ? Turn.PLAYER_ONE.getLabel() + " wins" : scorePlayerOne < scorePlayerTwo ? Turn.PLAYER_TWO.getLabel() + " wins" : "It's a draw", scorePlayerOne, scorePlayerTwo);
+    /**
+     * Same as {@link #tryMove(String, int)}, then the server plays the other player until it is the turn of the player
+     * who moved again or the game is over. All the movements are saved and published together
+     */
+    public MoveOutcome tryMoveAgainstBot(String gameId, int pitIndex) {
+        return play(gameId, pitIndex, true);
+    }
+
+    /**
+     * The server plays the player in turn until the turn changes or the game is over, to let the bot start a game
+     */
+    public MoveOutcome tryBotMove(String gameId) {
+        return play(gameId, null, true);
+    }
+
+    /**
+     * Searches the best movement for the player in turn. The search runs on a detached board, without holding the
+     * game lock
+     */
+    public MoveHint getHint(String gameId) throws GameNotFoundException, GameOverException {
+        Board board = read(gameId, BoardMapper::toBoard);
+        Optional<SearchResult> result = moveSearch.search(board);
+        if (result.isEmpty()) {
+            reject(gameId, RejectionReason.GAME_OVER, 0, board);
             throw new GameOverException();
         }
+        SearchResult searchResult = result.get();
+        gameMetrics.recordSearch(searchResult.getNodes(), searchResult.getNanos());
+        return new MoveHint(searchResult.getPit(), BoardMapper.toTurn(board.getTurn()), searchResult.getScore(), searchResult.getDepth(), searchResult.getNodes(), searchResult.isExact());
+    }
 
-        if (!isValidPitSelection(game, pitIndex)) {
-            log.error("Pit selected ({}) is out of bounds [1-{}]", pitIndex, getTotalLittlePits(game));
-            throw new BadPitSelectionException();
+    /**
+     * Plays every legal movement of the player in turn on a scratch copy of the board, leaving the game untouched
+     *
+     * @return a preview of every movement, in pit order, empty if the game is over
+     */
+    public List<MovePreview> getMoves(String gameId) throws GameNotFoundException {
+        Board board = read(gameId, BoardMapper::toBoard);
+        List<MovePreview> previews = new ArrayList<>(board.getPitsPerPlayer());
+        if (board.isGameOver()) {
+            return previews;
         }
-
-        Turn turnFromSelection = getTurnFromPit(game, pitIndex);
-        if (!isValidTurn(game, turnFromSelection)) {
-            log.error("Player turn incorrect. The turn is for {}", GameUtils.getOppositeTurn(turnFromSelection).getLabel());
-            throw new WrongPlayerTurnException();
+        int first = board.getTurn() == Board.PLAYER_ONE ? 1 : board.getPitsPerPlayer() + 1;
+        Board scratch = board.copy();
+        for (int position = first; position < first + board.getPitsPerPlayer(); position++) {
+            if (board.getStones(position) == 0) {
+                continue;
+            }
+            scratch.copyFrom(board);
+            int flags = scratch.move(position);
+            previews.add(BoardMapper.toPreview(position, flags, scratch));
         }
+        return previews;
+    }
 
-        if (isPitEmpty(game, pitIndex)) {
-            log.error("Pit selected ({}) is empty", pitIndex);
-            throw new InvalidMovementException();
+    /**
+     * @param pitIndex movement of the player, null to only let the bot play the player in turn
+     * @param bot      whether the bot plays the other player after the movement
+     */
+    private MoveOutcome play(String gameId, Integer pitIndex, boolean bot) {
+        long start = System.nanoTime();
+        while (true) {
+            // The bot searches on a detached board before taking the lock, so the games of the stripe never wait for it
+            BotPlan botPlan = bot ? planBot(gameId, pitIndex) : null;
+            MoveOutcome outcome = apply(gameId, pitIndex, bot, botPlan, start);
+            if (outcome != null) {
+                return outcome;
+            }
+            // Another movement of the game was saved during the search, every retry follows one of them
         }
     }
 
-    private void pickStones(Game game, int pitIndex) {
-        boolean isBigPitLast = false;
-        boolean isLastPitEmpty;
+    /**
+     * @return the outcome of the movements, null if the bot plan no longer matches the game
+     */
+    private MoveOutcome apply(String gameId, Integer pitIndex, boolean bot, BotPlan botPlan, long start) {
+        Lock lock = gameLocks.getLock(gameId);
+        lock.lock();
+        try {
+            long phaseStart = System.nanoTime();
+            int rejectedPit = pitIndex == null ? 0 : pitIndex;
+            Optional<Game> storedGame = gameStore.findById(gameId);
+            if (storedGame.isEmpty()) {
+                return reject(gameId, RejectionReason.GAME_NOT_FOUND, rejectedPit, null);
+            }
+            Game game = storedGame.get();
+            Board board = BoardMapper.toBoard(game);
+            phaseStart = recordPhase(MovePhase.LOAD, phaseStart);
+
+            RejectionReason rejection = pitIndex == null
+                    ? (board.isGameOver() ? RejectionReason.GAME_OVER : null)
+                    : validateMovement(board, pitIndex);
+            if (rejection != null) {
+                return reject(gameId, rejection, rejectedPit, board);
+            }
+            if (bot && (botPlan == null || botPlan.moves != game.getMoves())) {
+                return null;
+            }
+            phaseStart = recordPhase(MovePhase.VALIDATE, phaseStart);
+
+            // Taken for every movement, whatever the view: the movement event and the result are built from it
+            Board before = board.copy();
+            Instant now = Instant.now();
+            List<MoveRecord> moveRecords = new ArrayList<>(1);
+            if (pitIndex != null) {
+                board.move(pitIndex);
+                moveRecords.add(toRecord(gameId, game.getMoves() + 1, pitIndex, before, board, now));
+            }
+            if (bot) {
+                // The game did not change since the plan, so its movements are still the ones the search chose
+                Board previous = board.copy();
+                for (int botPit : botPlan.pits) {
+                    previous.copyFrom(board);
+                    board.move(botPit);
+                    moveRecords.add(toRecord(gameId, game.getMoves() + moveRecords.size() + 1, botPit, previous, board, now));
+                }
+            }
+            if (moveRecords.isEmpty()) {
+                // The player in turn has no stones left to play
+                return reject(gameId, RejectionReason.GAME_OVER, rejectedPit, board);
+            }
+            phaseStart = recordPhase(MovePhase.MOVE, phaseStart);
 
-        int stonesToSow = game.getPit(pitIndex).pickStones();
-        int pitToSow = getNextPitToSow(game, pitIndex);
+            commit(game, moveRecords, board, now);
+            recordPhase(MovePhase.SAVE, phaseStart);
 
-        while (stonesToSow > 0) {
-            if (!isBigPitLast && isFirstPitOppositePlayerAndNeedToSowBigPit(game, pitToSow)) {
-                sowBigPit(game);
-                isBigPitLast = true;
-                stonesToSow--;
-            } else {
-                isLastPitEmpty = game.getPit(pitToSow).sow();
-                isBigPitLast = false;
-                stonesToSow--;
+            eventPublisher.publishEvent(new GameMovedEvent(gameId, before, board));
+            gameMetrics.recordMove(gameId, System.nanoTime() - start);
+            return MoveOutcome.applied(new MoveResult(game.copy(), before, board));
+        } finally {
+            lock.unlock();
+        }
+    }
 
-                if (isLastPitEmpty && stonesToSow == 0 && game.getTurn().equals(getTurnFromPit(game, pitToSow))) {
-                    stealOppositePlayerPit(game, pitToSow);
-                } else {
-                    pitToSow = getNextPitToSow(game, pitToSow);
-                }
+    /**
+     * Plays the movement of the player on a detached board, then searches the movements of the bot until it is the turn
+     * of the player again or the game is over. Only the read of the game holds the lock
+     *
+     * @return the movements of the bot, null if the game does not exist or rejects the movement of the player
+     */
+    private BotPlan planBot(String gameId, Integer pitIndex) {
+        Board board;
+        int moves;
+        Lock lock = gameLocks.getLock(gameId);
+        lock.lock();
+        try {
+            Optional<Game> storedGame = gameStore.findById(gameId);
+            if (storedGame.isEmpty()) {
+                return null;
             }
+            board = BoardMapper.toBoard(storedGame.get());
+            moves = storedGame.get().getMoves();
+        } finally {
+            lock.unlock();
         }
 
-        checkNextTurn(game, isBigPitLast);
-
-        gameRepository.save(game);
+        int player = 1 - board.getTurn();
+        if (pitIndex != null) {
+            if (validateMovement(board, pitIndex) != null) {
+                return null;
+            }
+            player = board.getTurn();
+            board.move(pitIndex);
+        }
+        List<Integer> pits = new ArrayList<>();
+        while (!board.isGameOver() && board.getTurn() != player) {
+            Optional<SearchResult> result = moveSearch.search(board);
+            if (result.isEmpty()) {
+                break;
+            }
+            gameMetrics.recordSearch(result.get().getNodes(), result.get().getNanos());
+            pits.add(result.get().getPit());
+            board.move(result.get().getPit());
+        }
+        return new BotPlan(moves, pits);
     }
 
-    private void checkNextTurn(Game game, boolean isBigPitLast) {
-        if (isEveryPitEmpty(game)) {
-            endGame(game);
-        } else if (!isBigPitLast) {
-            game.setTurn(GameUtils.getOppositeTurn(game.getTurn()));
+    /**
+     * Movements chosen by the bot for the game after the given number of movements
+     */
+    private static final class BotPlan {
+        private final int moves;
+        private final List<Integer> pits;
+
+        private BotPlan(int moves, List<Integer> pits) {
+            this.moves = moves;
+            this.pits = pits;
         }
     }
 
-    private void endGame(Game game) {
-        game.addStonesBigPitPlayerTwo(game.getPits().stream().filter(p -> p.getPlayer() == PLAYER_TWO).mapToInt(Pit::pickStones).sum());
-        game.addStonesBigPitPlayerOne(game.getPits().stream().filter(p -> p.getPlayer() == PLAYER_ONE).mapToInt(Pit::pickStones).sum());
-        game.setTurn(Turn.GAME_OVER);
+    /**
+     * Applies the movements in order, with a single load and a single save. The batch is atomic: if any movement is
+     * rejected, none of them is saved and the result reports the index of the rejected one.
+     */
+    public BatchMoveResult moveAll(String gameId, List<Integer> pitIndexes) throws GameNotFoundException {
+        Lock lock = gameLocks.getLock(gameId);
+        lock.lock();
+        try {
+            Optional<Game> storedGame = gameStore.findById(gameId);
+            if (storedGame.isEmpty()) {
+                reject(gameId, RejectionReason.GAME_NOT_FOUND, 0, null);
+                throw new GameNotFoundException();
+            }
+            Game game = storedGame.get();
+            if (pitIndexes.isEmpty()) {
+                // Nothing to save, record or notify
+                return new BatchMoveResult(game.copy(), null, null);
+            }
+            Board board = BoardMapper.toBoard(game);
+            Board before = board.copy();
+            Board previous = board.copy();
+            Instant now = Instant.now();
+            List<MoveRecord> moveRecords = new ArrayList<>(pitIndexes.size());
+
+            for (int i = 0; i < pitIndexes.size(); i++) {
+                Integer pitIndex = pitIndexes.get(i);
+                RejectionReason rejection = pitIndex == null ? RejectionReason.BAD_PIT : validateMovement(board, pitIndex);
+                if (rejection != null) {
+                    reject(gameId, rejection, pitIndex == null ? 0 : pitIndex, board);
+                    return new BatchMoveResult(game.copy(), i, rejection);
+                }
+                previous.copyFrom(board);
+                board.move(pitIndex);
+                moveRecords.add(toRecord(gameId, game.getMoves() + i + 1, pitIndex, previous, board, now));
+            }
+
+            commit(game, moveRecords, board, now);
+            eventPublisher.publishEvent(new GameMovedEvent(gameId, before, board));
+            return new BatchMoveResult(game.copy(), null, null);
+        } finally {
+            lock.unlock();
+        }
     }
 
-    private int getLittlePitsPerPlayer(Game game) {
-        return getTotalLittlePits(game) / 2;
+    /**
+     * Returns a page of the movements of the game, in the order they were played. Pages are ranges of movement
+     * numbers, so a page never scans the movements of the previous ones
+     */
+    public MoveHistoryPage getHistory(String gameId, int page, int size) throws GameNotFoundException {
+        Game game = getGame(gameId);
+        int pageSize = Math.max(1, Math.min(size, MAX_HISTORY_PAGE_SIZE));
+        int pageNumber = Math.max(0, page);
+        long fromSequence = (long) pageNumber * pageSize + 1;
+        List<MoveRecord> moves = fromSequence > game.getMoves()
+                ? List.of()
+                : moveHistory.getMoves(gameId, (int) fromSequence, (int) Math.min(fromSequence + pageSize - 1, game.getMoves()));
+        return new MoveHistoryPage(gameId, pageNumber, pageSize, game.getMoves(), moves);
     }
 
-    private int getTotalLittlePits(Game game) {
-        return game.getPits().size();
+    /**
+     * Maps the game under its lock, as the store may return the instance shared by the cache that movements change in
+     * place
+     */
+    private <T> T read(String gameId, Function<Game, T> mapper) throws GameNotFoundException {
+        Optional<T> result;
+        Lock lock = gameLocks.getLock(gameId);
+        lock.lock();
+        try {
+            result = gameStore.findById(gameId).map(mapper);
+        } finally {
+            lock.unlock();
+        }
+        if (result.isEmpty()) {
+            reject(gameId, RejectionReason.GAME_NOT_FOUND, 0, null);
+            throw new GameNotFoundException();
+        }
+        return result.get();
     }
 
-    private Turn getTurnFromPit(Game game, int pitIndex) {
-        return pitIndex <= getLittlePitsPerPlayer(game) ? Turn.PLAYER_ONE : Turn.PLAYER_TWO;
+    /**
+     * Records the movements in the history before changing the game, which may be the instance shared by the cache. The
+     * history is the only copy of the games stored as events, so a movement it failed to record never shows in the game
+     */
+    private void commit(Game game, List<MoveRecord> moveRecords, Board board, Instant now) {
+        moveHistory.append(game.getId(), moveRecords, board);
+        BoardMapper.apply(board, game);
+        game.setMoves(game.getMoves() + moveRecords.size());
+        game.setUpdatedAt(now);
+        gameStore.save(game);
     }
 
-    private int getNextPitToSow(Game game, int pitIndex) {
-        return pitIndex == getTotalLittlePits(game) ? 1 : pitIndex + 1;
+    private MoveOutcome reject(String gameId, RejectionReason reason, int pitIndex, Board board) {
+        gameMetrics.recordRejection(reason);
+        rejectionLogger.rejected(gameId, reason, pitIndex, board);
+        return MoveOutcome.rejected(reason);
     }
 
-    private boolean isEveryPitEmpty(Game game) {
-        if (Turn.PLAYER_ONE.equals(game.getTurn())) {
-            return game.getPits().stream().filter(p -> p.getPlayer() == PLAYER_ONE).noneMatch(pit -> pit.getStones() > 0);
-        } else {
-            return game.getPits().stream().filter(p -> p.getPlayer() == PLAYER_TWO).noneMatch(pit -> pit.getStones() > 0);
+    private static void throwRejection(RejectionReason reason) throws GameNotFoundException, BadPitSelectionException, WrongPlayerTurnException, InvalidMovementException, GameOverException {
+        switch (reason) {
+            case GAME_NOT_FOUND:
+                throw new GameNotFoundException();
+            case BAD_PIT:
+                throw new BadPitSelectionException();
+            case WRONG_TURN:
+                throw new WrongPlayerTurnException();
+            case EMPTY_PIT:
+                throw new InvalidMovementException();
+            case GAME_OVER:
+            default:
+                throw new GameOverException();
         }
     }
 
-    private boolean isGameOver(Game game) {
-        return Turn.GAME_OVER.equals(game.getTurn());
+    private long recordPhase(MovePhase phase, long phaseStart) {
+        long now = System.nanoTime();
+        gameMetrics.recordPhase(phase, now - phaseStart);
+        return now;
     }
 
-    private boolean isValidPitSelection(Game game, int pitIndex) {
-        return pitIndex > 0 && pitIndex <= getTotalLittlePits(game);
+    private Game startGame(Variant variant) {
+        long start = System.nanoTime();
+        Game game = gameStore.save(initializeNewGame(variant));
+        moveHistory.start(game.getId(), BoardMapper.toBoard(game));
+        gameMetrics.recordCreate(System.nanoTime() - start);
+        log.info("New game started with ID: {} - next turn: {}", game.getId(), game.getTurn().getLabel());
+        return game;
     }
 
-    private boolean isValidTurn(Game game, Turn turn) {
-        return game.getTurn().equals(turn);
+    private static MoveRecord toRecord(String gameId, int sequence, int pitIndex, Board before, Board after, Instant playedAt) {
+        return new MoveRecord(gameId, sequence, pitIndex, before.getTurn() + 1, after.hash(), playedAt);
     }
 
-    private boolean isPitEmpty(Game game, int pitIndex) {
-        return game.getPit(pitIndex).getStones() == 0;
+    private Variant validateVariant(Variant requestedVariant) throws InvalidVariantException {
+        Variant variant = resolveVariant(requestedVariant);
+        if (variant.getPitsPerPlayer() < 1 || variant.getPitsPerPlayer() > Variant.MAX_PITS_PER_PLAYER
+                || variant.getStonesPerPit() < 1 || variant.getStonesPerPit() > Variant.MAX_STONES_PER_PIT) {
+            gameMetrics.recordRejection(RejectionReason.INVALID_VARIANT);
+            rejectionLogger.rejected("(new)", RejectionReason.INVALID_VARIANT);
+            throw new InvalidVariantException();
+        }
+        return variant;
     }
 
-    private boolean isFirstPitOppositePlayerAndNeedToSowBigPit(Game game, int pitIndex) {
-        return (Turn.PLAYER_TWO.equals(game.getTurn()) && pitIndex == 1) ||
-                (Turn.PLAYER_ONE.equals(game.getTurn()) && pitIndex == (getTotalLittlePits(game) / 2) + 1);
+    private Variant defaultVariant() {
+        return new Variant(gameConfig.getLittlePitsPerPlayer(), gameConfig.getInitialStonesPerPit(), true, true);
     }
 
-    private void sowBigPit(Game game) {
-        if (Turn.PLAYER_ONE.equals(game.getTurn())) {
-            game.addStonesBigPitPlayerOne(1);
-        } else {
-            game.addStonesBigPitPlayerTwo(1);
+    private Variant resolveVariant(Variant requested) {
+        Variant variant = defaultVariant();
+        if (requested == null) {
+            return variant;
+        }
+        if (requested.getPitsPerPlayer() != null) {
+            variant.setPitsPerPlayer(requested.getPitsPerPlayer());
+        }
+        if (requested.getStonesPerPit() != null) {
+            variant.setStonesPerPit(requested.getStonesPerPit());
+        }
+        if (requested.getCapture() != null) {
+            variant.setCapture(requested.getCapture());
         }
+        if (requested.getEmptyCapture() != null) {
+            variant.setEmptyCapture(requested.getEmptyCapture());
+        }
+        return variant;
     }
 
-    private void stealOppositePlayerPit(Game game, int pitIndex) {
-        int oppositePitIndex = getTotalLittlePits(game) - pitIndex + 1;
-        int stones = game.getPit(pitIndex).pickStones() + game.getPit(oppositePitIndex).pickStones();
+    private Game initializeNewGame(Variant variant) {
+        Game game = new Game();
+        game.setId(idGenerator.nextId());
+        game.setVariant(variant);
+        game.setTurn(GameUtils.getRandomTurn());
+        game.setUpdatedAt(Instant.now());
+        game.setPits(createLittlePits(game, variant));
+        return game;
+    }
+
+    private List<Pit> createLittlePits(Game game, Variant variant) {
+        int pitsPerPlayer = variant.getPitsPerPlayer();
+        List<Pit> littlePits = new ArrayList<>(pitsPerPlayer * 2);
+        for (int position = 1; position <= pitsPerPlayer * 2; position++) {
+            littlePits.add(new Pit(BoardMapper.pitId(game.getId(), position), game, position <= pitsPerPlayer ? PLAYER_ONE : PLAYER_TWO, position, variant.getStonesPerPit()));
+        }
+        return littlePits;
+    }
 
-        if (Turn.PLAYER_ONE.equals(game.getTurn())) {
-            game.addStonesBigPitPlayerOne(stones);
-        } else {
-            game.addStonesBigPitPlayerTwo(stones);
+    /**
+     * @return the reason why the movement is not allowed, null if it is valid
+     */
+    private static RejectionReason validateMovement(Board board, int pitIndex) {
+        if (board.isGameOver()) {
+            return RejectionReason.GAME_OVER;
+        }
+        if (!board.isValidPit(pitIndex)) {
+            return RejectionReason.BAD_PIT;
+        }
+        if (board.getOwner(pitIndex) != board.getTurn()) {
+            return RejectionReason.WRONG_TURN;
+        }
+        if (board.getStones(pitIndex) == 0) {
+            return RejectionReason.EMPTY_PIT;
         }
+        return null;
     }
-}
\ No newline at end of file
+}
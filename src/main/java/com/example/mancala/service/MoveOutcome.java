@@ -0,0 +1,52 @@
+package com.example.mancala.service;
+
+import com.example.mancala.model.RejectionReason;
+
+/**
+ * Outcome of a movement that does not throw on rejection: either the result of the movement or the rejection reason.
+ * Rejected outcomes are shared constants, so a rejection allocates nothing
+ */
+public final class MoveOutcome {
+
+    private static final MoveOutcome[] REJECTIONS = new MoveOutcome[RejectionReason.values().length];
+
+    static {
+        for (RejectionReason reason : RejectionReason.values()) {
+            REJECTIONS[reason.ordinal()] = new MoveOutcome(null, reason);
+        }
+    }
+
+    private final MoveResult result;
+    private final RejectionReason rejection;
+
+    private MoveOutcome(MoveResult result, RejectionReason rejection) {
+        this.result = result;
+        this.rejection = rejection;
+    }
+
+    public static MoveOutcome applied(MoveResult result) {
+        return new MoveOutcome(result, null);
+    }
+
+    public static MoveOutcome rejected(RejectionReason reason) {
+        return REJECTIONS[reason.ordinal()];
+    }
+
+    public boolean isApplied() {
+        return rejection == null;
+    }
+
+    /**
+     * @return the result of the movement, null if it was rejected
+     */
+    public MoveResult getResult() {
+        return result;
+    }
+
+    /**
+     * @return the rejection reason, null if the movement was applied
+     */
+    public RejectionReason getRejection() {
+        return rejection;
+    }
+}
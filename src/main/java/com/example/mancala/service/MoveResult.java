@@ -0,0 +1,27 @@
+package com.example.mancala.service;
+
+import com.example.mancala.engine.Board;
+import com.example.mancala.engine.BoardMapper;
+import com.example.mancala.model.Game;
+import com.example.mancala.model.MoveDelta;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Result of a movement: a copy of the game after the movement, taken under the game lock so it can be written out
+ * while other movements change the game, and the boards before and after it to build the delta on demand.
+ * The board before is the copy every movement already takes for its {@link com.example.mancala.event.GameMovedEvent},
+ * so only mapping the delta is left to the clients asking for it
+ */
+@AllArgsConstructor
+public class MoveResult {
+
+    @Getter
+    private final Game game;
+    private final Board before;
+    private final Board after;
+
+    public MoveDelta getDelta() {
+        return BoardMapper.toDelta(before, after);
+    }
+}
@@ -0,0 +1,79 @@
+package com.example.mancala.service;
+
+import com.example.mancala.engine.Board;
+import com.example.mancala.engine.BoardMapper;
+import com.example.mancala.model.RejectionReason;
+import com.example.mancala.model.Turn;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * Logs rejected requests at most once per interval, reporting how many were left out since the previous line. Clients
+ * spamming invalid movements would otherwise flood the log. The message is only built when the line is written
+ */
+@Slf4j
+class RejectionLogger {
+
+    private final long intervalNanos;
+    private final LongSupplier nanoClock;
+    private final AtomicLong nextLogTime;
+    private final LongAdder suppressed = new LongAdder();
+
+    RejectionLogger(Duration interval) {
+        this(interval, System::nanoTime);
+    }
+
+    RejectionLogger(Duration interval, LongSupplier nanoClock) {
+        this.intervalNanos = interval.toNanos();
+        this.nanoClock = nanoClock;
+        this.nextLogTime = new AtomicLong(nanoClock.getAsLong());
+    }
+
+    void rejected(String gameId, RejectionReason reason) {
+        rejected(gameId, reason, 0, null);
+    }
+
+    void rejected(String gameId, RejectionReason reason, int pitIndex, Board board) {
+        if (!tryAcquire()) {
+            return;
+        }
+        long skipped = suppressed.sumThenReset();
+        log.warn("Rejected request on game {}: {} ({} more rejections not logged)", gameId, describe(reason, pitIndex, board), skipped);
+    }
+
+    /**
+     * @return whether a line can be written now. Only one caller per interval wins, the rest are counted as suppressed
+     */
+    boolean tryAcquire() {
+        long now = nanoClock.getAsLong();
+        long next = nextLogTime.get();
+        if (now - next >= 0 && nextLogTime.compareAndSet(next, now + intervalNanos)) {
+            return true;
+        }
+        suppressed.increment();
+        return false;
+    }
+
+    private static String describe(RejectionReason reason, int pitIndex, Board board) {
+        switch (reason) {
+            case GAME_OVER:
+                int scorePlayerOne = board.getBigPit(Board.PLAYER_ONE);
+                int scorePlayerTwo = board.getBigPit(Board.PLAYER_TWO);
+                String winner = scorePlayerOne > scorePlayerTwo ? Turn.PLAYER_ONE.getLabel() + " wins" : scorePlayerOne < scorePlayerTwo ? Turn.PLAYER_TWO.getLabel() + " wins" : "It's a draw";
+                return "Game is over. " + winner + "!! (" + scorePlayerOne + "-" + scorePlayerTwo + ")";
+            case BAD_PIT:
+                return "Pit selected (" + pitIndex + ") is out of bounds [1-" + board.getTotalPits() + "]";
+            case WRONG_TURN:
+                return "Player turn incorrect. The turn is for " + BoardMapper.toTurn(board.getTurn()).getLabel();
+            case EMPTY_PIT:
+                return "Pit selected (" + pitIndex + ") is empty";
+            case GAME_NOT_FOUND:
+            default:
+                return reason.getMessage();
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package com.example.mancala.simulation;
+
+import com.example.mancala.engine.Board;
+
+import java.util.random.RandomGenerator;
+
+/**
+ * Plays the pit that puts the most stones in the big pit of the player right away, captures included. Between pits
+ * worth the same stones, the ones that give an extra turn come first, and the remaining ties are broken at random
+ */
+public class GreedyPolicy implements Policy {
+
+    public static final String NAME = "greedy";
+
+    @Override
+    public int select(Board board, RandomGenerator random) {
+        int player = board.getTurn();
+        int first = RandomPolicy.firstPosition(board);
+        int before = board.getBigPit(player);
+        int chosen = 0;
+        int bestValue = Integer.MIN_VALUE;
+        int ties = 0;
+        for (int position = first; position < first + board.getPitsPerPlayer(); position++) {
+            if (board.getStones(position) == 0) {
+                continue;
+            }
+            long undo = board.make(position);
+            int value = (board.getBigPit(player) - before) * 2 + ((Board.flags(undo) & Board.EXTRA_TURN) != 0 ? 1 : 0);
+            board.unmake(position, undo);
+            if (value > bestValue) {
+                bestValue = value;
+                chosen = position;
+                ties = 1;
+            } else if (value == bestValue && random.nextInt(++ties) == 0) {
+                chosen = position;
+            }
+        }
+        return chosen;
+    }
+
+    @Override
+    public String getName() {
+        return NAME;
+    }
+}
@@ -0,0 +1,21 @@
+package com.example.mancala.simulation;
+
+import com.example.mancala.engine.Board;
+
+import java.util.random.RandomGenerator;
+
+/**
+ * Chooses the movements of a player in a simulated game. Policies are shared by every simulation thread, so they keep
+ * no state of their own between calls
+ */
+public interface Policy {
+
+    /**
+     * @param board  board of a game in progress with at least one movement for the player in turn, to be left unchanged
+     * @param random generator of the simulation thread, the only source of randomness so seeded runs are repeatable
+     * @return 1-based position of the pit to play
+     */
+    int select(Board board, RandomGenerator random);
+
+    String getName();
+}
@@ -0,0 +1,36 @@
+package com.example.mancala.simulation;
+
+import com.example.mancala.engine.Board;
+
+import java.util.random.RandomGenerator;
+
+/**
+ * Plays any pit with stones, with the same probability
+ */
+public class RandomPolicy implements Policy {
+
+    public static final String NAME = "random";
+
+    @Override
+    public int select(Board board, RandomGenerator random) {
+        int first = firstPosition(board);
+        int chosen = 0;
+        int candidates = 0;
+        for (int position = first; position < first + board.getPitsPerPlayer(); position++) {
+            // Reservoir sampling, so the pits are walked once without collecting them
+            if (board.getStones(position) > 0 && random.nextInt(++candidates) == 0) {
+                chosen = position;
+            }
+        }
+        return chosen;
+    }
+
+    @Override
+    public String getName() {
+        return NAME;
+    }
+
+    static int firstPosition(Board board) {
+        return board.getTurn() == Board.PLAYER_ONE ? 1 : board.getPitsPerPlayer() + 1;
+    }
+}
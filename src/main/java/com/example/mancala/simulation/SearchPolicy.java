@@ -0,0 +1,37 @@
+package com.example.mancala.simulation;
+
+import com.example.mancala.engine.Board;
+import com.example.mancala.search.MoveSearch;
+import com.example.mancala.search.SearchResult;
+
+import java.time.Duration;
+import java.util.random.RandomGenerator;
+
+/**
+ * Plays the movement of the {@link MoveSearch} used for hints and the bot, with its own time budget per movement. The
+ * movement depends on how deep the search got within the budget, so it ignores the seed of the simulation and seeded
+ * runs with this policy are not repeatable
+ */
+public class SearchPolicy implements Policy {
+
+    public static final String NAME = "search";
+
+    private final MoveSearch moveSearch;
+    private final Duration timeBudget;
+
+    public SearchPolicy(MoveSearch moveSearch, Duration timeBudget) {
+        this.moveSearch = moveSearch;
+        this.timeBudget = timeBudget;
+    }
+
+    @Override
+    public int select(Board board, RandomGenerator random) {
+        return moveSearch.search(board, timeBudget).map(SearchResult::getPit)
+                .orElseThrow(() -> new IllegalStateException("No movement for the player in turn"));
+    }
+
+    @Override
+    public String getName() {
+        return NAME;
+    }
+}
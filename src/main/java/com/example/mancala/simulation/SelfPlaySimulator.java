@@ -0,0 +1,195 @@
+package com.example.mancala.simulation;
+
+import com.example.mancala.engine.Board;
+import com.example.mancala.engine.BoardMapper;
+import com.example.mancala.engine.BoardRules;
+import com.example.mancala.model.Variant;
+import com.example.mancala.search.MoveSearch;
+import com.example.mancala.utils.GameUtils;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Headless runner of games between two {@link Policy policies}, straight on the {@link Board} engine without the
+ * service or a store, to compare variants before offering them. Games are split in halves across a fork-join pool down
+ * to batches of {@value #BATCH_GAMES} games, and every half gets its own {@link SplittableRandom} split from the seed,
+ * so a seeded run plays the same games whatever the number of threads. This only holds for the {@link RandomPolicy}
+ * and the {@link GreedyPolicy}: the {@link SearchPolicy} stops deepening once its time budget is spent and searches the
+ * root movements in parallel, so the movements it picks depend on the load of the machine.
+ * <p>
+ * Usage: {@code SelfPlaySimulator <games> <variants> [policyOne] [policyTwo] [seed]}, where the variants are separated
+ * by commas as {@code <pitsPerPlayer>x<stonesPerPit>}, optionally followed by {@code :nocapture} or
+ * {@code :noemptycapture}, and the policies are {@code random} (default), {@code greedy} or {@code search}
+ */
+@Slf4j
+public class SelfPlaySimulator implements AutoCloseable {
+
+    private static final int BATCH_GAMES = 64;
+    private static final Duration SEARCH_BUDGET = Duration.ofMillis(5);
+    private static final int SEARCH_DEPTH = 32;
+
+    private final ForkJoinPool pool;
+
+    public SelfPlaySimulator(int parallelism) {
+        this.pool = new ForkJoinPool(parallelism);
+    }
+
+    public static void main(String[] args) {
+        if (args.length < 2) {
+            System.err.println("Usage: SelfPlaySimulator <games> <variants> [policyOne] [policyTwo] [seed]");
+            System.exit(1);
+        }
+        int games = Integer.parseInt(args[0]);
+        long seed = args.length < 5 ? System.nanoTime() : Long.parseLong(args[4]);
+        int parallelism = Runtime.getRuntime().availableProcessors();
+        try (MoveSearch moveSearch = new MoveSearch(parallelism, SEARCH_BUDGET, SEARCH_DEPTH);
+             SelfPlaySimulator simulator = new SelfPlaySimulator(parallelism)) {
+            SearchPolicy searchPolicy = new SearchPolicy(moveSearch, SEARCH_BUDGET);
+            Policy policyOne = policy(args.length < 3 ? RandomPolicy.NAME : args[2], searchPolicy);
+            Policy policyTwo = policy(args.length < 4 ? RandomPolicy.NAME : args[3], searchPolicy);
+            log.info("Simulating {} games per variant of {} against {} with seed {}", games, policyOne.getName(), policyTwo.getName(), seed);
+            for (Variant variant : parseVariants(args[1])) {
+                SimulationReport report = simulator.simulate(variant, games, policyOne, policyTwo, seed);
+                log.info("{}x{} (capture: {}, empty capture: {}): first player advantage {}, player one wins {}, draws {}, "
+                                + "{} movements per game, {} captures per game ({} of the movements), {} extra turns, in {} s",
+                        variant.getPitsPerPlayer(), variant.getStonesPerPit(), variant.getCapture(), variant.getEmptyCapture(),
+                        percent(report.getFirstPlayerAdvantage()), percent(report.getPlayerOneWinRate()), percent(report.getDrawRate()),
+                        String.format("%.1f", report.getAverageMoves()), String.format("%.2f", report.getCapturesPerGame()),
+                        percent(report.getCaptureRate()), percent(report.getExtraTurnRate()), TimeUnit.NANOSECONDS.toSeconds(report.getNanos()));
+            }
+        }
+    }
+
+    /**
+     * Plays the games and aggregates their results as they finish
+     *
+     * @param variant   board of the games, every field set
+     * @param policyOne policy of player one
+     * @param policyTwo policy of player two
+     * @param seed      seed of the random choices of the policies and of the player moving first
+     */
+    public SimulationReport simulate(Variant variant, int games, Policy policyOne, Policy policyTwo, long seed) {
+        if (games < 1) {
+            throw new IllegalArgumentException("Invalid number of games " + games);
+        }
+        long start = System.nanoTime();
+        BoardRules rules = BoardMapper.toRules(variant);
+        Simulation simulation = new Simulation(variant.getPitsPerPlayer(), variant.getStonesPerPit(), rules, policyOne, policyTwo, games, new SplittableRandom(seed));
+        SimulationStats stats = pool.invoke(simulation);
+        return new SimulationReport(variant, policyOne.getName(), policyTwo.getName(), stats.games, stats.firstPlayerWins,
+                stats.secondPlayerWins, stats.playerOneWins, stats.playerTwoWins, stats.draws, stats.moves, stats.captures,
+                stats.extraTurns, System.nanoTime() - start);
+    }
+
+    @Override
+    public void close() {
+        pool.shutdownNow();
+    }
+
+    private static Policy policy(String name, SearchPolicy searchPolicy) {
+        switch (name) {
+            case RandomPolicy.NAME:
+                return new RandomPolicy();
+            case GreedyPolicy.NAME:
+                return new GreedyPolicy();
+            case SearchPolicy.NAME:
+                return searchPolicy;
+            default:
+                throw new IllegalArgumentException("Unknown policy " + name);
+        }
+    }
+
+    static List<Variant> parseVariants(String variants) {
+        List<Variant> parsed = new ArrayList<>();
+        for (String variant : variants.split(",")) {
+            String[] parts = variant.trim().split(":");
+            String[] size = parts[0].split("x");
+            boolean capture = !(parts.length > 1 && "nocapture".equals(parts[1]));
+            boolean emptyCapture = capture && !(parts.length > 1 && "noemptycapture".equals(parts[1]));
+            parsed.add(new Variant(Integer.parseInt(size[0]), Integer.parseInt(size[1]), capture, emptyCapture));
+        }
+        return parsed;
+    }
+
+    private static String percent(double ratio) {
+        return String.format("%.2f%%", ratio * 100);
+    }
+
+    /**
+     * Games of a simulation, split in halves until they fit in a batch played by a single thread
+     */
+    private static final class Simulation extends RecursiveTask<SimulationStats> {
+
+        private final int pitsPerPlayer;
+        private final int stonesPerPit;
+        private final BoardRules rules;
+        private final Policy policyOne;
+        private final Policy policyTwo;
+        private final int games;
+        private final SplittableRandom random;
+
+        private Simulation(int pitsPerPlayer, int stonesPerPit, BoardRules rules, Policy policyOne, Policy policyTwo, int games, SplittableRandom random) {
+            this.pitsPerPlayer = pitsPerPlayer;
+            this.stonesPerPit = stonesPerPit;
+            this.rules = rules;
+            this.policyOne = policyOne;
+            this.policyTwo = policyTwo;
+            this.games = games;
+            this.random = random;
+        }
+
+        @Override
+        protected SimulationStats compute() {
+            if (games <= BATCH_GAMES) {
+                SimulationStats stats = new SimulationStats();
+                for (int game = 0; game < games; game++) {
+                    play(stats);
+                }
+                return stats;
+            }
+            int half = games / 2;
+            Simulation first = new Simulation(pitsPerPlayer, stonesPerPit, rules, policyOne, policyTwo, half, random.split());
+            first.fork();
+            Simulation second = new Simulation(pitsPerPlayer, stonesPerPit, rules, policyOne, policyTwo, games - half, random);
+            return second.compute().merge(first.join());
+        }
+
+        private void play(SimulationStats stats) {
+            int firstPlayer = BoardMapper.toBoardTurn(GameUtils.getRandomTurn(random));
+            Board board = Board.initial(pitsPerPlayer, stonesPerPit, rules, firstPlayer);
+            int moves = 0;
+            int captures = 0;
+            int extraTurns = 0;
+            // A player left without stones while the other still has some also ends the game
+            while (!board.isGameOver() && hasStones(board)) {
+                Policy policy = board.getTurn() == Board.PLAYER_ONE ? policyOne : policyTwo;
+                int flags = board.move(policy.select(board, random));
+                moves++;
+                if ((flags & Board.CAPTURE) != 0) {
+                    captures++;
+                }
+                if ((flags & Board.EXTRA_TURN) != 0) {
+                    extraTurns++;
+                }
+            }
+            stats.record(firstPlayer, board.getScore(firstPlayer) - board.getScore(1 - firstPlayer), moves, captures, extraTurns);
+        }
+
+        private static boolean hasStones(Board board) {
+            int first = RandomPolicy.firstPosition(board);
+            for (int position = first; position < first + board.getPitsPerPlayer(); position++) {
+                if (board.getStones(position) > 0) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+}
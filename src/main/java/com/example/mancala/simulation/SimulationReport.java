@@ -0,0 +1,66 @@
+package com.example.mancala.simulation;
+
+import com.example.mancala.model.Variant;
+import lombok.Value;
+
+/**
+ * Results of the games simulated for a variant. The player who moves first is drawn at random for every game, like
+ * in the games of the service, so the first player advantage is measured independently of the policy of each player
+ */
+@Value
+public class SimulationReport {
+    Variant variant;
+    String policyOne;
+    String policyTwo;
+    long games;
+    /**
+     * Games won by the player who made the first movement
+     */
+    long firstPlayerWins;
+    long secondPlayerWins;
+    long playerOneWins;
+    long playerTwoWins;
+    long draws;
+    long moves;
+    long captures;
+    long extraTurns;
+    long nanos;
+
+    /**
+     * @return win rate of the player who moves first minus the win rate of the other player
+     */
+    public double getFirstPlayerAdvantage() {
+        return ratio(firstPlayerWins - secondPlayerWins, games);
+    }
+
+    public double getPlayerOneWinRate() {
+        return ratio(playerOneWins, games);
+    }
+
+    public double getDrawRate() {
+        return ratio(draws, games);
+    }
+
+    public double getAverageMoves() {
+        return ratio(moves, games);
+    }
+
+    public double getCapturesPerGame() {
+        return ratio(captures, games);
+    }
+
+    /**
+     * @return fraction of the movements that captured the opposite pit
+     */
+    public double getCaptureRate() {
+        return ratio(captures, moves);
+    }
+
+    public double getExtraTurnRate() {
+        return ratio(extraTurns, moves);
+    }
+
+    private static double ratio(long count, long total) {
+        return total == 0 ? 0 : (double) count / total;
+    }
+}
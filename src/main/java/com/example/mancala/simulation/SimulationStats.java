@@ -0,0 +1,58 @@
+package com.example.mancala.simulation;
+
+import com.example.mancala.engine.Board;
+
+/**
+ * Running counters of the games simulated by a task, merged up the fork-join tree so no game is kept once played
+ */
+final class SimulationStats {
+
+    long games;
+    long firstPlayerWins;
+    long secondPlayerWins;
+    long playerOneWins;
+    long playerTwoWins;
+    long draws;
+    long moves;
+    long captures;
+    long extraTurns;
+
+    /**
+     * @param firstPlayer player who made the first movement
+     * @param margin      final score of the first player minus the final score of the other one
+     */
+    void record(int firstPlayer, int margin, int gameMoves, int gameCaptures, int gameExtraTurns) {
+        games++;
+        if (margin == 0) {
+            draws++;
+        } else {
+            int winner = margin > 0 ? firstPlayer : 1 - firstPlayer;
+            if (margin > 0) {
+                firstPlayerWins++;
+            } else {
+                secondPlayerWins++;
+            }
+            if (winner == Board.PLAYER_ONE) {
+                playerOneWins++;
+            } else {
+                playerTwoWins++;
+            }
+        }
+        moves += gameMoves;
+        captures += gameCaptures;
+        extraTurns += gameExtraTurns;
+    }
+
+    SimulationStats merge(SimulationStats other) {
+        games += other.games;
+        firstPlayerWins += other.firstPlayerWins;
+        secondPlayerWins += other.secondPlayerWins;
+        playerOneWins += other.playerOneWins;
+        playerTwoWins += other.playerTwoWins;
+        draws += other.draws;
+        moves += other.moves;
+        captures += other.captures;
+        extraTurns += other.extraTurns;
+        return this;
+    }
+}
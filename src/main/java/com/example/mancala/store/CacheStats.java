@@ -0,0 +1,17 @@
+package com.example.mancala.store;
+
+import lombok.Value;
+
+/**
+ * Snapshot of the counters of a {@link CachingGameStore}
+ */
+@Value
+public class CacheStats {
+    long hits;
+    long misses;
+    long flushes;
+    long flushErrors;
+    long evictions;
+    int size;
+    int pending;
+}
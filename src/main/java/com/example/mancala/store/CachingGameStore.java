@@ -0,0 +1,333 @@
+package com.example.mancala.store;
+
+import com.example.mancala.concurrent.GameLocks;
+import com.example.mancala.configuration.CacheConfig;
+import com.example.mancala.model.Game;
+import com.example.mancala.model.Turn;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Keeps the live games in memory in front of another {@link GameStore}. Saves are coalesced and written behind by a
+ * single flusher thread: periodically, after a number of pending movements, and when the game is over. Games are only
+ * evicted (by size or idle time) once their pending changes have been flushed, so the delegate never serves stale data.
+ */
+@Slf4j
+public class CachingGameStore implements GameStore, AutoCloseable {
+
+    private final GameStore delegate;
+    private final CacheConfig cacheConfig;
+    private final GameLocks gameLocks;
+    private final long idleTimeoutNanos;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private final ScheduledExecutorService flusher;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder flushes = new LongAdder();
+    private final LongAdder flushErrors = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    public CachingGameStore(GameStore delegate, CacheConfig cacheConfig, GameLocks gameLocks) {
+        this.delegate = delegate;
+        this.cacheConfig = cacheConfig;
+        this.gameLocks = gameLocks;
+        this.idleTimeoutNanos = cacheConfig.getIdleTimeout().toNanos();
+        this.flusher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "game-store-flusher");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long period = cacheConfig.getFlushInterval().toMillis();
+        flusher.scheduleWithFixedDelay(this::flushPending, period, period, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public Optional<Game> findById(String gameId) {
+        lock.lock();
+        try {
+            Entry entry = entries.get(gameId);
+            if (entry != null) {
+                entry.lastAccess = System.nanoTime();
+                hits.increment();
+                return Optional.of(entry.game);
+            }
+        } finally {
+            lock.unlock();
+        }
+
+        misses.increment();
+        Optional<Game> loaded = delegate.findById(gameId);
+        if (loaded.isEmpty()) {
+            return loaded;
+        }
+
+        lock.lock();
+        try {
+            // Another request could have loaded the same game in the meantime, keep a single instance
+            Entry entry = entries.computeIfAbsent(gameId, id -> new Entry(loaded.get()));
+            entry.lastAccess = System.nanoTime();
+            evictIfNeeded();
+            return Optional.of(entry.game);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public Game save(Game game) {
+        boolean flushNow;
+        lock.lock();
+        try {
+            Entry entry = entries.computeIfAbsent(game.getId(), id -> new Entry(game));
+            entry.lastAccess = System.nanoTime();
+            entry.pendingMoves++;
+            flushNow = entry.pendingMoves >= cacheConfig.getFlushEveryMoves()
+                    || (cacheConfig.isFlushOnGameOver() && Turn.GAME_OVER.equals(game.getTurn()));
+            evictIfNeeded();
+        } finally {
+            lock.unlock();
+        }
+
+        if (flushNow) {
+            flusher.execute(() -> flush(game.getId()));
+        }
+        return game;
+    }
+
+    /**
+     * New games are written through in a single batch, then kept in memory as flushed games
+     */
+    @Override
+    public List<Game> saveAll(List<Game> games) {
+        List<Game> saved = delegate.saveAll(games);
+        flushes.add(saved.size());
+        lock.lock();
+        try {
+            long now = System.nanoTime();
+            for (Game game : saved) {
+                entries.computeIfAbsent(game.getId(), id -> new Entry(game)).lastAccess = now;
+            }
+            evictIfNeeded();
+        } finally {
+            lock.unlock();
+        }
+        return saved;
+    }
+
+    /**
+     * Games with pending changes are left out, the delegate does not know when they were last updated
+     */
+    @Override
+    public List<String> findExpiredIds(Instant finishedBefore, Instant idleBefore, int limit) {
+        List<String> expiredIds = new ArrayList<>(delegate.findExpiredIds(finishedBefore, idleBefore, limit));
+        lock.lock();
+        try {
+            expiredIds.removeIf(gameId -> {
+                Entry entry = entries.get(gameId);
+                return entry != null && entry.isDirty();
+            });
+        } finally {
+            lock.unlock();
+        }
+        return expiredIds;
+    }
+
+    @Override
+    public List<Game> findAllById(List<String> gameIds) {
+        List<Game> games = new ArrayList<>(gameIds.size());
+        List<String> missing = new ArrayList<>();
+        lock.lock();
+        try {
+            for (String gameId : gameIds) {
+                Entry entry = entries.get(gameId);
+                if (entry != null) {
+                    games.add(entry.game);
+                } else {
+                    missing.add(gameId);
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+        if (!missing.isEmpty()) {
+            games.addAll(delegate.findAllById(missing));
+        }
+        return games;
+    }
+
+    @Override
+    public void deleteAll(List<String> gameIds) {
+        lock.lock();
+        try {
+            gameIds.forEach(entries::remove);
+        } finally {
+            lock.unlock();
+        }
+        delegate.deleteAll(gameIds);
+    }
+
+    @Override
+    public long count() {
+        return delegate.count();
+    }
+
+    public CacheStats getStats() {
+        lock.lock();
+        try {
+            int pending = (int) entries.values().stream().filter(Entry::isDirty).count();
+            return new CacheStats(hits.sum(), misses.sum(), flushes.sum(), flushErrors.sum(), evictions.sum(), entries.size(), pending);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Flushes every pending game, stops the flusher thread and closes the delegate
+     */
+    @Override
+    public void close() {
+        flusher.shutdown();
+        try {
+            flusher.awaitTermination(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        flushPending();
+        if (delegate instanceof AutoCloseable) {
+            try {
+                ((AutoCloseable) delegate).close();
+            } catch (Exception e) {
+                log.error("Unable to close the game storage", e);
+            }
+        }
+    }
+
+    void flushPending() {
+        List<String> pending = new ArrayList<>();
+        lock.lock();
+        try {
+            for (Map.Entry<String, Entry> entry : entries.entrySet()) {
+                if (entry.getValue().isDirty()) {
+                    pending.add(entry.getKey());
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+
+        pending.forEach(this::flush);
+        evictIdle();
+        if (log.isDebugEnabled()) {
+            log.debug("Game store cache: {}", getStats());
+        }
+    }
+
+    /**
+     * The entry stays dirty until the delegate wrote it, so it is never evicted and reloaded from the delegate while
+     * its movements are being written, and a failed write is retried by the next flush
+     */
+    private void flush(String gameId) {
+        // The game instance is shared with the requests, do not write it while a movement is being applied
+        Lock gameLock = gameLocks.getLock(gameId);
+        gameLock.lock();
+        try {
+            Entry entry;
+            int pendingMoves;
+            lock.lock();
+            try {
+                entry = entries.get(gameId);
+                if (entry == null || !entry.isDirty()) {
+                    return;
+                }
+                pendingMoves = entry.pendingMoves;
+            } finally {
+                lock.unlock();
+            }
+
+            try {
+                delegate.save(entry.game);
+                flushes.increment();
+            } catch (RuntimeException e) {
+                flushErrors.increment();
+                log.error("Error flushing game {}, it will be retried", gameId, e);
+                return;
+            }
+            lock.lock();
+            try {
+                entry.pendingMoves -= pendingMoves;
+            } finally {
+                lock.unlock();
+            }
+        } finally {
+            gameLock.unlock();
+        }
+    }
+
+    private void evictIdle() {
+        long now = System.nanoTime();
+        lock.lock();
+        try {
+            Iterator<Entry> iterator = entries.values().iterator();
+            while (iterator.hasNext()) {
+                Entry entry = iterator.next();
+                if (!entry.isDirty() && now - entry.lastAccess > idleTimeoutNanos) {
+                    iterator.remove();
+                    evictions.increment();
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Removes the least recently used flushed games while the cache is over its maximum size. Must hold the lock.
+     */
+    private void evictIfNeeded() {
+        int overflow = entries.size() - cacheConfig.getMaximumSize();
+        if (overflow <= 0) {
+            return;
+        }
+        Iterator<Entry> iterator = entries.values().iterator();
+        while (overflow > 0 && iterator.hasNext()) {
+            if (!iterator.next().isDirty()) {
+                iterator.remove();
+                evictions.increment();
+                overflow--;
+            }
+        }
+        if (overflow > 0) {
+            flusher.execute(this::flushPending);
+        }
+    }
+
+    private static class Entry {
+        private final Game game;
+        private int pendingMoves;
+        private long lastAccess;
+
+        Entry(Game game) {
+            this.game = game;
+        }
+
+        boolean isDirty() {
+            return pendingMoves > 0;
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package com.example.mancala.store;
+
+import com.example.mancala.engine.BoardMapper;
+import com.example.mancala.history.MoveHistory;
+import com.example.mancala.model.Game;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Stores nothing but the history of every game: its initial board and the movements appended by the game service.
+ * Games are rebuilt from their latest snapshot on load, so saving a game after a movement writes no rows at all.
+ */
+public class EventSourcedGameStore implements GameStore {
+
+    private final MoveHistory moveHistory;
+
+    public EventSourcedGameStore(MoveHistory moveHistory) {
+        this.moveHistory = moveHistory;
+    }
+
+    @Override
+    public Optional<Game> findById(String gameId) {
+        return moveHistory.rebuild(gameId)
+                .map(replay -> {
+                    Game game = BoardMapper.toGame(gameId, replay.getBoard());
+                    game.setMoves(replay.getMoves());
+                    game.setUpdatedAt(replay.getUpdatedAt());
+                    return game;
+                });
+    }
+
+    /**
+     * The creation and the movements of the game are already in its history
+     */
+    @Override
+    public Game save(Game game) {
+        return game;
+    }
+
+    @Override
+    public List<String> findExpiredIds(Instant finishedBefore, Instant idleBefore, int limit) {
+        return moveHistory.findExpiredIds(finishedBefore, idleBefore, limit);
+    }
+
+    /**
+     * A game is deleted with its history
+     */
+    @Override
+    public void deleteAll(List<String> gameIds) {
+        moveHistory.deleteAll(gameIds);
+    }
+}
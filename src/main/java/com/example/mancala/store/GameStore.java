@@ -0,0 +1,59 @@
+package com.example.mancala.store;
+
+import com.example.mancala.model.Game;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Storage used by the game service to load and persist games, independently of how the board is stored
+ */
+public interface GameStore {
+
+    Optional<Game> findById(String gameId);
+
+    Game save(Game game);
+
+    /**
+     * Saves new games at once, for storages able to write them in a single batch
+     */
+    default List<Game> saveAll(List<Game> games) {
+        List<Game> saved = new ArrayList<>(games.size());
+        for (Game game : games) {
+            saved.add(save(game));
+        }
+        return saved;
+    }
+
+    /**
+     * Finds games to expire, for storages supporting it
+     *
+     * @param finishedBefore finished games last updated before this time are expired
+     * @param idleBefore     games in progress last updated before this time are expired
+     * @return the ids of at most {@code limit} expired games, empty if the storage does not expire games
+     */
+    default List<String> findExpiredIds(Instant finishedBefore, Instant idleBefore, int limit) {
+        return List.of();
+    }
+
+    default List<Game> findAllById(List<String> gameIds) {
+        List<Game> games = new ArrayList<>(gameIds.size());
+        for (String gameId : gameIds) {
+            findById(gameId).ifPresent(games::add);
+        }
+        return games;
+    }
+
+    default void deleteAll(List<String> gameIds) {
+        throw new UnsupportedOperationException("Games can not be deleted from " + getClass().getSimpleName());
+    }
+
+    /**
+     * @return the number of games stored, -1 if the storage can not count them
+     */
+    default long count() {
+        return -1;
+    }
+}
@@ -0,0 +1,61 @@
+package com.example.mancala.store;
+
+import com.example.mancala.model.Game;
+import com.example.mancala.model.Turn;
+import com.example.mancala.repository.GameRepository;
+import org.springframework.data.domain.PageRequest;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Stores every game as a row plus one row per little pit. New games are inserted without being looked up first, so
+ * a list of them is written with batched inserts in a single transaction
+ */
+public class JpaGameStore implements GameStore {
+
+    private final GameRepository gameRepository;
+
+    public JpaGameStore(GameRepository gameRepository) {
+        this.gameRepository = gameRepository;
+    }
+
+    @Override
+    public Optional<Game> findById(String gameId) {
+        return gameRepository.findById(gameId);
+    }
+
+    @Override
+    public Game save(Game game) {
+        return gameRepository.save(game);
+    }
+
+    @Override
+    public List<Game> saveAll(List<Game> games) {
+        List<Game> saved = new ArrayList<>(games.size());
+        gameRepository.saveAll(games).forEach(saved::add);
+        return saved;
+    }
+
+    @Override
+    public List<String> findExpiredIds(Instant finishedBefore, Instant idleBefore, int limit) {
+        return gameRepository.findExpiredIds(Turn.GAME_OVER, finishedBefore, idleBefore, PageRequest.of(0, limit));
+    }
+
+    @Override
+    public List<Game> findAllById(List<String> gameIds) {
+        return gameRepository.findByIdIn(gameIds);
+    }
+
+    @Override
+    public void deleteAll(List<String> gameIds) {
+        gameRepository.deleteGames(gameIds);
+    }
+
+    @Override
+    public long count() {
+        return gameRepository.count();
+    }
+}
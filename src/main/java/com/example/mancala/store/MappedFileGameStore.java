@@ -0,0 +1,379 @@
+package com.example.mancala.store;
+
+import com.example.mancala.engine.Board;
+import com.example.mancala.engine.BoardCodec;
+import com.example.mancala.engine.BoardMapper;
+import com.example.mancala.model.Game;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.zip.CRC32C;
+
+/**
+ * Stores every game as a fixed-size record of a memory-mapped file, found through an in-memory index from game id to
+ * record number that is rebuilt by scanning the file on start. The file is mapped in segments, added as it grows.
+ * <p>
+ * Every record has two slots, and a save always writes the slot not holding the latest version. A slot is only valid
+ * if its checksum matches, so a save torn by a crash leaves the previous version of the game readable. Games returned
+ * by this store are detached objects rebuilt from the packed board, as with {@link PackedGameStore}.
+ * <p>
+ * Deleting a game clears both slots of its record, which is reused by the next new game before the file grows. The
+ * expired games are found in the index, which keeps the time of the last update and whether the game is over.
+ * <p>
+ * The slot layout is: checksum, version, id length, id, movements played, update time in milliseconds, board length and
+ * the packed board.
+ */
+@Slf4j
+public class MappedFileGameStore implements GameStore, AutoCloseable {
+
+    private static final int MAGIC = 0x4D4E434C;
+    private static final int FORMAT_VERSION = 2;
+    private static final int HEADER_SIZE = 16;
+    private static final int CHECKSUM_SIZE = Integer.BYTES;
+    private static final int FIXED_SLOT_SIZE = CHECKSUM_SIZE + Long.BYTES + Byte.BYTES + Integer.BYTES + Long.BYTES + Short.BYTES;
+    private static final int MAX_ID_LENGTH = 127;
+
+    private final FileChannel channel;
+    private final int slotSize;
+    private final int recordSize;
+    private final int segmentRecords;
+    private final boolean sync;
+
+    private final Map<String, Location> index = new ConcurrentHashMap<>();
+    private final List<MappedByteBuffer> segments = new CopyOnWriteArrayList<>();
+    private final ReentrantLock allocationLock = new ReentrantLock();
+    private final Deque<Integer> freeRecords = new ArrayDeque<>();
+    private int nextRecord;
+
+    /**
+     * @param slotSize       bytes of each of the two slots of a record, must hold the id and the packed board
+     * @param segmentRecords records mapped at once when the file grows
+     * @param sync           forces every save to the storage device, instead of leaving it to the operating system
+     */
+    public MappedFileGameStore(Path file, int slotSize, int segmentRecords, boolean sync) throws IOException {
+        if (slotSize <= FIXED_SLOT_SIZE || slotSize > Short.MAX_VALUE || (long) slotSize * 2 * segmentRecords > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Invalid slot size " + slotSize + " for segments of " + segmentRecords + " records");
+        }
+        this.slotSize = slotSize;
+        this.recordSize = slotSize * 2;
+        this.segmentRecords = segmentRecords;
+        this.sync = sync;
+        if (file.getParent() != null) {
+            Files.createDirectories(file.getParent());
+        }
+        this.channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        readHeader();
+        long segmentCount = (channel.size() - HEADER_SIZE + segmentSize() - 1) / segmentSize();
+        for (int segment = 0; segment < segmentCount; segment++) {
+            segments.add(mapSegment(segment));
+        }
+        scan();
+        log.info("Opened game file {} with {} games", file, index.size());
+    }
+
+    @Override
+    public Optional<Game> findById(String gameId) {
+        Location location = index.get(gameId);
+        if (location == null) {
+            return Optional.empty();
+        }
+        Slot slot = readLatest(location.record);
+        if (slot == null) {
+            return Optional.empty();
+        }
+        Game game = BoardMapper.toGame(gameId, BoardCodec.decode(slot.board));
+        game.setMoves(slot.moves);
+        game.setUpdatedAt(slot.updatedAt == 0 ? null : Instant.ofEpochMilli(slot.updatedAt));
+        return Optional.of(game);
+    }
+
+    /**
+     * Writes of the same game must not overlap, which the game service guarantees with the game locks
+     */
+    @Override
+    public Game save(Game game) {
+        Board board = BoardMapper.toBoard(game);
+        byte[] id = game.getId().getBytes(StandardCharsets.UTF_8);
+        byte[] packedBoard = BoardCodec.encode(board);
+        if (id.length > MAX_ID_LENGTH || FIXED_SLOT_SIZE + id.length + packedBoard.length > slotSize) {
+            throw new IllegalStateException("Game " + game.getId() + " does not fit in a slot of " + slotSize + " bytes");
+        }
+
+        Location location = index.get(game.getId());
+        if (location == null) {
+            location = allocate(game.getId());
+        }
+        long version = location.version + 1;
+        long updatedAt = game.getUpdatedAt() == null ? 0 : game.getUpdatedAt().toEpochMilli();
+        writeSlot(location.record, version, id, game.getMoves(), updatedAt, packedBoard);
+        location.version = version;
+        location.updatedAt = updatedAt;
+        location.finished = board.isGameOver();
+        return game;
+    }
+
+    @Override
+    public List<String> findExpiredIds(Instant finishedBefore, Instant idleBefore, int limit) {
+        long finishedBeforeMillis = finishedBefore.toEpochMilli();
+        long idleBeforeMillis = idleBefore.toEpochMilli();
+        List<String> expiredIds = new ArrayList<>();
+        for (Map.Entry<String, Location> entry : index.entrySet()) {
+            Location location = entry.getValue();
+            long updatedAt = location.updatedAt;
+            if (updatedAt != 0 && updatedAt < (location.finished ? finishedBeforeMillis : idleBeforeMillis)) {
+                expiredIds.add(entry.getKey());
+                if (expiredIds.size() == limit) {
+                    break;
+                }
+            }
+        }
+        return expiredIds;
+    }
+
+    /**
+     * Clears the records of the games and keeps them for the next new games. Like saves, deletes must not overlap the
+     * writes of the same games
+     */
+    @Override
+    public void deleteAll(List<String> gameIds) {
+        allocationLock.lock();
+        try {
+            for (String gameId : gameIds) {
+                Location location = index.remove(gameId);
+                if (location != null) {
+                    clearRecord(location.record);
+                    freeRecords.push(location.record);
+                }
+            }
+        } finally {
+            allocationLock.unlock();
+        }
+    }
+
+    /**
+     * Forces the pending changes to the storage device and closes the file
+     */
+    @Override
+    public void close() {
+        try {
+            segments.forEach(MappedByteBuffer::force);
+            channel.close();
+        } catch (IOException e) {
+            log.error("Unable to close the game file", e);
+        }
+    }
+
+    @Override
+    public long count() {
+        return index.size();
+    }
+
+    private Location allocate(String gameId) {
+        allocationLock.lock();
+        try {
+            Location existing = index.get(gameId);
+            if (existing != null) {
+                return existing;
+            }
+            Integer free = freeRecords.poll();
+            int record = free == null ? nextRecord : free;
+            if (free == null) {
+                if (record / segmentRecords >= segments.size()) {
+                    segments.add(mapSegment(segments.size()));
+                }
+                nextRecord++;
+            }
+            Location location = new Location(record, 0, 0, false);
+            index.put(gameId, location);
+            return location;
+        } finally {
+            allocationLock.unlock();
+        }
+    }
+
+    private void writeSlot(int record, long version, byte[] id, int moves, long updatedAt, byte[] packedBoard) {
+        ByteBuffer slot = ByteBuffer.allocate(FIXED_SLOT_SIZE + id.length + packedBoard.length);
+        slot.position(CHECKSUM_SIZE);
+        slot.putLong(version);
+        slot.put((byte) id.length);
+        slot.put(id);
+        slot.putInt(moves);
+        slot.putLong(updatedAt);
+        slot.putShort((short) packedBoard.length);
+        slot.put(packedBoard);
+        slot.putInt(0, checksum(slot.array(), slot.position()));
+
+        MappedByteBuffer segment = segments.get(record / segmentRecords);
+        int offset = slotOffset(record, version);
+        segment.put(offset, slot.array());
+        if (sync) {
+            segment.force(offset, slot.capacity());
+        }
+    }
+
+    /**
+     * Resets the version of both slots, so neither is valid when the file is scanned again
+     */
+    private void clearRecord(int record) {
+        MappedByteBuffer segment = segments.get(record / segmentRecords);
+        int offset = (record % segmentRecords) * recordSize;
+        segment.putLong(offset + CHECKSUM_SIZE, 0);
+        segment.putLong(offset + slotSize + CHECKSUM_SIZE, 0);
+        if (sync) {
+            segment.force(offset, recordSize);
+        }
+    }
+
+    /**
+     * @return the valid slot of the record with the highest version, null if none is valid
+     */
+    private Slot readLatest(int record) {
+        Slot first = readSlot(record, 0);
+        Slot second = readSlot(record, 1);
+        if (first == null || (second != null && second.version > first.version)) {
+            return second;
+        }
+        return first;
+    }
+
+    private Slot readSlot(int record, int slotNumber) {
+        MappedByteBuffer segment = segments.get(record / segmentRecords);
+        int offset = (record % segmentRecords) * recordSize + slotNumber * slotSize;
+        long version = segment.getLong(offset + CHECKSUM_SIZE);
+        if (version <= 0) {
+            return null;
+        }
+        int idLength = segment.get(offset + CHECKSUM_SIZE + Long.BYTES);
+        int boardLengthOffset = offset + CHECKSUM_SIZE + Long.BYTES + Byte.BYTES + idLength + Integer.BYTES + Long.BYTES;
+        if (idLength < 0 || boardLengthOffset + Short.BYTES > offset + slotSize) {
+            return null;
+        }
+        int boardLength = segment.getShort(boardLengthOffset);
+        int length = FIXED_SLOT_SIZE + idLength + boardLength;
+        if (boardLength < 0 || length > slotSize) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        segment.get(offset, bytes);
+        ByteBuffer slot = ByteBuffer.wrap(bytes);
+        if (slot.getInt() != checksum(bytes, length)) {
+            return null;
+        }
+        slot.getLong();
+        byte[] id = new byte[slot.get()];
+        slot.get(id);
+        int moves = slot.getInt();
+        long updatedAt = slot.getLong();
+        byte[] packedBoard = new byte[slot.getShort()];
+        slot.get(packedBoard);
+        return new Slot(new String(id, StandardCharsets.UTF_8), version, moves, updatedAt, packedBoard);
+    }
+
+    private void scan() {
+        int capacity = segments.size() * segmentRecords;
+        for (int record = 0; record < capacity; record++) {
+            Slot slot = readLatest(record);
+            if (slot != null) {
+                boolean finished = BoardCodec.decode(slot.board).isGameOver();
+                index.put(slot.gameId, new Location(record, slot.version, slot.updatedAt, finished));
+                nextRecord = record + 1;
+            }
+        }
+        for (int record = 0; record < nextRecord; record++) {
+            if (readLatest(record) == null) {
+                freeRecords.push(record);
+            }
+        }
+    }
+
+    private void readHeader() throws IOException {
+        ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+        if (channel.size() == 0) {
+            header.putInt(MAGIC).putInt(FORMAT_VERSION).putInt(slotSize).putInt(segmentRecords).flip();
+            channel.write(header, 0);
+            return;
+        }
+        channel.read(header, 0);
+        header.flip();
+        if (header.remaining() < HEADER_SIZE || header.getInt() != MAGIC || header.getInt() != FORMAT_VERSION) {
+            throw new IllegalStateException("Not a game file, or written by an unsupported version");
+        }
+        int fileSlotSize = header.getInt();
+        int fileSegmentRecords = header.getInt();
+        if (fileSlotSize != slotSize || fileSegmentRecords != segmentRecords) {
+            throw new IllegalStateException("Game file written with slots of " + fileSlotSize + " bytes and segments of "
+                    + fileSegmentRecords + " records, configured " + slotSize + " and " + segmentRecords);
+        }
+    }
+
+    private MappedByteBuffer mapSegment(int segment) {
+        try {
+            return channel.map(FileChannel.MapMode.READ_WRITE, HEADER_SIZE + (long) segment * segmentSize(), segmentSize());
+        } catch (IOException e) {
+            throw new IllegalStateException("Unable to map segment " + segment + " of the game file", e);
+        }
+    }
+
+    private long segmentSize() {
+        return (long) segmentRecords * recordSize;
+    }
+
+    private int slotOffset(int record, long version) {
+        return (record % segmentRecords) * recordSize + (int) (version & 1) * slotSize;
+    }
+
+    private static int checksum(byte[] slot, int length) {
+        CRC32C crc = new CRC32C();
+        crc.update(slot, CHECKSUM_SIZE, length - CHECKSUM_SIZE);
+        return (int) crc.getValue();
+    }
+
+    private static final class Location {
+
+        private final int record;
+        private volatile long version;
+        private volatile long updatedAt;
+        private volatile boolean finished;
+
+        private Location(int record, long version, long updatedAt, boolean finished) {
+            this.record = record;
+            this.version = version;
+            this.updatedAt = updatedAt;
+            this.finished = finished;
+        }
+    }
+
+    private static final class Slot {
+
+        private final String gameId;
+        private final long version;
+        private final int moves;
+        private final long updatedAt;
+        private final byte[] board;
+
+        private Slot(String gameId, long version, int moves, long updatedAt, byte[] board) {
+            this.gameId = gameId;
+            this.version = version;
+            this.moves = moves;
+            this.updatedAt = updatedAt;
+            this.board = board;
+        }
+    }
+}
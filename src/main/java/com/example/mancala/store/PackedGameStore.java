@@ -0,0 +1,93 @@
+package com.example.mancala.store;
+
+import com.example.mancala.engine.Board;
+import com.example.mancala.engine.BoardCodec;
+import com.example.mancala.engine.BoardMapper;
+import com.example.mancala.model.Game;
+import com.example.mancala.model.PackedGame;
+import com.example.mancala.model.Turn;
+import com.example.mancala.repository.PackedGameRepository;
+import org.springframework.data.domain.PageRequest;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Stores every game as a single row, with the board packed in one column. Games returned by this store are detached
+ * objects rebuilt from the packed board, so they keep the same shape for the REST clients.
+ */
+public class PackedGameStore implements GameStore {
+
+    private final PackedGameRepository packedGameRepository;
+
+    public PackedGameStore(PackedGameRepository packedGameRepository) {
+        this.packedGameRepository = packedGameRepository;
+    }
+
+    @Override
+    public Optional<Game> findById(String gameId) {
+        return packedGameRepository.findById(gameId).map(PackedGameStore::toGame);
+    }
+
+    @Override
+    public Game save(Game game) {
+        packedGameRepository.save(toPackedGame(game));
+        game.markPersisted();
+        return game;
+    }
+
+    @Override
+    public List<Game> saveAll(List<Game> games) {
+        List<PackedGame> packedGames = new ArrayList<>(games.size());
+        for (Game game : games) {
+            packedGames.add(toPackedGame(game));
+        }
+        packedGameRepository.saveAll(packedGames);
+        games.forEach(Game::markPersisted);
+        return games;
+    }
+
+    @Override
+    public List<String> findExpiredIds(Instant finishedBefore, Instant idleBefore, int limit) {
+        return packedGameRepository.findExpiredIds(finishedBefore, idleBefore, PageRequest.of(0, limit));
+    }
+
+    @Override
+    public List<Game> findAllById(List<String> gameIds) {
+        List<Game> games = new ArrayList<>(gameIds.size());
+        packedGameRepository.findAllById(gameIds).forEach(packedGame -> games.add(toGame(packedGame)));
+        return games;
+    }
+
+    @Override
+    public void deleteAll(List<String> gameIds) {
+        packedGameRepository.deleteGamesByIdIn(gameIds);
+    }
+
+    @Override
+    public long count() {
+        return packedGameRepository.count();
+    }
+
+    private static Game toGame(PackedGame packedGame) {
+        Game game = BoardMapper.toGame(packedGame.getId(), BoardCodec.decode(packedGame.getBoard()));
+        game.setMoves(packedGame.getMoves());
+        game.setUpdatedAt(packedGame.getUpdatedAt());
+        game.markPersisted();
+        return game;
+    }
+
+    /**
+     * The packed game of a game already written is marked as persisted, so it is updated without being looked up first
+     */
+    private static PackedGame toPackedGame(Game game) {
+        Board board = BoardMapper.toBoard(game);
+        PackedGame packedGame = new PackedGame(game.getId(), BoardCodec.encode(board), game.getMoves(), Turn.GAME_OVER.equals(game.getTurn()), game.getUpdatedAt());
+        if (!game.isNew()) {
+            packedGame.markPersisted();
+        }
+        return packedGame;
+    }
+}
@@ -3,13 +3,21 @@ package com.example.mancala.utils;
 import com.example.mancala.model.Turn;
 import lombok.experimental.UtilityClass;
 
-import java.util.Random;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.random.RandomGenerator;
 
 @UtilityClass
 public class GameUtils {
 
     public static Turn getRandomTurn() {
-        return Turn.values()[new Random().nextInt(Turn.values().length - 1)];
+        return getRandomTurn(ThreadLocalRandom.current());
+    }
+
+    /**
+     * Same as {@link #getRandomTurn()} with the given generator, so seeded runs always pick the same turns
+     */
+    public static Turn getRandomTurn(RandomGenerator random) {
+        return Turn.values()[random.nextInt(Turn.values().length - 1)];
     }
 
     public static Turn getOppositeTurn(Turn turn) {
@@ -0,0 +1,58 @@
+package com.example.mancala;
+
+import com.example.mancala.configuration.SecurityConfig;
+import com.example.mancala.controller.GameRestController;
+import com.example.mancala.controller.ReactiveGameRestController;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.reactive.AutoConfigureWebTestClient;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationContext;
+import org.springframework.security.web.server.SecurityWebFilterChain;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.security.test.web.reactive.server.SecurityMockServerConfigurers.csrf;
+
+@SpringBootTest(properties = {"spring.main.web-application-type=reactive", "custom.lifecycle.enabled=false"})
+@AutoConfigureWebTestClient
+class MancalaReactiveApplicationTests {
+
+    @Autowired
+    ApplicationContext context;
+
+    @Autowired
+    ReactiveGameRestController reactiveGameRestController;
+
+    @Autowired
+    WebTestClient webTestClient;
+
+    @Test
+    void contextLoads() {
+        assertThat(reactiveGameRestController).isNotNull();
+        assertThat(context.getBeansOfType(GameRestController.class)).isEmpty();
+        assertThat(context.getBeansOfType(SecurityConfig.class)).isEmpty();
+        assertThat(context.getBeansOfType(SecurityWebFilterChain.class)).hasSize(1);
+    }
+
+    @Test
+    void givenReactiveMode_whenStartGame_expectMovesOfNewGame() {
+        Map<?, ?> game = webTestClient.mutateWith(csrf())
+                .post().uri("/api/game")
+                .headers(headers -> headers.setBasicAuth("user", "password"))
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(Map.class)
+                .returnResult()
+                .getResponseBody();
+
+        webTestClient.get().uri("/api/game/" + game.get("id") + "/moves")
+                .headers(headers -> headers.setBasicAuth("user", "password"))
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.length()").isEqualTo(6);
+    }
+}
@@ -0,0 +1,123 @@
+package com.example.mancala;
+
+import com.example.mancala.service.GameService;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.servlet.context.ServletWebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Compares platform and virtual request threads under high concurrency on the game endpoints. Excluded from the default
+ * build, run it with {@code mvn -P load-test test}. Games are created through the service: the state changing
+ * endpoints require a CSRF token that plain HTTP clients do not have.
+ */
+@Tag("load")
+@Slf4j
+class ThreadModeLoadTest {
+
+    private static final int CONCURRENT_CLIENTS = 2_000;
+    private static final int REQUESTS_PER_CLIENT = 50;
+    private static final int GAMES = 100;
+    private static final String AUTHORIZATION = "Basic " + Base64.getEncoder().encodeToString("user:password".getBytes(StandardCharsets.UTF_8));
+
+    @Test
+    void comparePlatformAndVirtualThreads() throws Exception {
+        LoadResult platform = run(false);
+        LoadResult virtual = run(true);
+
+        log.info(String.format("%-10s %12s %10s %10s %8s", "threads", "requests/s", "p50 (ms)", "p99 (ms)", "errors"));
+        log.info(platform.format("platform"));
+        log.info(virtual.format("virtual"));
+
+        assertThat(platform.errors).isZero();
+        assertThat(virtual.errors).isZero();
+    }
+
+    private LoadResult run(boolean virtualThreads) throws Exception {
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(MancalaRestAPIApplication.class)
+                .properties("server.port=0", "custom.threads.virtual=" + virtualThreads, "logging.level.com.example.mancala.service=WARN")
+                .run()) {
+            int port = ((ServletWebServerApplicationContext) context).getWebServer().getPort();
+            GameService gameService = context.getBean(GameService.class);
+            List<URI> gameUris = new ArrayList<>();
+            for (int i = 0; i < GAMES; i++) {
+                gameUris.add(URI.create("http://localhost:" + port + "/api/game/" + gameService.createGame().getId()));
+            }
+
+            // Warm up the server before measuring
+            load(gameUris, CONCURRENT_CLIENTS / 10, REQUESTS_PER_CLIENT);
+            return load(gameUris, CONCURRENT_CLIENTS, REQUESTS_PER_CLIENT);
+        }
+    }
+
+    private LoadResult load(List<URI> gameUris, int clients, int requestsPerClient) throws InterruptedException {
+        long[] latencies = new long[clients * requestsPerClient];
+        AtomicInteger errors = new AtomicInteger();
+        long start = System.nanoTime();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            HttpClient httpClient = HttpClient.newBuilder().executor(executor).build();
+            for (int client = 0; client < clients; client++) {
+                int offset = client * requestsPerClient;
+                executor.execute(() -> {
+                    for (int request = 0; request < requestsPerClient; request++) {
+                        HttpRequest httpRequest = HttpRequest.newBuilder(gameUris.get((offset + request) % gameUris.size()))
+                                .header("Authorization", AUTHORIZATION)
+                                .GET()
+                                .build();
+                        long requestStart = System.nanoTime();
+                        try {
+                            HttpResponse<Void> response = httpClient.send(httpRequest, HttpResponse.BodyHandlers.discarding());
+                            if (response.statusCode() != 200) {
+                                errors.incrementAndGet();
+                            }
+                        } catch (Exception e) {
+                            errors.incrementAndGet();
+                        }
+                        latencies[offset + request] = System.nanoTime() - requestStart;
+                    }
+                });
+            }
+        }
+        long elapsed = System.nanoTime() - start;
+        Arrays.sort(latencies);
+        return new LoadResult(latencies.length * 1_000_000_000.0 / elapsed,
+                latencies[latencies.length / 2] / 1_000_000.0,
+                latencies[(int) (latencies.length * 0.99)] / 1_000_000.0,
+                errors.get());
+    }
+
+    private static class LoadResult {
+        private final double throughput;
+        private final double p50;
+        private final double p99;
+        private final int errors;
+
+        LoadResult(double throughput, double p50, double p99, int errors) {
+            this.throughput = throughput;
+            this.p50 = p50;
+            this.p99 = p99;
+            this.errors = errors;
+        }
+
+        String format(String label) {
+            return String.format("%-10s %12.0f %10.2f %10.2f %8d", label, throughput, p50, p99, errors);
+        }
+    }
+}
@@ -1,10 +1,22 @@
 package com.example.mancala.controller;
 
-import com.example.mancala.exception.*;
+import com.example.mancala.engine.Board;
+import com.example.mancala.exception.GameNotFoundException;
+import com.example.mancala.exception.InvalidGameCountException;
+import com.example.mancala.exception.InvalidVariantException;
+import com.example.mancala.model.BatchMoveResult;
 import com.example.mancala.model.Game;
+import com.example.mancala.model.MoveHint;
+import com.example.mancala.model.MoveHistoryPage;
+import com.example.mancala.model.MovePreview;
+import com.example.mancala.model.MoveRecord;
 import com.example.mancala.model.Pit;
+import com.example.mancala.model.RejectionReason;
 import com.example.mancala.model.Turn;
+import com.example.mancala.model.Variant;
 import com.example.mancala.service.GameService;
+import com.example.mancala.service.MoveOutcome;
+import com.example.mancala.service.MoveResult;
 import org.hamcrest.Matchers;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -16,15 +28,11 @@ import org.springframework.http.MediaType;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
 import org.springframework.test.web.servlet.MockMvc;
-import org.springframework.web.server.ResponseStatusException;
 
 import java.util.ArrayList;
 import java.util.List;
-import java.util.Objects;
 
 import static com.example.mancala.utils.TestConstants.*;
-import static org.junit.jupiter.api.Assertions.assertEquals;
-import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.Mockito.*;
 import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
 import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.httpBasic;
@@ -49,7 +57,7 @@ public class GameRestControllerTest {
                         .with(csrf()))
                 .andExpect(status().isUnauthorized());
 
-        verify(gameService, times(0)).createGame();
+        verify(gameService, times(0)).createGame(nullable(Variant.class));
     }
 
     @Test
@@ -60,7 +68,64 @@ public class GameRestControllerTest {
                         .with(csrf()))
                 .andExpect(status().isOk());
 
-        verify(gameService, times(1)).createGame();
+        verify(gameService, times(1)).createGame((Variant) isNull());
+    }
+
+    @Test
+    void givenVariant_whenStartGame_expectGameStartedWithVariant() throws Exception {
+        int pitsPerPlayer = 8;
+        Game game = new Game();
+        game.setId(GAME_ID);
+        game.setVariant(new Variant(pitsPerPlayer, INITIAL_STONES, false, true));
+        when(gameService.createGame(any(Variant.class))).thenReturn(game);
+
+        mockMvc.perform(post("/api/game")
+                        .with(httpBasic("user", "password"))
+                        .with(csrf())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"pitsPerPlayer\": " + pitsPerPlayer + ", \"capture\": false}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.variant.pitsPerPlayer").value(pitsPerPlayer))
+                .andExpect(jsonPath("$.variant.capture").value(false));
+
+        verify(gameService, times(1)).createGame(argThat((Variant variant) -> variant.getPitsPerPlayer() == pitsPerPlayer
+                && Boolean.FALSE.equals(variant.getCapture()) && variant.getStonesPerPit() == null));
+    }
+
+    @Test
+    void givenCount_whenStartGames_expectGameIds() throws Exception {
+        when(gameService.createGames(2, null)).thenReturn(List.of(GAME_ID + 1, GAME_ID + 2));
+
+        mockMvc.perform(post("/api/game/bulk?count=2")
+                        .with(httpBasic("user", "password"))
+                        .with(csrf()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(jsonPath("$[1]").value(GAME_ID + 2));
+    }
+
+    @Test
+    void givenTooManyGames_whenStartGames_expectStructuredError() throws Exception {
+        doThrow(new InvalidGameCountException()).when(gameService).createGames(anyInt(), nullable(Variant.class));
+
+        mockMvc.perform(post("/api/game/bulk?count=100000")
+                        .with(httpBasic("user", "password"))
+                        .with(csrf()))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.reason").value(RejectionReason.INVALID_GAME_COUNT.name()));
+    }
+
+    @Test
+    void givenInvalidVariant_whenStartGame_expectStructuredError() throws Exception {
+        doThrow(new InvalidVariantException()).when(gameService).createGame(any(Variant.class));
+
+        mockMvc.perform(post("/api/game")
+                        .with(httpBasic("user", "password"))
+                        .with(csrf())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"pitsPerPlayer\": 0}"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.reason").value(RejectionReason.INVALID_VARIANT.name()));
     }
 
     @Test
@@ -98,71 +163,220 @@ public class GameRestControllerTest {
 
     @Test
     void givenInitialStatus_whenSelectPit_expectMovement() throws Exception {
+        Game game = new Game();
+        game.setId(GAME_ID);
+        game.setTurn(Turn.PLAYER_TWO);
+        Board board = Board.initial(DEFAULT_PITS, INITIAL_STONES, Board.PLAYER_ONE);
+        when(gameService.tryMove(GAME_ID, POSITION_3)).thenReturn(MoveOutcome.applied(new MoveResult(game, board, board)));
+
         mockMvc.perform(put("/api/game/" + GAME_ID + "/selectPit/" + POSITION_3)
                         .with(httpBasic("user", "password"))
                         .with(csrf()))
-                .andExpect(status().isOk());
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.id").value(GAME_ID))
+                .andExpect(jsonPath("$.turn").value(Turn.PLAYER_TWO.name()));
+
+        verify(gameService, times(1)).tryMove(GAME_ID, POSITION_3);
+    }
+
+    @Test
+    void givenInitialStatus_whenSelectPitWithDeltaView_expectOnlyChangesReturned() throws Exception {
+        Board before = Board.initial(DEFAULT_PITS, INITIAL_STONES, Board.PLAYER_ONE);
+        Board after = before.copy();
+        after.move(POSITION_1);
+        when(gameService.tryMove(GAME_ID, POSITION_1)).thenReturn(MoveOutcome.applied(new MoveResult(new Game(), before, after)));
 
-        verify(gameService, times(1)).move(GAME_ID, POSITION_3);
+        mockMvc.perform(put("/api/game/" + GAME_ID + "/selectPit/" + POSITION_1)
+                        .param("view", "delta")
+                        .with(httpBasic("user", "password"))
+                        .with(csrf()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.pits", Matchers.hasSize(4)))
+                .andExpect(jsonPath("$.pits[0].position").value(POSITION_1))
+                .andExpect(jsonPath("$.pits[0].stones").value(EMPTY_STONES))
+                .andExpect(jsonPath("$.bigPitPlayerOne").value(ONE_STONE))
+                .andExpect(jsonPath("$.bigPitPlayerTwo").value(EMPTY_STONES))
+                .andExpect(jsonPath("$.turn").value(Turn.PLAYER_ONE.name()))
+                .andExpect(jsonPath("$.id").doesNotExist());
     }
 
     @Test
     void givenInitialStatus_whenGameNotFoundAndSelectPit_expectException() throws Exception {
-        doThrow(new GameNotFoundException()).when(gameService).move(GAME_ID, POSITION_3);
+        when(gameService.tryMove(GAME_ID, POSITION_3)).thenReturn(MoveOutcome.rejected(RejectionReason.GAME_NOT_FOUND));
 
         mockMvc.perform(put("/api/game/" + GAME_ID + "/selectPit/" + POSITION_3)
                         .with(httpBasic("user", "password"))
                         .with(csrf()))
                 .andExpect(status().isBadRequest())
-                .andExpect(result -> assertTrue(result.getResolvedException() instanceof ResponseStatusException))
-                .andExpect(result -> assertEquals("Game not started", ((ResponseStatusException) Objects.requireNonNull(result.getResolvedException())).getReason()));
+                .andExpect(jsonPath("$.reason").value(RejectionReason.GAME_NOT_FOUND.name()))
+                .andExpect(jsonPath("$.message").value("Game not started"));
     }
 
     @Test
     void givenInitialStatus_whenSelectInvalidPit_expectException() throws Exception {
-        doThrow(new BadPitSelectionException()).when(gameService).move(GAME_ID, POSITION_3);
+        when(gameService.tryMove(GAME_ID, POSITION_3)).thenReturn(MoveOutcome.rejected(RejectionReason.BAD_PIT));
 
         mockMvc.perform(put("/api/game/" + GAME_ID + "/selectPit/" + POSITION_3)
                         .with(httpBasic("user", "password"))
                         .with(csrf()))
                 .andExpect(status().isBadRequest())
-                .andExpect(result -> assertTrue(result.getResolvedException() instanceof ResponseStatusException))
-                .andExpect(result -> assertEquals("Bad pit selected", ((ResponseStatusException) Objects.requireNonNull(result.getResolvedException())).getReason()));
+                .andExpect(jsonPath("$.reason").value(RejectionReason.BAD_PIT.name()))
+                .andExpect(jsonPath("$.message").value("Bad pit selected"));
     }
 
     @Test
     void givenInitialStatus_whenWrongTurnAndSelectPit_expectException() throws Exception {
-        doThrow(new WrongPlayerTurnException()).when(gameService).move(GAME_ID, POSITION_3);
+        when(gameService.tryMove(GAME_ID, POSITION_3)).thenReturn(MoveOutcome.rejected(RejectionReason.WRONG_TURN));
 
         mockMvc.perform(put("/api/game/" + GAME_ID + "/selectPit/" + POSITION_3)
                         .with(httpBasic("user", "password"))
                         .with(csrf()))
                 .andExpect(status().isBadRequest())
-                .andExpect(result -> assertTrue(result.getResolvedException() instanceof ResponseStatusException))
-                .andExpect(result -> assertEquals("Wrong turn", ((ResponseStatusException) Objects.requireNonNull(result.getResolvedException())).getReason()));
+                .andExpect(jsonPath("$.reason").value(RejectionReason.WRONG_TURN.name()))
+                .andExpect(jsonPath("$.message").value("Wrong turn"));
     }
 
     @Test
     void givenInitialStatus_whenInvalidMove_expectException() throws Exception {
-        doThrow(new InvalidMovementException()).when(gameService).move(GAME_ID, POSITION_3);
+        when(gameService.tryMove(GAME_ID, POSITION_3)).thenReturn(MoveOutcome.rejected(RejectionReason.EMPTY_PIT));
 
         mockMvc.perform(put("/api/game/" + GAME_ID + "/selectPit/" + POSITION_3)
                         .with(httpBasic("user", "password"))
                         .with(csrf()))
                 .andExpect(status().isBadRequest())
-                .andExpect(result -> assertTrue(result.getResolvedException() instanceof ResponseStatusException))
-                .andExpect(result -> assertEquals("Invalid movement, pit is empty", ((ResponseStatusException) Objects.requireNonNull(result.getResolvedException())).getReason()));
+                .andExpect(jsonPath("$.reason").value(RejectionReason.EMPTY_PIT.name()))
+                .andExpect(jsonPath("$.message").value("Invalid movement, pit is empty"));
     }
 
     @Test
     void givenGameIsOver_whenSelectPit_expectException() throws Exception {
-        doThrow(new GameOverException()).when(gameService).move(GAME_ID, POSITION_3);
+        when(gameService.tryMove(GAME_ID, POSITION_3)).thenReturn(MoveOutcome.rejected(RejectionReason.GAME_OVER));
 
         mockMvc.perform(put("/api/game/" + GAME_ID + "/selectPit/" + POSITION_3)
                         .with(httpBasic("user", "password"))
                         .with(csrf()))
                 .andExpect(status().isBadRequest())
-                .andExpect(result -> assertTrue(result.getResolvedException() instanceof ResponseStatusException))
-                .andExpect(result -> assertEquals("Game is over", ((ResponseStatusException) Objects.requireNonNull(result.getResolvedException())).getReason()));
+                .andExpect(jsonPath("$.reason").value(RejectionReason.GAME_OVER.name()))
+                .andExpect(jsonPath("$.message").value("Game is over"));
+    }
+
+    @Test
+    void givenValidBatch_whenSelectPits_expectGameReturned() throws Exception {
+        Game game = new Game();
+        game.setId(GAME_ID);
+        game.setTurn(Turn.PLAYER_TWO);
+        when(gameService.moveAll(GAME_ID, List.of(POSITION_1, POSITION_3))).thenReturn(new BatchMoveResult(game, null, null));
+
+        mockMvc.perform(put("/api/game/" + GAME_ID + "/selectPits")
+                        .with(httpBasic("user", "password"))
+                        .with(csrf())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[" + POSITION_1 + "," + POSITION_3 + "]"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.game.id").value(GAME_ID))
+                .andExpect(jsonPath("$.game.turn").value(Turn.PLAYER_TWO.name()))
+                .andExpect(jsonPath("$.rejectedMove").doesNotExist());
+    }
+
+    @Test
+    void givenRejectedMovementInBatch_whenSelectPits_expectBadRequestWithIndex() throws Exception {
+        Game game = new Game();
+        game.setId(GAME_ID);
+        game.setTurn(Turn.PLAYER_ONE);
+        when(gameService.moveAll(GAME_ID, List.of(POSITION_1, POSITION_3))).thenReturn(new BatchMoveResult(game, 1, RejectionReason.WRONG_TURN));
+
+        mockMvc.perform(put("/api/game/" + GAME_ID + "/selectPits")
+                        .with(httpBasic("user", "password"))
+                        .with(csrf())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[" + POSITION_1 + "," + POSITION_3 + "]"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.rejectedMove").value(1))
+                .andExpect(jsonPath("$.reason").value(RejectionReason.WRONG_TURN.name()))
+                .andExpect(jsonPath("$.message").value("Wrong turn"));
+    }
+
+    @Test
+    void givenGameNotCreated_whenGetGame_expectStructuredError() throws Exception {
+        doThrow(new GameNotFoundException()).when(gameService).getGame(GAME_ID);
+
+        mockMvc.perform(get("/api/game/" + GAME_ID)
+                        .with(httpBasic("user", "password"))
+                        .with(csrf()))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.reason").value(RejectionReason.GAME_NOT_FOUND.name()))
+                .andExpect(jsonPath("$.message").value("Game not started"));
+    }
+
+    @Test
+    void givenPlayedGame_whenGetHistory_expectPageOfMovements() throws Exception {
+        when(gameService.getHistory(GAME_ID, 1, 10)).thenReturn(new MoveHistoryPage(GAME_ID, 1, 10, 11, List.of(new MoveRecord(GAME_ID, 11, POSITION_3, PLAYER_TWO_NUMBER, 0L, null))));
+
+        mockMvc.perform(get("/api/game/" + GAME_ID + "/history?page=1&size=10")
+                        .with(httpBasic("user", "password"))
+                        .with(csrf()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalMoves").value(11))
+                .andExpect(jsonPath("$.moves[0].sequence").value(11))
+                .andExpect(jsonPath("$.moves[0].pit").value(POSITION_3))
+                .andExpect(jsonPath("$.moves[0].gameId").doesNotExist());
+    }
+
+    @Test
+    void givenGameInProgress_whenHint_expectSuggestedPit() throws Exception {
+        when(gameService.getHint(GAME_ID)).thenReturn(new MoveHint(POSITION_3, Turn.PLAYER_ONE, 2, 10, 100000, false));
+
+        mockMvc.perform(get("/api/game/" + GAME_ID + "/hint")
+                        .with(httpBasic("user", "password")))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.pit").value(POSITION_3))
+                .andExpect(jsonPath("$.turn").value(Turn.PLAYER_ONE.name()))
+                .andExpect(jsonPath("$.depth").value(10));
+    }
+
+    @Test
+    void givenGameInProgress_whenMoves_expectPreviewOfEveryLegalPit() throws Exception {
+        when(gameService.getMoves(GAME_ID)).thenReturn(List.of(
+                new MovePreview(POSITION_1, false, true, false, List.of(0, 0, 1, 2, 0, 4), 4, 0, Turn.PLAYER_TWO),
+                new MovePreview(POSITION_3, true, false, false, List.of(1, 0, 0, 2, 3, 4), 1, 0, Turn.PLAYER_ONE)));
+
+        mockMvc.perform(get("/api/game/" + GAME_ID + "/moves")
+                        .with(httpBasic("user", "password")))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", Matchers.hasSize(2)))
+                .andExpect(jsonPath("$[0].pit").value(POSITION_1))
+                .andExpect(jsonPath("$[0].capture").value(true))
+                .andExpect(jsonPath("$[0].pits[4]").value(0))
+                .andExpect(jsonPath("$[1].extraTurn").value(true))
+                .andExpect(jsonPath("$[1].turn").value(Turn.PLAYER_ONE.name()));
+    }
+
+    @Test
+    void givenGameNotCreated_whenMoves_expectStructuredError() throws Exception {
+        when(gameService.getMoves(GAME_ID)).thenThrow(new GameNotFoundException());
+
+        mockMvc.perform(get("/api/game/" + GAME_ID + "/moves")
+                        .with(httpBasic("user", "password")))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.reason").value(RejectionReason.GAME_NOT_FOUND.name()));
+    }
+
+    @Test
+    void givenBotMode_whenSelectPit_expectMoveAgainstBot() throws Exception {
+        Game game = new Game();
+        game.setId(GAME_ID);
+        game.setTurn(Turn.PLAYER_ONE);
+        Board board = Board.initial(DEFAULT_PITS, INITIAL_STONES, Board.PLAYER_ONE);
+        when(gameService.tryMoveAgainstBot(GAME_ID, POSITION_1)).thenReturn(MoveOutcome.applied(new MoveResult(game, board, board)));
+
+        mockMvc.perform(put("/api/game/" + GAME_ID + "/selectPit/" + POSITION_1)
+                        .param("bot", "true")
+                        .with(httpBasic("user", "password"))
+                        .with(csrf()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.turn").value(Turn.PLAYER_ONE.name()));
+
+        verify(gameService, times(1)).tryMoveAgainstBot(GAME_ID, POSITION_1);
+        verify(gameService, never()).tryMove(anyString(), anyInt());
     }
 }
@@ -0,0 +1,169 @@
+package com.example.mancala.controller;
+
+import com.example.mancala.configuration.ReactiveSecurityConfig;
+import com.example.mancala.engine.Board;
+import com.example.mancala.event.GameEventBroadcaster;
+import com.example.mancala.exception.GameNotFoundException;
+import com.example.mancala.model.BatchMoveResult;
+import com.example.mancala.model.Game;
+import com.example.mancala.model.RejectionReason;
+import com.example.mancala.model.Turn;
+import com.example.mancala.model.Variant;
+import com.example.mancala.service.GameService;
+import com.example.mancala.service.MoveOutcome;
+import com.example.mancala.service.MoveResult;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.reactive.WebFluxTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.List;
+
+import static com.example.mancala.utils.TestConstants.*;
+import static org.mockito.Mockito.*;
+import static org.springframework.security.test.web.reactive.server.SecurityMockServerConfigurers.csrf;
+
+@WebFluxTest(controllers = ReactiveGameRestController.class)
+@Import(ReactiveSecurityConfig.class)
+public class ReactiveGameRestControllerTest {
+
+    @Autowired
+    private WebTestClient webTestClient;
+
+    @MockBean
+    private GameService gameService;
+
+    @MockBean
+    private GameEventBroadcaster gameEventBroadcaster;
+
+    @TestConfiguration
+    static class SchedulerConfig {
+
+        @Bean
+        Scheduler gameServiceScheduler() {
+            return Schedulers.immediate();
+        }
+    }
+
+    @Test
+    void givenWrongUser_whenStartGame_expectUnauthorized() {
+        webTestClient.mutateWith(csrf())
+                .post().uri("/api/game")
+                .headers(headers -> headers.setBasicAuth("wrong-user", "wrong-password"))
+                .exchange()
+                .expectStatus().isUnauthorized();
+
+        verifyNoInteractions(gameService);
+    }
+
+    @Test
+    void givenNoCredentials_whenGet_expectUnauthorized() {
+        webTestClient.get().uri("/api/game/" + GAME_ID)
+                .exchange()
+                .expectStatus().isUnauthorized();
+
+        verifyNoInteractions(gameService);
+    }
+
+    @Test
+    void givenNoCsrfToken_whenStartGame_expectForbidden() {
+        webTestClient.post().uri("/api/game")
+                .headers(headers -> headers.setBasicAuth("user", "password"))
+                .exchange()
+                .expectStatus().isForbidden();
+
+        verifyNoInteractions(gameService);
+    }
+
+    @Test
+    void givenVariant_whenStartGame_expectGameStartedWithVariant() throws Exception {
+        Game game = new Game();
+        game.setId(GAME_ID);
+        game.setTurn(Turn.PLAYER_ONE);
+        when(gameService.createGame(any(Variant.class))).thenReturn(game);
+
+        webTestClient.mutateWith(csrf())
+                .post().uri("/api/game")
+                .headers(headers -> headers.setBasicAuth("user", "password"))
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue("{\"pitsPerPlayer\": 8}")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.id").isEqualTo(GAME_ID)
+                .jsonPath("$.turn").isEqualTo(Turn.PLAYER_ONE.name());
+
+        verify(gameService, times(1)).createGame(argThat(variant -> variant.getPitsPerPlayer() == 8));
+    }
+
+    @Test
+    void givenInitialStatus_whenSelectPit_expectMovement() {
+        Game game = new Game();
+        game.setId(GAME_ID);
+        game.setTurn(Turn.PLAYER_TWO);
+        Board board = Board.initial(DEFAULT_PITS, INITIAL_STONES, Board.PLAYER_ONE);
+        when(gameService.tryMove(GAME_ID, POSITION_3)).thenReturn(MoveOutcome.applied(new MoveResult(game, board, board)));
+
+        webTestClient.mutateWith(csrf())
+                .put().uri("/api/game/" + GAME_ID + "/selectPit/" + POSITION_3)
+                .headers(headers -> headers.setBasicAuth("user", "password"))
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.id").isEqualTo(GAME_ID)
+                .jsonPath("$.turn").isEqualTo(Turn.PLAYER_TWO.name());
+
+        verify(gameService, times(1)).tryMove(GAME_ID, POSITION_3);
+    }
+
+    @Test
+    void givenWrongTurn_whenSelectPit_expectRejection() {
+        when(gameService.tryMove(GAME_ID, POSITION_3)).thenReturn(MoveOutcome.rejected(RejectionReason.WRONG_TURN));
+
+        webTestClient.mutateWith(csrf())
+                .put().uri("/api/game/" + GAME_ID + "/selectPit/" + POSITION_3)
+                .headers(headers -> headers.setBasicAuth("user", "password"))
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody()
+                .jsonPath("$.reason").isEqualTo(RejectionReason.WRONG_TURN.name())
+                .jsonPath("$.message").isEqualTo("Wrong turn");
+    }
+
+    @Test
+    void givenRejectedMovementInBatch_whenSelectPits_expectIndexOfRejectedMovement() throws Exception {
+        Game game = new Game();
+        game.setId(GAME_ID);
+        when(gameService.moveAll(GAME_ID, List.of(POSITION_1, POSITION_1))).thenReturn(new BatchMoveResult(game, 1, RejectionReason.WRONG_TURN));
+
+        webTestClient.mutateWith(csrf())
+                .put().uri("/api/game/" + GAME_ID + "/selectPits")
+                .headers(headers -> headers.setBasicAuth("user", "password"))
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(List.of(POSITION_1, POSITION_1))
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody()
+                .jsonPath("$.rejectedMove").isEqualTo(1)
+                .jsonPath("$.reason").isEqualTo(RejectionReason.WRONG_TURN.name());
+    }
+
+    @Test
+    void givenGameNotFound_whenGet_expectRejection() throws Exception {
+        when(gameService.getGame(GAME_ID)).thenThrow(new GameNotFoundException());
+
+        webTestClient.get().uri("/api/game/" + GAME_ID)
+                .headers(headers -> headers.setBasicAuth("user", "password"))
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody()
+                .jsonPath("$.reason").isEqualTo(RejectionReason.GAME_NOT_FOUND.name());
+    }
+}
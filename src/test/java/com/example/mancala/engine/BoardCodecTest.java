@@ -0,0 +1,57 @@
+package com.example.mancala.engine;
+
+import org.junit.jupiter.api.Test;
+
+import static com.example.mancala.utils.TestConstants.*;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+class BoardCodecTest {
+
+    @Test
+    void testEncodeDecode() {
+        Board board = Board.initial(DEFAULT_PITS, INITIAL_STONES, Board.PLAYER_TWO);
+        board.setStones(POSITION_3, 300);
+        board.setBigPit(Board.PLAYER_ONE, FIVE_STONES);
+        board.setBigPit(Board.PLAYER_TWO, 1000);
+
+        Board decoded = BoardCodec.decode(BoardCodec.encode(board));
+
+        assertEquals(DEFAULT_PITS, decoded.getPitsPerPlayer());
+        assertEquals(Board.PLAYER_TWO, decoded.getTurn());
+        for (int position = 1; position <= board.getTotalPits(); position++) {
+            assertEquals(board.getStones(position), decoded.getStones(position));
+        }
+        assertEquals(FIVE_STONES, decoded.getBigPit(Board.PLAYER_ONE));
+        assertEquals(1000, decoded.getBigPit(Board.PLAYER_TWO));
+    }
+
+    @Test
+    void testEncodeDecodeKeepsVariant() {
+        Board board = Board.initial(DEFAULT_PITS, 300, BoardRules.of(false, true), Board.PLAYER_ONE);
+
+        Board decoded = BoardCodec.decode(BoardCodec.encode(board));
+
+        assertSame(board.getRules(), decoded.getRules());
+        assertEquals(300, decoded.getStonesPerPit());
+    }
+
+    @Test
+    void testDecodeLegacyFormatWithStandardRules() {
+        // Version 1: 2 pits per player, player two's turn, little pits 1 2 3 4, big pits 5 and 6
+        byte[] legacy = {1, 2, 1, 1, 2, 3, 4, 5, 6};
+
+        Board decoded = BoardCodec.decode(legacy);
+
+        assertSame(BoardRules.STANDARD, decoded.getRules());
+        assertEquals(0, decoded.getStonesPerPit());
+        assertEquals(Board.PLAYER_TWO, decoded.getTurn());
+        assertEquals(4, decoded.getStones(4));
+        assertEquals(6, decoded.getBigPit(Board.PLAYER_TWO));
+    }
+
+    @Test
+    void testDefaultBoardSize() {
+        assertEquals(19, BoardCodec.encode(Board.initial(6, 6, Board.PLAYER_ONE)).length);
+    }
+}
@@ -0,0 +1,137 @@
+package com.example.mancala.engine;
+
+import org.junit.jupiter.api.Test;
+
+import static com.example.mancala.utils.TestConstants.*;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+class BoardTest {
+
+    @Test
+    void testMoveSowsFullLaps() {
+        Board board = Board.initial(DEFAULT_PITS, EMPTY_STONES, Board.PLAYER_ONE);
+        board.setStones(POSITION_1, 20);
+        board.setStones(DEFAULT_PITS * 2, ONE_STONE);
+
+        int flags = board.move(POSITION_1);
+
+        // 9 pits in the ring for player one: 2 full laps and 2 extra stones
+        assertEquals(2, board.getStones(POSITION_1));
+        assertEquals(3, board.getStones(2));
+        assertEquals(3, board.getStones(3));
+        assertEquals(2, board.getStones(4));
+        assertEquals(2, board.getBigPit(Board.PLAYER_ONE));
+        assertEquals(EMPTY_STONES, board.getBigPit(Board.PLAYER_TWO));
+        assertEquals(ONE_STONE + 2, board.getStones(DEFAULT_PITS * 2));
+        assertEquals(0, flags);
+        assertEquals(Board.PLAYER_TWO, board.getTurn());
+    }
+
+    @Test
+    void testMoveCapturesOppositePit() {
+        Board board = Board.initial(DEFAULT_PITS, INITIAL_STONES, Board.PLAYER_TWO);
+        board.setStones(5, ONE_STONE);
+        board.setStones(6, EMPTY_STONES);
+
+        int flags = board.move(5);
+
+        assertEquals(Board.CAPTURE, flags);
+        assertEquals(EMPTY_STONES, board.getStones(6));
+        assertEquals(EMPTY_STONES, board.getStones(3));
+        assertEquals(ONE_STONE + INITIAL_STONES, board.getBigPit(Board.PLAYER_TWO));
+        assertEquals(Board.PLAYER_ONE, board.getTurn());
+    }
+
+    @Test
+    void testMoveEndingInBigPitKeepsTurn() {
+        Board board = Board.initial(DEFAULT_PITS, INITIAL_STONES, Board.PLAYER_ONE);
+
+        int flags = board.move(POSITION_1);
+
+        assertEquals(Board.EXTRA_TURN, flags);
+        assertEquals(ONE_STONE, board.getBigPit(Board.PLAYER_ONE));
+        assertEquals(Board.PLAYER_ONE, board.getTurn());
+    }
+
+    @Test
+    void testEmptyCaptureRuleSkipsCaptureOfEmptyOppositePit() {
+        Board board = Board.initial(DEFAULT_PITS, INITIAL_STONES, BoardRules.of(true, false), Board.PLAYER_ONE);
+        board.setStones(POSITION_1, ONE_STONE);
+        board.setStones(2, EMPTY_STONES);
+        board.setStones(DEFAULT_PITS * 2 - 1, EMPTY_STONES);
+
+        int flags = board.move(POSITION_1);
+
+        assertEquals(0, flags);
+        assertEquals(ONE_STONE, board.getStones(2));
+        assertEquals(EMPTY_STONES, board.getBigPit(Board.PLAYER_ONE));
+    }
+
+    @Test
+    void testCopyKeepsVariant() {
+        Board board = Board.initial(DEFAULT_PITS, INITIAL_STONES, BoardRules.of(false, false), Board.PLAYER_ONE);
+
+        Board copy = board.copy();
+
+        assertSame(board.getRules(), copy.getRules());
+        assertEquals(INITIAL_STONES, copy.getStonesPerPit());
+    }
+
+    @Test
+    void testUnmakeRestoresFullLapsAndCapture() {
+        Board board = Board.initial(DEFAULT_PITS, INITIAL_STONES, Board.PLAYER_ONE);
+        // One full lap of the ring (every pit but the big pit of the other player) ends in the emptied pit, which
+        // captures the opposite one
+        board.setStones(POSITION_1, DEFAULT_PITS * 2 + 1);
+        Board before = board.copy();
+
+        long undo = board.make(POSITION_1);
+        assertEquals(Board.CAPTURE, Board.flags(undo));
+        board.unmake(POSITION_1, undo);
+
+        assertEquals(before.hash(), board.hash());
+        assertEquals(Board.PLAYER_ONE, board.getTurn());
+    }
+
+    @Test
+    void testMakeLeavesStonesOfFinishedGameOnTheirSide() {
+        Board board = Board.initial(DEFAULT_PITS, EMPTY_STONES, Board.PLAYER_ONE);
+        board.setStones(DEFAULT_PITS, ONE_STONE);
+        board.setStones(DEFAULT_PITS * 2, INITIAL_STONES);
+        Board moved = board.copy();
+
+        long undo = board.make(DEFAULT_PITS);
+        int flags = moved.move(DEFAULT_PITS);
+
+        assertEquals(flags, Board.flags(undo));
+        assertEquals(Board.EXTRA_TURN | Board.FINISHED, flags);
+        assertEquals(INITIAL_STONES, board.getStones(DEFAULT_PITS * 2));
+        assertEquals(EMPTY_STONES, moved.getStones(DEFAULT_PITS * 2));
+        assertEquals(moved.getBigPit(Board.PLAYER_TWO), board.getScore(Board.PLAYER_TWO));
+        assertEquals(moved.getBigPit(Board.PLAYER_ONE), board.getScore(Board.PLAYER_ONE));
+    }
+
+    @Test
+    void testZobristKeyOfSamePositionReachedInAnotherOrder() {
+        Board board = Board.initial(DEFAULT_PITS, INITIAL_STONES, Board.PLAYER_ONE);
+        Board transposed = board.copy();
+        board.setStones(POSITION_1, 100);
+        board.setStones(2, ONE_STONE);
+        transposed.setStones(2, ONE_STONE);
+        transposed.setStones(POSITION_1, 100);
+
+        assertEquals(board.zobristKey(), transposed.zobristKey());
+        transposed.setTurn(Board.PLAYER_TWO);
+        assertNotEquals(board.zobristKey(), transposed.zobristKey());
+    }
+
+    @Test
+    void testZobristKeyDependsOnRules() {
+        Board standard = Board.initial(DEFAULT_PITS, INITIAL_STONES, Board.PLAYER_ONE);
+        Board withoutCapture = Board.initial(DEFAULT_PITS, INITIAL_STONES, BoardRules.of(false, false), Board.PLAYER_ONE);
+
+        assertNotEquals(standard.zobristKey(), withoutCapture.zobristKey());
+    }
+}
@@ -0,0 +1,43 @@
+package com.example.mancala.engine;
+
+import org.junit.jupiter.api.Test;
+
+import static com.example.mancala.utils.TestConstants.DEFAULT_PITS;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+class BoardTopologyTest {
+
+    @Test
+    void testTopologyIsSharedPerSize() {
+        assertSame(BoardTopology.of(DEFAULT_PITS), BoardTopology.of(DEFAULT_PITS));
+        assertSame(BoardTopology.of(DEFAULT_PITS), new Board(DEFAULT_PITS).copy().getTopology());
+    }
+
+    @Test
+    void testNextCellSkipsTheOtherBigPit() {
+        BoardTopology topology = BoardTopology.of(DEFAULT_PITS);
+        int bigPitOne = topology.bigPit(Board.PLAYER_ONE);
+        int bigPitTwo = topology.bigPit(Board.PLAYER_TWO);
+
+        assertEquals(bigPitOne, topology.next(Board.PLAYER_ONE, bigPitOne - 1));
+        assertEquals(0, topology.next(Board.PLAYER_ONE, bigPitTwo - 1));
+        assertEquals(bigPitOne + 1, topology.next(Board.PLAYER_TWO, bigPitOne - 1));
+        assertEquals(bigPitTwo, topology.next(Board.PLAYER_TWO, bigPitTwo - 1));
+        assertEquals(0, topology.next(Board.PLAYER_TWO, bigPitTwo));
+    }
+
+    @Test
+    void testOppositeAndOwnerTables() {
+        BoardTopology topology = BoardTopology.of(DEFAULT_PITS);
+
+        for (int position = 1; position <= DEFAULT_PITS * 2; position++) {
+            int cell = topology.cellOf(position);
+            int oppositeCell = topology.cellOf(DEFAULT_PITS * 2 + 1 - position);
+            assertEquals(oppositeCell, topology.opposite(cell));
+            assertEquals(position <= DEFAULT_PITS ? Board.PLAYER_ONE : Board.PLAYER_TWO, topology.owner(cell));
+        }
+        assertEquals(-1, topology.owner(topology.bigPit(Board.PLAYER_ONE)));
+        assertEquals(-1, topology.opposite(topology.bigPit(Board.PLAYER_TWO)));
+    }
+}
@@ -0,0 +1,229 @@
+package com.example.mancala.event;
+
+import com.example.mancala.configuration.EventsConfig;
+import com.example.mancala.engine.Board;
+import com.example.mancala.exception.TooManySubscribersException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+import static com.example.mancala.utils.TestConstants.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+class GameEventBroadcasterTest {
+
+    private EventsConfig eventsConfig;
+    private GameEventBroadcaster broadcaster;
+    private final List<RecordingEmitter> emitters = new CopyOnWriteArrayList<>();
+    private final CountDownLatch sendAllowed = new CountDownLatch(1);
+
+    @BeforeEach
+    void init() {
+        eventsConfig = new EventsConfig();
+        eventsConfig.setMaxSubscribers(2);
+        eventsConfig.setMaxPendingEvents(2);
+        eventsConfig.setDispatcherThreads(1);
+        broadcaster = new GameEventBroadcaster(eventsConfig) {
+            @Override
+            SseEmitter createEmitter(long timeout) {
+                RecordingEmitter emitter = new RecordingEmitter(sendAllowed);
+                emitters.add(emitter);
+                return emitter;
+            }
+        };
+    }
+
+    @AfterEach
+    void shutdown() {
+        sendAllowed.countDown();
+        broadcaster.shutdown();
+    }
+
+    @Test
+    void givenSubscriber_whenGameMoved_expectMoveEventSent() throws Exception {
+        sendAllowed.countDown();
+        broadcaster.subscribe(GAME_ID);
+        broadcaster.subscribe("other-game");
+
+        broadcaster.onGameMoved(createEvent(GAME_ID));
+
+        assertEquals(List.of(GameEventBroadcaster.MOVE_EVENT), emitters.get(0).awaitEvents(1));
+        assertTrue(emitters.get(1).getEvents().isEmpty());
+    }
+
+    @Test
+    void givenSubscriberLimitReached_whenSubscribe_expectTooManySubscribersException() throws Exception {
+        broadcaster.subscribe(GAME_ID);
+        broadcaster.subscribe(GAME_ID);
+
+        assertThrows(TooManySubscribersException.class, () -> broadcaster.subscribe(GAME_ID));
+        assertEquals(2, broadcaster.getSubscriberCount());
+    }
+
+    @Test
+    void givenSlowSubscriber_whenManyMovements_expectPendingEventsReplacedByState() throws Exception {
+        broadcaster.subscribe(GAME_ID);
+
+        // The first event blocks the dispatcher until the latch is released, the rest overflow the queue
+        broadcaster.onGameMoved(createEvent(GAME_ID));
+        assertTrue(emitters.get(0).sendStarted.await(5, TimeUnit.SECONDS));
+        for (int i = 0; i < eventsConfig.getMaxPendingEvents() + 2; i++) {
+            broadcaster.onGameMoved(createEvent(GAME_ID));
+        }
+        sendAllowed.countDown();
+
+        assertEquals(List.of(GameEventBroadcaster.MOVE_EVENT, GameEventBroadcaster.STATE_EVENT), emitters.get(0).awaitEvents(2));
+    }
+
+    @Test
+    void givenLastSubscriberLeavingConcurrently_whenSubscribe_expectEventsReceived() throws Exception {
+        eventsConfig.setMaxSubscribers(10);
+        AtomicBoolean running = new AtomicBoolean(true);
+        Thread churn = new Thread(() -> {
+            while (running.get()) {
+                try {
+                    broadcaster.subscribe(GAME_ID, new LatchSink()).cancel();
+                } catch (TooManySubscribersException e) {
+                    // Not reached with this limit
+                }
+            }
+        });
+        churn.start();
+        try {
+            for (int i = 0; i < 1000; i++) {
+                LatchSink sink = new LatchSink();
+                GameEventSubscription subscription = broadcaster.subscribe(GAME_ID, sink);
+                broadcaster.onGameMoved(createEvent(GAME_ID));
+
+                assertTrue(sink.received.await(5, TimeUnit.SECONDS), "Subscriber " + i + " received no event");
+                subscription.cancel();
+            }
+        } finally {
+            running.set(false);
+            churn.join();
+        }
+        assertEquals(0, broadcaster.getSubscriberCount());
+    }
+
+    @Test
+    void givenStalledSubscriber_whenGameMoved_expectOtherStreamsServedAndStalledSubscriberDropped() throws Exception {
+        eventsConfig.setSendTimeout(Duration.ofMillis(100));
+        StallingSink stalled = new StallingSink(sendAllowed);
+        LatchSink other = new LatchSink();
+        broadcaster.subscribe(GAME_ID, stalled);
+        broadcaster.subscribe("other-game", other);
+
+        // The only dispatcher thread kept is writing to the stalled subscriber
+        broadcaster.onGameMoved(createEvent(GAME_ID));
+        assertTrue(stalled.sendStarted.await(5, TimeUnit.SECONDS));
+        broadcaster.onGameMoved(createEvent("other-game"));
+        assertTrue(other.received.await(5, TimeUnit.SECONDS));
+
+        Thread.sleep(200);
+        broadcaster.onGameMoved(createEvent(GAME_ID));
+        assertEquals(1, broadcaster.getSubscriberCount());
+        sendAllowed.countDown();
+        assertTrue(stalled.completedWithError.await(5, TimeUnit.SECONDS));
+        assertEquals(1, stalled.sent.get());
+    }
+
+    private GameMovedEvent createEvent(String gameId) {
+        Board before = Board.initial(DEFAULT_PITS, INITIAL_STONES, Board.PLAYER_ONE);
+        Board after = before.copy();
+        after.move(POSITION_1);
+        return new GameMovedEvent(gameId, before, after);
+    }
+
+    private static class RecordingEmitter extends SseEmitter {
+        private final CountDownLatch sendAllowed;
+        private final CountDownLatch sendStarted = new CountDownLatch(1);
+        private final List<String> events = new CopyOnWriteArrayList<>();
+
+        RecordingEmitter(CountDownLatch sendAllowed) {
+            this.sendAllowed = sendAllowed;
+        }
+
+        @Override
+        public void send(SseEventBuilder builder) {
+            sendStarted.countDown();
+            try {
+                sendAllowed.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            String text = builder.build().stream().map(data -> String.valueOf(data.getData())).collect(Collectors.joining());
+            events.add(text.substring(text.indexOf("event:") + 6, text.indexOf('\n', text.indexOf("event:"))));
+        }
+
+        List<String> getEvents() {
+            return events;
+        }
+
+        List<String> awaitEvents(int count) throws InterruptedException {
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+            while (events.size() < count && System.nanoTime() < deadline) {
+                Thread.sleep(10);
+            }
+            Thread.sleep(50);
+            return events;
+        }
+    }
+
+    private static class StallingSink implements GameEventSink {
+        private final CountDownLatch sendAllowed;
+        private final CountDownLatch sendStarted = new CountDownLatch(1);
+        private final CountDownLatch completedWithError = new CountDownLatch(1);
+        private final AtomicInteger sent = new AtomicInteger();
+
+        StallingSink(CountDownLatch sendAllowed) {
+            this.sendAllowed = sendAllowed;
+        }
+
+        @Override
+        public void send(String name, Object data) {
+            sendStarted.countDown();
+            try {
+                sendAllowed.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            sent.incrementAndGet();
+        }
+
+        @Override
+        public void complete() {
+        }
+
+        @Override
+        public void completeWithError(Throwable error) {
+            completedWithError.countDown();
+        }
+    }
+
+    private static class LatchSink implements GameEventSink {
+        private final CountDownLatch received = new CountDownLatch(1);
+
+        @Override
+        public void send(String name, Object data) {
+            received.countDown();
+        }
+
+        @Override
+        public void complete() {
+        }
+
+        @Override
+        public void completeWithError(Throwable error) {
+        }
+    }
+}
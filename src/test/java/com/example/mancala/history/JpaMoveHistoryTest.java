@@ -0,0 +1,108 @@
+package com.example.mancala.history;
+
+import com.example.mancala.engine.Board;
+import com.example.mancala.engine.BoardCodec;
+import com.example.mancala.model.BoardSnapshot;
+import com.example.mancala.model.MoveRecord;
+import com.example.mancala.repository.BoardSnapshotRepository;
+import com.example.mancala.repository.MoveRecordRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+
+import static com.example.mancala.utils.TestConstants.*;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+public class JpaMoveHistoryTest {
+
+    private static final int SNAPSHOT_EVERY = 2;
+
+    private MoveRecordRepository moveRecordRepository;
+    private BoardSnapshotRepository boardSnapshotRepository;
+    private JpaMoveHistory moveHistory;
+
+    @BeforeEach
+    public void init() {
+        moveRecordRepository = mock(MoveRecordRepository.class);
+        boardSnapshotRepository = mock(BoardSnapshotRepository.class);
+        moveHistory = new JpaMoveHistory(moveRecordRepository, boardSnapshotRepository, SNAPSHOT_EVERY);
+    }
+
+    @Test
+    public void givenMovements_whenAppend_expectSnapshotOnlyWhenCrossingTheInterval() {
+        Board board = Board.initial(DEFAULT_PITS, INITIAL_STONES, Board.PLAYER_ONE);
+
+        moveHistory.append(GAME_ID, List.of(record(1, POSITION_1, 1, board)), board);
+        verify(boardSnapshotRepository, never()).save(any());
+
+        moveHistory.append(GAME_ID, List.of(record(2, POSITION_1, 1, board)), board);
+        verify(boardSnapshotRepository, times(1)).save(argThat((BoardSnapshot snapshot) -> snapshot.getSequence() == 2));
+
+        moveHistory.append(GAME_ID, List.of(record(3, POSITION_1, 1, board), record(4, POSITION_1, 1, board), record(5, POSITION_1, 1, board)), board);
+        verify(boardSnapshotRepository, times(1)).save(argThat((BoardSnapshot snapshot) -> snapshot.getSequence() == 5));
+    }
+
+    @Test
+    public void givenLastMovement_whenAppend_expectFinishedSnapshot() {
+        Board board = Board.initial(DEFAULT_PITS, INITIAL_STONES, Board.PLAYER_ONE);
+        board.setTurn(Board.GAME_OVER);
+        Instant playedAt = Instant.now();
+
+        moveHistory.append(GAME_ID, List.of(new MoveRecord(GAME_ID, 3, POSITION_1, 1, board.hash(), playedAt)), board);
+
+        verify(boardSnapshotRepository, times(1)).save(argThat((BoardSnapshot snapshot) ->
+                snapshot.getSequence() == 3 && snapshot.isFinished() && playedAt.equals(snapshot.getTakenAt())));
+    }
+
+    @Test
+    public void givenSnapshotAndLaterMovements_whenRebuild_expectReplayedBoard() {
+        Board board = Board.initial(DEFAULT_PITS, INITIAL_STONES, Board.PLAYER_ONE);
+        byte[] snapshot = BoardCodec.encode(board);
+        board.move(POSITION_1);
+        MoveRecord first = record(1, POSITION_1, 1, board);
+        board.move(2);
+        MoveRecord second = record(2, 2, 1, board);
+        when(boardSnapshotRepository.findFirstByGameIdOrderBySequenceDesc(GAME_ID)).thenReturn(Optional.of(new BoardSnapshot(GAME_ID, 0, snapshot, null, false)));
+        when(moveRecordRepository.findByGameIdAndSequenceGreaterThanOrderBySequenceAsc(GAME_ID, 0)).thenReturn(List.of(first, second));
+
+        Optional<Replay> rebuilt = moveHistory.rebuild(GAME_ID);
+
+        assertTrue(rebuilt.isPresent());
+        assertEquals(board.hash(), rebuilt.get().getBoard().hash());
+        assertEquals(board.getTurn(), rebuilt.get().getBoard().getTurn());
+        assertEquals(2, rebuilt.get().getMoves());
+        assertEquals(second.getPlayedAt(), rebuilt.get().getUpdatedAt());
+    }
+
+    @Test
+    public void givenTamperedMovement_whenRebuild_expectException() {
+        Board board = Board.initial(DEFAULT_PITS, INITIAL_STONES, Board.PLAYER_ONE);
+        byte[] snapshot = BoardCodec.encode(board);
+        board.move(POSITION_1);
+        MoveRecord tampered = record(1, 2, 1, board);
+        when(boardSnapshotRepository.findFirstByGameIdOrderBySequenceDesc(GAME_ID)).thenReturn(Optional.of(new BoardSnapshot(GAME_ID, 0, snapshot, null, false)));
+        when(moveRecordRepository.findByGameIdAndSequenceGreaterThanOrderBySequenceAsc(GAME_ID, 0)).thenReturn(List.of(tampered));
+
+        assertThrows(IllegalStateException.class, () -> moveHistory.rebuild(GAME_ID));
+    }
+
+    @Test
+    public void givenGameWithoutHistory_whenRebuild_expectEmpty() {
+        when(boardSnapshotRepository.findFirstByGameIdOrderBySequenceDesc(GAME_ID)).thenReturn(Optional.empty());
+
+        assertTrue(moveHistory.rebuild(GAME_ID).isEmpty());
+    }
+
+    @Test
+    public void givenNoMovementsBetweenSnapshots_whenCreate_expectException() {
+        assertThrows(IllegalArgumentException.class, () -> new JpaMoveHistory(moveRecordRepository, boardSnapshotRepository, 0));
+    }
+
+    private static MoveRecord record(int sequence, int pit, int player, Board after) {
+        return new MoveRecord(GAME_ID, sequence, pit, player, after.hash(), Instant.ofEpochSecond(sequence));
+    }
+}
@@ -0,0 +1,66 @@
+package com.example.mancala.id;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TimeOrderedIdGeneratorTest {
+
+    private static final long NOW = TimeOrderedIdGenerator.EPOCH_MILLIS + 86_400_000L;
+
+    @Test
+    public void givenSameMillisecond_whenNextId_expectUniqueAndSortedIds() {
+        TimeOrderedIdGenerator idGenerator = new TimeOrderedIdGenerator(7, () -> NOW);
+
+        List<String> ids = new ArrayList<>();
+        // More than the 4096 ids a millisecond holds, the rest borrow the following milliseconds
+        for (int i = 0; i < 10_000; i++) {
+            ids.add(idGenerator.nextId());
+        }
+
+        Set<String> unique = new HashSet<>(ids);
+        assertEquals(ids.size(), unique.size());
+        List<String> sorted = new ArrayList<>(ids);
+        sorted.sort(null);
+        assertEquals(ids, sorted);
+        assertTrue(ids.stream().allMatch(id -> id.length() == 13));
+    }
+
+    @Test
+    public void givenClockGoingBackwards_whenNextId_expectIdsStillIncreasing() {
+        AtomicLong clock = new AtomicLong(NOW);
+        TimeOrderedIdGenerator idGenerator = new TimeOrderedIdGenerator(0, clock::get);
+
+        String first = idGenerator.nextId();
+        clock.addAndGet(-1_000);
+        String second = idGenerator.nextId();
+        clock.addAndGet(5_000);
+        String third = idGenerator.nextId();
+
+        assertTrue(first.compareTo(second) < 0);
+        assertTrue(second.compareTo(third) < 0);
+    }
+
+    @Test
+    public void givenDifferentNodes_whenNextIdInSameMillisecond_expectDifferentIds() {
+        assertNotEquals(new TimeOrderedIdGenerator(1, () -> NOW).nextId(), new TimeOrderedIdGenerator(2, () -> NOW).nextId());
+    }
+
+    @Test
+    public void givenInvalidNode_whenCreated_expectException() {
+        assertThrows(IllegalArgumentException.class, () -> new TimeOrderedIdGenerator(TimeOrderedIdGenerator.MAX_NODE + 1));
+    }
+
+    @Test
+    public void givenKnownValue_whenEncode_expectCrockfordBase32() {
+        assertEquals("0000000000000", TimeOrderedIdGenerator.encode(0));
+        assertEquals("000000000000Z", TimeOrderedIdGenerator.encode(31));
+        assertEquals("0000000000010", TimeOrderedIdGenerator.encode(32));
+    }
+}
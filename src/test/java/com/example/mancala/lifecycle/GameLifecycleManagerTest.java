@@ -0,0 +1,140 @@
+package com.example.mancala.lifecycle;
+
+import com.example.mancala.concurrent.GameLocks;
+import com.example.mancala.configuration.LifecycleConfig;
+import com.example.mancala.engine.Board;
+import com.example.mancala.engine.BoardMapper;
+import com.example.mancala.history.MoveHistory;
+import com.example.mancala.model.Game;
+import com.example.mancala.model.Turn;
+import com.example.mancala.store.GameStore;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.locks.Lock;
+
+import static com.example.mancala.utils.TestConstants.*;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class GameLifecycleManagerTest {
+
+    private static final Instant NOW = Instant.parse("2024-01-01T12:00:00Z");
+    private static final String FINISHED_GAME = "finished-game";
+    private static final String IDLE_GAME = "idle-game";
+    private static final String ACTIVE_GAME = "active-game";
+
+    @TempDir
+    Path directory;
+
+    private GameStore gameStore;
+    private MoveHistory moveHistory;
+    private GameLocks gameLocks;
+    private LifecycleConfig lifecycleConfig;
+    private GameLifecycleManager lifecycleManager;
+
+    @BeforeEach
+    void init() {
+        gameStore = mock(GameStore.class);
+        moveHistory = mock(MoveHistory.class);
+        gameLocks = new GameLocks(16);
+        lifecycleConfig = new LifecycleConfig();
+        lifecycleConfig.setInterval(Duration.ofHours(1));
+        lifecycleConfig.setFinishedTtl(Duration.ofHours(1));
+        lifecycleConfig.setIdleTtl(Duration.ofDays(1));
+        lifecycleConfig.setBatchPause(Duration.ZERO);
+    }
+
+    @AfterEach
+    void close() {
+        if (lifecycleManager != null) {
+            lifecycleManager.close();
+        }
+    }
+
+    @Test
+    void givenExpiredGames_whenExpire_expectDeletedAndArchived() throws IOException {
+        Path archive = directory.resolve("archive.bin");
+        lifecycleManager = createManager(new GameArchive(archive));
+        List<String> candidates = List.of(FINISHED_GAME, IDLE_GAME, ACTIVE_GAME);
+        when(gameStore.findExpiredIds(NOW.minus(Duration.ofHours(1)), NOW.minus(Duration.ofDays(1)), lifecycleConfig.getBatchSize()))
+                .thenReturn(candidates, List.of());
+        // The active game was played after it was found as a candidate
+        when(gameStore.findAllById(candidates)).thenReturn(List.of(
+                createGame(FINISHED_GAME, Turn.GAME_OVER, NOW.minus(Duration.ofHours(2))),
+                createGame(IDLE_GAME, Turn.PLAYER_ONE, NOW.minus(Duration.ofDays(2))),
+                createGame(ACTIVE_GAME, Turn.PLAYER_TWO, NOW)));
+        when(gameStore.count()).thenReturn(1L);
+
+        lifecycleManager.expire();
+
+        verify(gameStore, times(1)).deleteAll(List.of(FINISHED_GAME, IDLE_GAME));
+        verify(moveHistory, times(1)).deleteAll(List.of(FINISHED_GAME, IDLE_GAME));
+        LifecycleStats stats = lifecycleManager.getStats();
+        assertEquals(1, stats.getExpiredFinished());
+        assertEquals(1, stats.getExpiredIdle());
+        assertEquals(1, stats.getArchived());
+        assertEquals(1, stats.getStoredGames());
+
+        lifecycleManager.close();
+        List<Game> archived = new ArrayList<>();
+        GameArchive.read(archive, archived::add);
+        assertEquals(1, archived.size());
+        assertEquals(FINISHED_GAME, archived.get(0).getId());
+        assertEquals(Turn.GAME_OVER, archived.get(0).getTurn());
+        assertEquals(NOW.minus(Duration.ofHours(2)), archived.get(0).getUpdatedAt());
+        assertEquals(DEFAULT_PITS * 2, archived.get(0).getPits().size());
+    }
+
+    @Test
+    void givenGameBeingPlayed_whenExpire_expectSkipped() throws InterruptedException {
+        lifecycleManager = createManager(null);
+        when(gameStore.findExpiredIds(any(), any(), anyInt())).thenReturn(List.of(IDLE_GAME));
+        CountDownLatch locked = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Thread player = new Thread(() -> {
+            Lock lock = gameLocks.getLock(IDLE_GAME);
+            lock.lock();
+            try {
+                locked.countDown();
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                lock.unlock();
+            }
+        });
+        player.start();
+        locked.await();
+
+        lifecycleManager.expire();
+        release.countDown();
+        player.join();
+
+        verify(gameStore, never()).findAllById(any());
+        verify(gameStore, never()).deleteAll(any());
+        assertEquals(0, lifecycleManager.getStats().getExpiredIdle());
+    }
+
+    private GameLifecycleManager createManager(GameArchive gameArchive) {
+        return new GameLifecycleManager(gameStore, moveHistory, gameLocks, lifecycleConfig, gameArchive, Clock.fixed(NOW, ZoneOffset.UTC));
+    }
+
+    private static Game createGame(String gameId, Turn turn, Instant updatedAt) {
+        Game game = BoardMapper.toGame(gameId, Board.initial(DEFAULT_PITS, INITIAL_STONES, Board.PLAYER_ONE));
+        game.setTurn(turn);
+        game.setUpdatedAt(updatedAt);
+        return game;
+    }
+}
@@ -0,0 +1,61 @@
+package com.example.mancala.metrics;
+
+import com.example.mancala.model.RejectionReason;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class GameMetricsTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final GameMetrics gameMetrics = new GameMetrics(registry);
+
+    @Test
+    public void givenRejections_whenRecorded_expectCountedByReason() {
+        gameMetrics.recordRejection(RejectionReason.WRONG_TURN);
+        gameMetrics.recordRejection(RejectionReason.WRONG_TURN);
+        gameMetrics.recordRejection(RejectionReason.GAME_OVER);
+
+        assertEquals(2, registry.get("mancala.game.rejections").tag("reason", "WRONG_TURN").counter().count());
+        assertEquals(1, registry.get("mancala.game.rejections").tag("reason", "GAME_OVER").counter().count());
+        assertEquals(0, registry.get("mancala.game.rejections").tag("reason", "EMPTY_PIT").counter().count());
+    }
+
+    @Test
+    public void givenPhases_whenRecorded_expectTimerPerPhase() {
+        gameMetrics.recordPhase(GameMetrics.MovePhase.SAVE, TimeUnit.MILLISECONDS.toNanos(5));
+
+        assertEquals(1, registry.get("mancala.game.move.phase").tag("phase", "save").timer().count());
+        assertEquals(0, registry.get("mancala.game.move.phase").tag("phase", "load").timer().count());
+    }
+
+    @Test
+    public void givenMovesInTwoGames_whenRecorded_expectTwoActiveGames() {
+        gameMetrics.recordMove("game-1", 1000);
+        gameMetrics.recordMove("game-1", 1000);
+        gameMetrics.recordMove("game-2", 1000);
+
+        assertEquals(2, registry.get("mancala.games.active").gauge().value());
+        assertEquals(3, registry.get("mancala.game.move").timer().count());
+    }
+
+    @Test
+    public void givenGamesStoppedMoving_whenOtherGameMoves_expectPrunedWithoutReadingTheGauge() {
+        AtomicLong now = new AtomicLong();
+        GameMetrics metrics = new GameMetrics(new SimpleMeterRegistry(), now::get);
+        for (int game = 0; game < 100; game++) {
+            metrics.recordMove("game-" + game, 1000);
+        }
+        assertEquals(100, metrics.trackedGames());
+
+        now.addAndGet(Duration.ofMinutes(6).toNanos());
+        metrics.recordMove("game-100", 1000);
+
+        assertEquals(1, metrics.trackedGames());
+    }
+}
@@ -2,9 +2,13 @@ package com.example.mancala.model;
 
 import org.junit.jupiter.api.Test;
 
+import java.util.List;
+
 import static com.example.mancala.utils.TestConstants.FIVE_STONES;
 import static com.example.mancala.utils.TestConstants.INITIAL_STONES;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
 
 class GameTest {
 
@@ -25,4 +29,27 @@ class GameTest {
         game.addStonesBigPitPlayerTwo(FIVE_STONES);
         assertEquals(INITIAL_STONES + FIVE_STONES, game.getBigPitPlayerTwo());
     }
-}
\ No newline at end of file
+
+    @Test
+    void testCopy() {
+        Game game = new Game();
+        game.setId("game");
+        game.setTurn(Turn.PLAYER_TWO);
+        game.setBigPitPlayerOne(FIVE_STONES);
+        game.setMoves(INITIAL_STONES);
+        game.setPits(List.of(new Pit("game-1", game, 1, 1, INITIAL_STONES), new Pit("game-2", game, 2, 2, FIVE_STONES)));
+
+        Game copy = game.copy();
+        game.getPit(1).setStones(0);
+        game.setBigPitPlayerOne(0);
+
+        assertNotSame(game.getPits(), copy.getPits());
+        assertEquals("game", copy.getId());
+        assertEquals(Turn.PLAYER_TWO, copy.getTurn());
+        assertEquals(FIVE_STONES, copy.getBigPitPlayerOne());
+        assertEquals(INITIAL_STONES, copy.getMoves());
+        assertEquals(INITIAL_STONES, copy.getPit(1).getStones());
+        assertEquals(FIVE_STONES, copy.getPit(2).getStones());
+        assertSame(copy, copy.getPit(2).getGame());
+    }
+}
@@ -0,0 +1,90 @@
+package com.example.mancala.search;
+
+import com.example.mancala.engine.Board;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Optional;
+
+import static com.example.mancala.utils.TestConstants.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class MoveSearchTest {
+
+    private final MoveSearch moveSearch = new MoveSearch(4, Duration.ofSeconds(5), 64);
+
+    @AfterEach
+    public void close() {
+        moveSearch.close();
+    }
+
+    @Test
+    public void givenCaptureOfEveryStone_whenSearch_expectCaptureWithExactScore() {
+        Board board = Board.initial(3, EMPTY_STONES, Board.PLAYER_ONE);
+        board.setStones(POSITION_1, ONE_STONE);
+        board.setStones(3, 2);
+        board.setStones(5, 9);
+
+        SearchResult result = moveSearch.search(board).orElseThrow();
+
+        // Pit 1 captures the 9 stones of pit 5 and leaves player two without stones to play
+        assertEquals(POSITION_1, result.getPit());
+        assertEquals(12, result.getScore());
+        assertTrue(result.isExact());
+    }
+
+    @Test
+    public void givenSmallBoard_whenSearchInParallelAndSequentially_expectSameScore() {
+        Board board = Board.initial(2, 3, Board.PLAYER_TWO);
+
+        try (MoveSearch sequential = new MoveSearch(1, Duration.ofSeconds(5), 64)) {
+            assertEquals(sequential.search(board).orElseThrow().getScore(), moveSearch.search(board).orElseThrow().getScore());
+        }
+    }
+
+    @Test
+    public void givenTranspositionTable_whenSearchTwice_expectSameScoreAndTableHits() {
+        Board board = Board.initial(2, 4, Board.PLAYER_ONE);
+        TranspositionTable table = new TranspositionTable(1 << 16);
+
+        try (MoveSearch withTable = new MoveSearch(4, Duration.ofSeconds(5), 64, table)) {
+            int expected = moveSearch.search(board).orElseThrow().getScore();
+            assertEquals(expected, withTable.search(board).orElseThrow().getScore());
+            assertEquals(expected, withTable.search(board).orElseThrow().getScore());
+        }
+        assertTrue(table.getStats().getHits() > 0);
+        assertTrue(table.getStats().getOccupancy() > 0);
+    }
+
+    @Test
+    public void givenDefaultBoard_whenSearch_expectBoardUnchangedAndMoveOfPlayerInTurn() {
+        Board board = Board.initial(DEFAULT_PITS, INITIAL_STONES, Board.PLAYER_TWO);
+        long hash = board.hash();
+
+        SearchResult result = moveSearch.search(board, Duration.ofMillis(20)).orElseThrow();
+
+        assertEquals(hash, board.hash());
+        assertEquals(Board.PLAYER_TWO, board.getOwner(result.getPit()));
+        assertTrue(result.getDepth() >= 1);
+        assertTrue(result.getNodes() > 0);
+    }
+
+    @Test
+    public void givenTimeBudget_whenSearchDefaultBoard_expectAnswerWithinBudget() {
+        Board board = Board.initial(DEFAULT_PITS, INITIAL_STONES, Board.PLAYER_ONE);
+
+        long start = System.nanoTime();
+        Optional<SearchResult> result = moveSearch.search(board, Duration.ofMillis(20));
+
+        assertTrue(result.isPresent());
+        assertTrue(Duration.ofNanos(System.nanoTime() - start).compareTo(Duration.ofSeconds(1)) < 0);
+    }
+
+    @Test
+    public void givenGameOver_whenSearch_expectEmpty() {
+        Board board = Board.initial(DEFAULT_PITS, INITIAL_STONES, Board.GAME_OVER);
+
+        assertTrue(moveSearch.search(board).isEmpty());
+    }
+}
@@ -0,0 +1,132 @@
+package com.example.mancala.search;
+
+import com.example.mancala.engine.Board;
+import com.example.mancala.engine.BoardRules;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Random;
+
+import static com.example.mancala.utils.TestConstants.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+class TablebaseTest {
+
+    private static final int PITS = 2;
+    private static final int MAX_STONES = 8;
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void givenIndex_whenSetAndIndexEveryPosition_expectSameIndex() {
+        TablebaseIndex index = new TablebaseIndex(3, 5);
+        Board board = new Board(3);
+
+        // Distributions of up to 5 stones over 6 pits
+        assertEquals(462, index.size());
+        for (int position = 0; position < index.size(); position++) {
+            index.set(position, board);
+            assertEquals(position, index.of(board));
+        }
+    }
+
+    @Test
+    void givenMirroredPosition_whenIndex_expectSameIndex() {
+        TablebaseIndex index = new TablebaseIndex(3, 5);
+        Board board = Board.initial(3, EMPTY_STONES, Board.PLAYER_ONE);
+        board.setStones(POSITION_1, 2);
+        board.setStones(6, 1);
+        Board mirrored = Board.initial(3, EMPTY_STONES, Board.PLAYER_TWO);
+        mirrored.setStones(4, 2);
+        mirrored.setStones(POSITION_3, 1);
+
+        assertEquals(index.of(board), index.of(mirrored));
+    }
+
+    @Test
+    void givenRandomPositions_whenProbe_expectScoreOfExactSearch() throws IOException {
+        Path file = directory.resolve("tablebase.bin");
+        TablebaseGenerator.generate(file, PITS, MAX_STONES, BoardRules.STANDARD);
+        Random random = new Random(7);
+
+        try (Tablebase tablebase = new Tablebase(file); MoveSearch moveSearch = new MoveSearch(1, Duration.ofSeconds(5), 64)) {
+            for (int i = 0; i < 100; i++) {
+                Board board = randomBoard(random);
+                if (board.isGameOver()) {
+                    continue;
+                }
+                int result = tablebase.probe(board);
+                int player = board.getTurn();
+                int score = board.getBigPit(player) - board.getBigPit(1 - player) + Tablebase.value(result);
+                SearchResult searchResult = moveSearch.search(board).orElse(null);
+
+                assertNotEquals(Tablebase.MISSING, result);
+                if (searchResult != null) {
+                    assertTrue(searchResult.isExact());
+                    assertEquals(searchResult.getScore(), score);
+                    assertEquals(player, board.getOwner(Tablebase.move(result)));
+                }
+            }
+        }
+    }
+
+    @Test
+    void givenTablebase_whenSearch_expectExactResultWithoutSearching() throws IOException {
+        Path file = directory.resolve("tablebase.bin");
+        TablebaseGenerator.generate(file, PITS, MAX_STONES, BoardRules.STANDARD);
+        Board board = Board.initial(PITS, 2, Board.PLAYER_TWO);
+
+        try (Tablebase tablebase = new Tablebase(file);
+             MoveSearch withTablebase = new MoveSearch(1, Duration.ofSeconds(5), 64, null, tablebase);
+             MoveSearch withoutTablebase = new MoveSearch(1, Duration.ofSeconds(5), 64)) {
+            SearchResult expected = withoutTablebase.search(board).orElseThrow();
+            SearchResult result = withTablebase.search(board).orElseThrow();
+
+            assertTrue(result.isExact());
+            assertEquals(expected.getScore(), result.getScore());
+            assertEquals(0, result.getNodes());
+        }
+    }
+
+    @Test
+    void givenPositionOutOfTablebase_whenProbe_expectMissing() throws IOException {
+        Path file = directory.resolve("tablebase.bin");
+        TablebaseGenerator.generate(file, PITS, MAX_STONES, BoardRules.STANDARD);
+
+        try (Tablebase tablebase = new Tablebase(file)) {
+            assertEquals(Tablebase.MISSING, tablebase.probe(Board.initial(PITS, 3, Board.PLAYER_ONE)));
+            assertEquals(Tablebase.MISSING, tablebase.probe(Board.initial(3, ONE_STONE, Board.PLAYER_ONE)));
+            assertEquals(Tablebase.MISSING, tablebase.probe(Board.initial(PITS, ONE_STONE, BoardRules.of(false, false), Board.PLAYER_ONE)));
+            assertEquals(Tablebase.MISSING, tablebase.probe(Board.initial(PITS, ONE_STONE, Board.GAME_OVER)));
+        }
+    }
+
+    @Test
+    void givenTruncatedFile_whenOpen_expectException() throws IOException {
+        Path file = directory.resolve("tablebase.bin");
+        TablebaseGenerator.generate(file, PITS, MAX_STONES, BoardRules.STANDARD);
+        byte[] content = Files.readAllBytes(file);
+        Files.write(file, Arrays.copyOf(content, content.length - 1));
+
+        assertThrows(IllegalStateException.class, () -> new Tablebase(file));
+    }
+
+    private static Board randomBoard(Random random) {
+        Board board = new Board(PITS);
+        int stones = random.nextInt(MAX_STONES + 1);
+        for (int stone = 0; stone < stones; stone++) {
+            int position = 1 + random.nextInt(PITS * 2);
+            board.setStones(position, board.getStones(position) + 1);
+        }
+        board.setBigPit(Board.PLAYER_ONE, random.nextInt(10));
+        board.setBigPit(Board.PLAYER_TWO, random.nextInt(10));
+        board.setTurn(random.nextInt(2));
+        return board;
+    }
+}
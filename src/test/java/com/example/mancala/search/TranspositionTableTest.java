@@ -0,0 +1,74 @@
+package com.example.mancala.search;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TranspositionTableTest {
+
+    private static final long KEY_A = 0x1234_5678_9ABC_DEF0L;
+    private static final long KEY_B = 0x0FED_CBA9_8765_4320L;
+    private static final long KEY_C = 0x1111_2222_3333_4440L;
+    private static final long KEY_D = 0x5555_6666_7777_8880L;
+
+    @Test
+    public void givenStoredPosition_whenProbe_expectPackedData() {
+        TranspositionTable table = new TranspositionTable(1 << 16);
+        int generation = table.newSearch();
+
+        table.store(KEY_A, generation, 7, TranspositionTable.LOWER, true, 12, -42);
+        long data = table.probe(KEY_A);
+
+        assertEquals(-42, TranspositionTable.score(data));
+        assertEquals(7, TranspositionTable.depth(data));
+        assertEquals(TranspositionTable.LOWER, TranspositionTable.bound(data));
+        assertTrue(TranspositionTable.isComplete(data));
+        assertEquals(12, TranspositionTable.move(data));
+        assertEquals(0, table.probe(KEY_B));
+    }
+
+    @Test
+    public void givenFullBucket_whenStoreShallowerPosition_expectDeepestKept() {
+        // A single bucket, every position competes for the same two entries
+        TranspositionTable table = new TranspositionTable(1);
+        int generation = table.newSearch();
+
+        table.store(KEY_A, generation, 10, TranspositionTable.EXACT, false, 1, 5);
+        table.store(KEY_B, generation, 3, TranspositionTable.EXACT, false, 2, 6);
+        table.store(KEY_C, generation, 4, TranspositionTable.EXACT, false, 3, 7);
+
+        assertNotEquals(0, table.probe(KEY_A));
+        assertEquals(0, table.probe(KEY_B));
+        assertNotEquals(0, table.probe(KEY_C));
+    }
+
+    @Test
+    public void givenEntriesOfPreviousSearch_whenStore_expectReplacedFirst() {
+        TranspositionTable table = new TranspositionTable(1);
+        int previous = table.newSearch();
+        table.store(KEY_A, previous, 10, TranspositionTable.EXACT, false, 1, 5);
+        table.store(KEY_B, previous, 3, TranspositionTable.EXACT, false, 2, 6);
+
+        int generation = table.newSearch();
+        table.store(KEY_C, generation, 5, TranspositionTable.EXACT, false, 3, 7);
+        table.store(KEY_D, generation, 1, TranspositionTable.EXACT, false, 4, 8);
+
+        assertEquals(0, table.probe(KEY_A));
+        assertNotEquals(0, table.probe(KEY_C));
+        assertNotEquals(0, table.probe(KEY_D));
+    }
+
+    @Test
+    public void givenProbes_whenGetStats_expectHitRateAndOccupancy() {
+        TranspositionTable table = new TranspositionTable(1 << 10);
+        table.store(KEY_A, table.newSearch(), 1, TranspositionTable.EXACT, false, 1, 0);
+
+        table.recordProbes(4, 1);
+        TranspositionStats stats = table.getStats();
+
+        assertEquals(64, stats.getCapacity());
+        assertEquals(0.25, stats.getHitRate());
+        assertEquals(1.0 / 64, stats.getOccupancy());
+        assertEquals(1, stats.getStores());
+    }
+}
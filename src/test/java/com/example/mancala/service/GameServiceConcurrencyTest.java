@@ -0,0 +1,135 @@
+package com.example.mancala.service;
+
+import com.example.mancala.concurrent.GameLocks;
+import com.example.mancala.configuration.GameConfig;
+import com.example.mancala.exception.GameOverException;
+import com.example.mancala.history.NoMoveHistory;
+import com.example.mancala.id.TimeOrderedIdGenerator;
+import com.example.mancala.metrics.GameMetrics;
+import com.example.mancala.model.Game;
+import com.example.mancala.model.Pit;
+import com.example.mancala.model.Turn;
+import com.example.mancala.search.MoveSearch;
+import com.example.mancala.store.GameStore;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.*;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Hammers the service from many threads against a store that shares the game instances between requests, as the
+ * in-memory cache does, and checks that no stone is created or lost
+ */
+class GameServiceConcurrencyTest {
+
+    private static final int PITS_PER_PLAYER = 6;
+    private static final int STONES_PER_PIT = 6;
+    private static final int TOTAL_STONES = PITS_PER_PLAYER * 2 * STONES_PER_PIT;
+    private static final int THREADS = 16;
+    private static final int ATTEMPTS_PER_THREAD = 2_000;
+
+    private GameService gameService;
+
+    @BeforeEach
+    void init() {
+        GameConfig gameConfig = mock(GameConfig.class);
+        when(gameConfig.getLittlePitsPerPlayer()).thenReturn(PITS_PER_PLAYER);
+        when(gameConfig.getInitialStonesPerPit()).thenReturn(STONES_PER_PIT);
+        gameService = new GameService(gameConfig, new InMemoryGameStore(), new GameLocks(64), event -> { }, new GameMetrics(new SimpleMeterRegistry()), new TimeOrderedIdGenerator(0), new NoMoveHistory(), new MoveSearch(1, Duration.ofMillis(10), 8));
+    }
+
+    @Test
+    void givenOneGame_whenManyThreadsMove_expectStonesConserved() throws Exception {
+        String gameId = gameService.createGame().getId();
+
+        runConcurrently(THREADS, thread -> playRandomly(gameId, ThreadLocalRandom.current()));
+
+        assertStonesConserved(gameService.getGame(gameId));
+    }
+
+    @Test
+    void givenManyGames_whenManyThreadsMove_expectStonesConserved() throws Exception {
+        List<String> gameIds = new ArrayList<>();
+        for (int i = 0; i < THREADS * 4; i++) {
+            gameIds.add(gameService.createGame().getId());
+        }
+
+        runConcurrently(THREADS * 4, thread -> playRandomly(gameIds.get(thread % gameIds.size()), ThreadLocalRandom.current()));
+
+        for (String gameId : gameIds) {
+            assertStonesConserved(gameService.getGame(gameId));
+        }
+    }
+
+    private void playRandomly(String gameId, ThreadLocalRandom random) {
+        for (int attempt = 0; attempt < ATTEMPTS_PER_THREAD; attempt++) {
+            try {
+                gameService.move(gameId, random.nextInt(1, PITS_PER_PLAYER * 2 + 1));
+            } catch (GameOverException e) {
+                return;
+            } catch (Exception e) {
+                // Wrong turn or empty pit, expected while the threads race for the same game
+            }
+        }
+    }
+
+    private void runConcurrently(int tasks, ThreadTask task) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            CountDownLatch start = new CountDownLatch(1);
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < tasks; i++) {
+                int thread = i;
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    task.run(thread);
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get(1, TimeUnit.MINUTES);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private void assertStonesConserved(Game game) {
+        int stones = game.getBigPitPlayerOne() + game.getBigPitPlayerTwo() + game.getPits().stream().mapToInt(Pit::getStones).sum();
+        assertEquals(TOTAL_STONES, stones, "Stones not conserved in game " + game.getId() + " (" + game.getTurn() + ")");
+        if (Turn.GAME_OVER.equals(game.getTurn())) {
+            assertEquals(0, game.getPits().stream().mapToInt(Pit::getStones).sum());
+        }
+    }
+
+    @FunctionalInterface
+    private interface ThreadTask {
+        void run(int thread);
+    }
+
+    private static class InMemoryGameStore implements GameStore {
+        private final Map<String, Game> games = new ConcurrentHashMap<>();
+
+        @Override
+        public Optional<Game> findById(String gameId) {
+            return Optional.ofNullable(games.get(gameId));
+        }
+
+        @Override
+        public Game save(Game game) {
+            games.put(game.getId(), game);
+            return game;
+        }
+    }
+}
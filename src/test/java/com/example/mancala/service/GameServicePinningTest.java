@@ -0,0 +1,130 @@
+package com.example.mancala.service;
+
+import com.example.mancala.concurrent.GameLocks;
+import com.example.mancala.configuration.CacheConfig;
+import com.example.mancala.configuration.GameConfig;
+import com.example.mancala.engine.Board;
+import com.example.mancala.history.NoMoveHistory;
+import com.example.mancala.id.TimeOrderedIdGenerator;
+import com.example.mancala.metrics.GameMetrics;
+import com.example.mancala.model.Game;
+import com.example.mancala.model.MoveRecord;
+import com.example.mancala.search.MoveSearch;
+import com.example.mancala.store.CachingGameStore;
+import com.example.mancala.store.GameStore;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jdk.jfr.consumer.RecordingStream;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Guards the virtual threads mode: movements contending for the same games through the cache must never pin the
+ * carrier threads, which would happen if game state were guarded by {@code synchronized}. A virtual thread is only
+ * reported as pinned when it parks while pinned, so every movement parks on the request thread inside the critical
+ * section, while recording its history
+ */
+class GameServicePinningTest {
+
+    private static final int GAMES = 8;
+    private static final int TASKS = 1_000;
+
+    @Test
+    void givenVirtualThreads_whenContendedMovements_expectNoPinnedThreads() throws Exception {
+        GameConfig gameConfig = mock(GameConfig.class);
+        when(gameConfig.getLittlePitsPerPlayer()).thenReturn(6);
+        when(gameConfig.getInitialStonesPerPit()).thenReturn(6);
+        CacheConfig cacheConfig = new CacheConfig();
+        cacheConfig.setFlushEveryMoves(5);
+        cacheConfig.setFlushInterval(Duration.ofMillis(10));
+        GameLocks gameLocks = new GameLocks(64);
+        CachingGameStore gameStore = new CachingGameStore(new SlowGameStore(), cacheConfig, gameLocks);
+        GameService gameService = new GameService(gameConfig, gameStore, gameLocks, event -> { }, new GameMetrics(new SimpleMeterRegistry()), new TimeOrderedIdGenerator(0), new SlowMoveHistory(), new MoveSearch(1, Duration.ofMillis(10), 8));
+
+        List<String> gameIds = new ArrayList<>();
+        for (int i = 0; i < GAMES; i++) {
+            gameIds.add(gameService.createGame().getId());
+        }
+
+        AtomicInteger pinnedEvents = new AtomicInteger();
+        try (RecordingStream recording = new RecordingStream();
+             ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            recording.enable("jdk.VirtualThreadPinned").withThreshold(Duration.ZERO);
+            recording.onEvent("jdk.VirtualThreadPinned", event -> pinnedEvents.incrementAndGet());
+            recording.startAsync();
+
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < TASKS; i++) {
+                String gameId = gameIds.get(i % GAMES);
+                futures.add(executor.submit(() -> {
+                    try {
+                        gameService.move(gameId, ThreadLocalRandom.current().nextInt(1, 13));
+                    } catch (Exception e) {
+                        // Rejected movements are expected, only the locking matters here
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get(1, TimeUnit.MINUTES);
+            }
+            recording.stop();
+        } finally {
+            gameStore.close();
+        }
+
+        assertEquals(0, pinnedEvents.get());
+    }
+
+    /**
+     * Blocks a little on every append, as a database would, while the request thread holds the game lock
+     */
+    private static class SlowMoveHistory extends NoMoveHistory {
+
+        @Override
+        public void append(String gameId, List<MoveRecord> moves, Board board) {
+            sleep();
+        }
+    }
+
+    /**
+     * Blocks a little on every write, as a database would, while the flusher holds the game lock
+     */
+    private static class SlowGameStore implements GameStore {
+        private final Map<String, Game> games = new ConcurrentHashMap<>();
+
+        @Override
+        public Optional<Game> findById(String gameId) {
+            return Optional.ofNullable(games.get(gameId));
+        }
+
+        @Override
+        public Game save(Game game) {
+            sleep();
+            games.put(game.getId(), game);
+            return game;
+        }
+    }
+
+    private static void sleep() {
+        try {
+            Thread.sleep(1);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -1,21 +1,43 @@
 package com.example.mancala.service;
 
+import com.example.mancala.concurrent.GameLocks;
 import com.example.mancala.configuration.GameConfig;
+import com.example.mancala.engine.Board;
 import com.example.mancala.exception.*;
+import com.example.mancala.history.MoveHistory;
+import com.example.mancala.id.IdGenerator;
+import com.example.mancala.metrics.GameMetrics;
+import com.example.mancala.model.BatchMoveResult;
 import com.example.mancala.model.Game;
+import com.example.mancala.model.MoveHint;
+import com.example.mancala.model.MoveHistoryPage;
+import com.example.mancala.model.MovePreview;
+import com.example.mancala.model.MoveRecord;
 import com.example.mancala.model.Pit;
+import com.example.mancala.model.RejectionReason;
 import com.example.mancala.model.Turn;
-import com.example.mancala.repository.GameRepository;
+import com.example.mancala.model.Variant;
+import com.example.mancala.search.MoveSearch;
+import com.example.mancala.store.GameStore;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
 
+import java.time.Duration;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantLock;
 
 import static com.example.mancala.utils.TestConstants.*;
 import static org.junit.jupiter.api.Assertions.*;
@@ -28,7 +50,25 @@ public class GameServiceTest {
     GameConfig gameConfig;
 
     @Mock
-    GameRepository gameRepository;
+    GameStore gameStore;
+
+    @Spy
+    GameLocks gameLocks = new GameLocks(16);
+
+    @Mock
+    ApplicationEventPublisher eventPublisher;
+
+    @Spy
+    GameMetrics gameMetrics = new GameMetrics(new SimpleMeterRegistry());
+
+    @Mock
+    IdGenerator idGenerator;
+
+    @Mock
+    MoveHistory moveHistory;
+
+    @Spy
+    MoveSearch moveSearch = new MoveSearch(1, Duration.ofMillis(20), 8);
 
     @InjectMocks
     GameService gameService;
@@ -44,11 +84,69 @@ public class GameServiceTest {
         Game game = new Game();
         game.setId(GAME_ID);
         game.setTurn(Turn.PLAYER_ONE);
-        when(gameRepository.save(any())).thenReturn(game);
+        when(gameStore.save(any())).thenReturn(game);
 
         gameService.createGame();
 
-        verify(gameRepository, times(1)).save(any());
+        verify(gameStore, times(1)).save(any());
+    }
+
+    @Test
+    public void givenGameNotCreated_whenCreateGame_expectPitsIdentifiedByGameAndPosition() {
+        when(idGenerator.nextId()).thenReturn(GAME_ID);
+        when(gameStore.save(any())).thenAnswer(invocation -> invocation.getArgument(0));
+
+        gameService.createGame();
+
+        ArgumentCaptor<Game> saved = ArgumentCaptor.forClass(Game.class);
+        verify(gameStore).save(saved.capture());
+        assertEquals(GAME_ID, saved.getValue().getId());
+        assertEquals(DEFAULT_PITS * 2, saved.getValue().getPits().size());
+        assertEquals(GAME_ID + "-1", saved.getValue().getPit(1).getId());
+        assertEquals(GAME_ID + "-" + DEFAULT_PITS * 2, saved.getValue().getPit(DEFAULT_PITS * 2).getId());
+        verify(idGenerator, times(1)).nextId();
+    }
+
+    @Test
+    public void givenPartialVariant_whenCreateGame_expectMissingFieldsFromConfiguration() throws InvalidVariantException {
+        when(gameStore.save(any())).thenAnswer(invocation -> invocation.getArgument(0));
+
+        Game game = gameService.createGame(new Variant(3, null, false, null));
+
+        assertEquals(3, game.getVariant().getPitsPerPlayer());
+        assertEquals(INITIAL_STONES, game.getVariant().getStonesPerPit());
+        assertFalse(game.getVariant().getCapture());
+        assertTrue(game.getVariant().getEmptyCapture());
+        assertEquals(6, game.getPits().size());
+        assertTrue(game.getPits().stream().allMatch(pit -> pit.getStones() == INITIAL_STONES));
+    }
+
+    @Test
+    public void givenInvalidVariant_whenCreateGame_expectInvalidVariantException() {
+        assertThrows(InvalidVariantException.class, () -> gameService.createGame(new Variant(0, null, null, null)));
+        assertThrows(InvalidVariantException.class, () -> gameService.createGame(new Variant(null, Variant.MAX_STONES_PER_PIT + 1, null, null)));
+        verify(gameStore, never()).save(any());
+    }
+
+    @Test
+    public void givenCount_whenCreateGames_expectSingleBatchOfGames() throws InvalidGameCountException, InvalidVariantException {
+        when(idGenerator.nextId()).thenReturn(GAME_ID + 1, GAME_ID + 2, GAME_ID + 3);
+        when(gameStore.saveAll(any())).thenAnswer(invocation -> invocation.getArgument(0));
+
+        List<String> gameIds = gameService.createGames(3, new Variant(3, null, null, null));
+
+        assertEquals(List.of(GAME_ID + 1, GAME_ID + 2, GAME_ID + 3), gameIds);
+        verify(gameStore, times(1)).saveAll(argThat(games -> games.size() == 3
+                && games.stream().allMatch(game -> game.getPits().size() == 6)));
+        verify(gameStore, never()).save(any());
+        verify(moveHistory, times(1)).startAll(argThat(boards -> boards.keySet().equals(Set.of(GAME_ID + 1, GAME_ID + 2, GAME_ID + 3))));
+    }
+
+    @Test
+    public void givenInvalidCount_whenCreateGames_expectInvalidGameCountException() {
+        assertThrows(InvalidGameCountException.class, () -> gameService.createGames(0, null));
+        assertThrows(InvalidGameCountException.class, () -> gameService.createGames(GameService.MAX_GAMES_PER_REQUEST + 1, null));
+        verify(gameStore, never()).saveAll(any());
     }
 
     @Test
@@ -56,23 +154,58 @@ public class GameServiceTest {
         Game game = new Game();
         game.setId(GAME_ID);
         game.setTurn(Turn.PLAYER_ONE);
-        when(gameRepository.findById(GAME_ID)).thenReturn(Optional.of(game));
+        when(gameStore.findById(GAME_ID)).thenReturn(Optional.of(game));
 
         Game result = gameService.getGame(GAME_ID);
         assertEquals(game.getId(), result.getId());
         assertEquals(game.getTurn(), result.getTurn());
     }
 
+    @Test
+    public void givenGameShared_whenGet_expectCopyReadUnderGameLock() throws GameNotFoundException {
+        Game game = initializeGame(Turn.PLAYER_ONE, INITIAL_STONES, INITIAL_STONES, INITIAL_STONES, INITIAL_STONES);
+        ReentrantLock lock = (ReentrantLock) gameLocks.getLock(GAME_ID);
+
+        doAnswer(invocation -> {
+            assertTrue(lock.isHeldByCurrentThread());
+            return Optional.of(game);
+        }).when(gameStore).findById(GAME_ID);
+
+        Game result = gameService.getGame(GAME_ID);
+        game.getPit(POSITION_1).setStones(EMPTY_STONES);
+        game.setTurn(Turn.PLAYER_TWO);
+
+        assertNotSame(game, result);
+        assertEquals(INITIAL_STONES, result.getPit(POSITION_1).getStones());
+        assertEquals(Turn.PLAYER_ONE, result.getTurn());
+        assertSame(result, result.getPit(POSITION_1).getGame());
+    }
+
+    @Test
+    public void givenGameShared_whenGetMovesAndHint_expectBoardReadUnderGameLock() throws GameNotFoundException, GameOverException {
+        Game game = initializeGame(Turn.PLAYER_ONE, INITIAL_STONES, INITIAL_STONES, INITIAL_STONES, INITIAL_STONES);
+        ReentrantLock lock = (ReentrantLock) gameLocks.getLock(GAME_ID);
+
+        doAnswer(invocation -> {
+            assertTrue(lock.isHeldByCurrentThread());
+            return Optional.of(game);
+        }).when(gameStore).findById(GAME_ID);
+
+        assertEquals(2, gameService.getMoves(GAME_ID).size());
+        assertEquals(Turn.PLAYER_ONE, gameService.getHint(GAME_ID).getTurn());
+        verify(gameStore, times(2)).findById(GAME_ID);
+    }
+
     @Test
     public void givenGameCreated_whenGetWrongGameId_expectNullValue() {
-        when(gameRepository.findById(GAME_ID)).thenReturn(Optional.empty());
+        when(gameStore.findById(GAME_ID)).thenReturn(Optional.empty());
 
         assertThrows(GameNotFoundException.class, () -> gameService.move(GAME_ID, POSITION_1));
     }
 
     @Test
     public void givenGameCreated_whenMoveWrongGameId_expectGameNotFoundException() {
-        when(gameRepository.findById(GAME_ID)).thenReturn(Optional.empty());
+        when(gameStore.findById(GAME_ID)).thenReturn(Optional.empty());
 
         assertThrows(GameNotFoundException.class, () -> gameService.move(GAME_ID, POSITION_1));
     }
@@ -81,7 +214,7 @@ public class GameServiceTest {
     public void givenGameOver_whenMove_expectGameOverException() {
         Game game = new Game();
         game.setTurn(Turn.GAME_OVER);
-        when(gameRepository.findById(GAME_ID)).thenReturn(Optional.of(game));
+        when(gameStore.findById(GAME_ID)).thenReturn(Optional.of(game));
 
         assertThrows(GameOverException.class, () -> gameService.move(GAME_ID, POSITION_1));
     }
@@ -94,7 +227,7 @@ public class GameServiceTest {
         littlePits.add(new Pit());
         littlePits.add(new Pit());
         game.setPits(littlePits);
-        when(gameRepository.findById(GAME_ID)).thenReturn(Optional.of(game));
+        when(gameStore.findById(GAME_ID)).thenReturn(Optional.of(game));
 
         assertThrows(BadPitSelectionException.class, () -> gameService.move(GAME_ID, -1));
         assertThrows(BadPitSelectionException.class, () -> gameService.move(GAME_ID, 0));
@@ -109,9 +242,10 @@ public class GameServiceTest {
         littlePits.add(new Pit());
         littlePits.add(new Pit());
         game.setPits(littlePits);
-        when(gameRepository.findById(GAME_ID)).thenReturn(Optional.of(game));
+        when(gameStore.findById(GAME_ID)).thenReturn(Optional.of(game));
 
         assertThrows(WrongPlayerTurnException.class, () -> gameService.move(GAME_ID, 2));
+        verify(gameMetrics, times(1)).recordRejection(RejectionReason.WRONG_TURN);
     }
 
     @Test
@@ -122,165 +256,453 @@ public class GameServiceTest {
         littlePits.add(new Pit());
         littlePits.add(new Pit());
         game.setPits(littlePits);
-        when(gameRepository.findById(GAME_ID)).thenReturn(Optional.of(game));
+        when(gameStore.findById(GAME_ID)).thenReturn(Optional.of(game));
 
         assertThrows(InvalidMovementException.class, () -> gameService.move(GAME_ID, POSITION_1));
     }
 
     @Test
     public void givenTurnPlayerOne_whenMove_expectStonesPicked() throws GameNotFoundException, WrongPlayerTurnException, InvalidMovementException, BadPitSelectionException, GameOverException {
-        Game game = initializeGame(Turn.PLAYER_ONE);
+        Game game = initializeGame(Turn.PLAYER_ONE, INITIAL_STONES, INITIAL_STONES, INITIAL_STONES, INITIAL_STONES);
 
-        Pit pit1 = initializePit(1, INITIAL_STONES, false);
-        Pit pit2 = initializePit(2, INITIAL_STONES, false);
-        Pit pit3 = initializePit(3, INITIAL_STONES, false);
-        Pit pit4 = initializePit(4, INITIAL_STONES, false);
-        List<Pit> littlePits = new ArrayList<>();
-        littlePits.add(pit1);
-        littlePits.add(pit2);
-        littlePits.add(pit3);
-        littlePits.add(pit4);
-        game.setPits(littlePits);
-
-        when(gameRepository.findById(GAME_ID)).thenReturn(Optional.of(game));
+        when(gameStore.findById(GAME_ID)).thenReturn(Optional.of(game));
 
         gameService.move(GAME_ID, POSITION_1);
 
-        verify(pit1, times(1)).pickStones();
-        verify(pit2, times(1)).sow();
-        verify(pit3, times(1)).sow();
-        verify(pit4, times(1)).sow();
-
-        verify(gameRepository, times(1)).save(any());
+        assertEquals(EMPTY_STONES, game.getPit(1).getStones());
+        assertEquals(INITIAL_STONES + ONE_STONE, game.getPit(2).getStones());
+        assertEquals(INITIAL_STONES + ONE_STONE, game.getPit(3).getStones());
+        assertEquals(INITIAL_STONES + ONE_STONE, game.getPit(4).getStones());
+        assertEquals(ONE_STONE, game.getBigPitPlayerOne());
+        assertEquals(EMPTY_STONES, game.getBigPitPlayerTwo());
+        assertEquals(Turn.PLAYER_TWO, game.getTurn());
+
+        verify(gameStore, times(1)).save(game);
+        verify(gameMetrics, times(1)).recordMove(eq(GAME_ID), anyLong());
+        assertEquals(1, game.getMoves());
+        assertNotNull(game.getUpdatedAt());
+        verify(moveHistory, times(1)).append(eq(GAME_ID), argThat(moves -> moves.size() == 1
+                && moves.get(0).getSequence() == 1 && moves.get(0).getPit() == POSITION_1 && moves.get(0).getPlayer() == 1), any());
     }
 
     @Test
     public void givenTurnPlayerTwo_whenMove_expectStonesPicked() throws GameNotFoundException, WrongPlayerTurnException, InvalidMovementException, BadPitSelectionException, GameOverException {
-        Game game = initializeGame(Turn.PLAYER_TWO);
+        Game game = initializeGame(Turn.PLAYER_TWO, INITIAL_STONES, INITIAL_STONES, INITIAL_STONES, INITIAL_STONES);
 
-        Pit pit1 = initializePit(1, INITIAL_STONES, false);
-        Pit pit2 = initializePit(2, INITIAL_STONES, false);
-        Pit pit3 = initializePit(3, INITIAL_STONES, false);
-        Pit pit4 = initializePit(4, INITIAL_STONES, false);
-        List<Pit> littlePits = new ArrayList<>();
-        littlePits.add(pit1);
-        littlePits.add(pit2);
-        littlePits.add(pit3);
-        littlePits.add(pit4);
-        game.setPits(littlePits);
-
-        when(gameRepository.findById(GAME_ID)).thenReturn(Optional.of(game));
+        when(gameStore.findById(GAME_ID)).thenReturn(Optional.of(game));
 
         gameService.move(GAME_ID, POSITION_3);
 
-        verify(pit3, times(1)).pickStones();
-        verify(pit4, times(1)).sow();
-        verify(pit1, times(1)).sow();
-        verify(pit2, times(1)).sow();
+        assertEquals(EMPTY_STONES, game.getPit(3).getStones());
+        assertEquals(INITIAL_STONES + ONE_STONE, game.getPit(4).getStones());
+        assertEquals(INITIAL_STONES + ONE_STONE, game.getPit(1).getStones());
+        assertEquals(INITIAL_STONES + ONE_STONE, game.getPit(2).getStones());
+        assertEquals(EMPTY_STONES, game.getBigPitPlayerOne());
+        assertEquals(ONE_STONE, game.getBigPitPlayerTwo());
+        assertEquals(Turn.PLAYER_ONE, game.getTurn());
 
-        verify(gameRepository, times(1)).save(any());
+        verify(gameStore, times(1)).save(game);
     }
 
     @Test
     public void givenPlayerOneTurn_whenMoveEndsInEmptyPit_expectStealOppositeStones() throws GameNotFoundException, WrongPlayerTurnException, InvalidMovementException, BadPitSelectionException, GameOverException {
-        Game game = initializeGame(Turn.PLAYER_ONE);
-
-        Pit pit1 = initializePit(1, 1,false);
-        Pit pit2 = initializePit(2, EMPTY_STONES,true);
-        Pit pit3 = initializePit(3, INITIAL_STONES,false);
-        Pit pit4 = initializePit(4, INITIAL_STONES,false);
-        List<Pit> littlePits = new ArrayList<>();
-        littlePits.add(pit1);
-        littlePits.add(pit2);
-        littlePits.add(pit3);
-        littlePits.add(pit4);
-        game.setPits(littlePits);
+        Game game = initializeGame(Turn.PLAYER_ONE, ONE_STONE, EMPTY_STONES, INITIAL_STONES, INITIAL_STONES);
 
-        when(gameRepository.findById(GAME_ID)).thenReturn(Optional.of(game));
+        when(gameStore.findById(GAME_ID)).thenReturn(Optional.of(game));
 
         gameService.move(GAME_ID, POSITION_1);
 
-        verify(pit1, times(1)).pickStones();
-        verify(pit2, times(1)).sow();
-        verify(pit2, times(1)).pickStones();
-        verify(pit3, times(1)).pickStones();
-        verify(pit3, times(0)).sow();
-        verify(pit4, times(0)).sow();
+        assertEquals(EMPTY_STONES, game.getPit(1).getStones());
+        assertEquals(EMPTY_STONES, game.getPit(2).getStones());
+        assertEquals(EMPTY_STONES, game.getPit(3).getStones());
+        assertEquals(ONE_STONE + INITIAL_STONES, game.getBigPitPlayerOne());
 
-        verify(gameRepository, times(1)).save(any());
+        verify(gameStore, times(1)).save(game);
     }
 
-        @Test
+    @Test
     public void givenPlayerTwoTurn_whenMoveEndsInEmptyPit_expectStealOppositeStones() throws GameNotFoundException, WrongPlayerTurnException, InvalidMovementException, BadPitSelectionException, GameOverException {
-            Game game = initializeGame(Turn.PLAYER_TWO);
-
-            Pit pit1 = initializePit(1, INITIAL_STONES,false);
-            Pit pit2 = initializePit(2, INITIAL_STONES,false);
-            Pit pit3 = initializePit(3, 1,false);
-            Pit pit4 = initializePit(4, EMPTY_STONES,true);
-            List<Pit> littlePits = new ArrayList<>();
-            littlePits.add(pit1);
-            littlePits.add(pit2);
-            littlePits.add(pit3);
-            littlePits.add(pit4);
-            game.setPits(littlePits);
+        Game game = initializeGame(Turn.PLAYER_TWO, INITIAL_STONES, INITIAL_STONES, ONE_STONE, EMPTY_STONES);
 
-            when(gameRepository.findById(GAME_ID)).thenReturn(Optional.of(game));
+        when(gameStore.findById(GAME_ID)).thenReturn(Optional.of(game));
 
-            gameService.move(GAME_ID, POSITION_3);
+        gameService.move(GAME_ID, POSITION_3);
 
-            verify(pit3, times(1)).pickStones();
-            verify(pit4, times(1)).sow();
-            verify(pit4, times(1)).pickStones();
-            verify(pit1, times(1)).pickStones();
-            verify(pit2, times(0)).sow();
+        assertEquals(EMPTY_STONES, game.getPit(3).getStones());
+        assertEquals(EMPTY_STONES, game.getPit(4).getStones());
+        assertEquals(EMPTY_STONES, game.getPit(1).getStones());
+        assertEquals(ONE_STONE + INITIAL_STONES, game.getBigPitPlayerTwo());
 
-            verify(gameRepository, times(1)).save(any());
+        verify(gameStore, times(1)).save(game);
     }
 
-        @Test
+    @Test
     public void givenPlayerOneTurn_whenMoveEndInBigPit_expectRepeatTurn() throws GameNotFoundException, WrongPlayerTurnException, InvalidMovementException, BadPitSelectionException, GameOverException {
-            Game game = initializeGame(Turn.PLAYER_ONE);
+        Game game = initializeGame(Turn.PLAYER_ONE, INITIAL_STONES, ONE_STONE, INITIAL_STONES, INITIAL_STONES);
+
+        when(gameStore.findById(GAME_ID)).thenReturn(Optional.of(game));
+
+        gameService.move(GAME_ID, 2);
+
+        assertEquals(INITIAL_STONES, game.getPit(1).getStones());
+        assertEquals(EMPTY_STONES, game.getPit(2).getStones());
+        assertEquals(INITIAL_STONES, game.getPit(3).getStones());
+        assertEquals(INITIAL_STONES, game.getPit(4).getStones());
+        assertEquals(ONE_STONE, game.getBigPitPlayerOne());
+        assertEquals(Turn.PLAYER_ONE, game.getTurn());
+
+        verify(gameStore, times(1)).save(game);
+    }
+
+    @Test
+    public void givenLastStonesInPlayerSide_whenMove_expectGameOver() throws GameNotFoundException, WrongPlayerTurnException, InvalidMovementException, BadPitSelectionException, GameOverException {
+        Game game = initializeGame(Turn.PLAYER_ONE, EMPTY_STONES, ONE_STONE, INITIAL_STONES, INITIAL_STONES);
+
+        when(gameStore.findById(GAME_ID)).thenReturn(Optional.of(game));
+
+        gameService.move(GAME_ID, 2);
+
+        assertEquals(Turn.GAME_OVER, game.getTurn());
+        assertEquals(ONE_STONE, game.getBigPitPlayerOne());
+        assertEquals(INITIAL_STONES + INITIAL_STONES, game.getBigPitPlayerTwo());
+        assertTrue(game.getPits().stream().allMatch(pit -> pit.getStones() == EMPTY_STONES));
+    }
+
+    @Test
+    public void givenValidBatch_whenMoveAll_expectAppliedWithSingleSave() throws GameNotFoundException {
+        Game game = initializeGame(Turn.PLAYER_ONE, INITIAL_STONES, INITIAL_STONES, INITIAL_STONES, INITIAL_STONES);
+
+        when(gameStore.findById(GAME_ID)).thenReturn(Optional.of(game));
+
+        BatchMoveResult result = gameService.moveAll(GAME_ID, List.of(POSITION_1, POSITION_3));
+
+        assertTrue(result.isApplied());
+        assertNull(result.getRejectedMove());
+        assertEquals(ONE_STONE, game.getPit(POSITION_1).getStones());
+        assertEquals(EMPTY_STONES, game.getPit(POSITION_3).getStones());
+        assertEquals(ONE_STONE, game.getBigPitPlayerOne());
+        assertEquals(8, game.getBigPitPlayerTwo());
+        assertEquals(Turn.PLAYER_ONE, game.getTurn());
+
+        verify(gameStore, times(1)).save(game);
+    }
+
+    @Test
+    public void givenInvalidMovementInBatch_whenMoveAll_expectNothingApplied() throws GameNotFoundException {
+        Game game = initializeGame(Turn.PLAYER_ONE, INITIAL_STONES, INITIAL_STONES, INITIAL_STONES, INITIAL_STONES);
+
+        when(gameStore.findById(GAME_ID)).thenReturn(Optional.of(game));
+
+        BatchMoveResult result = gameService.moveAll(GAME_ID, List.of(POSITION_1, POSITION_1));
+
+        assertFalse(result.isApplied());
+        assertEquals(1, result.getRejectedMove());
+        assertEquals(RejectionReason.WRONG_TURN, result.getReason());
+        assertEquals("Wrong turn", result.getMessage());
+        assertEquals(INITIAL_STONES, game.getPit(POSITION_1).getStones());
+        assertEquals(Turn.PLAYER_ONE, game.getTurn());
+
+        verify(gameStore, never()).save(any());
+    }
+
+    @Test
+    public void givenNullPitInBatch_whenMoveAll_expectBadPitRejection() throws GameNotFoundException {
+        Game game = initializeGame(Turn.PLAYER_ONE, INITIAL_STONES, INITIAL_STONES, INITIAL_STONES, INITIAL_STONES);
+
+        when(gameStore.findById(GAME_ID)).thenReturn(Optional.of(game));
+
+        BatchMoveResult result = gameService.moveAll(GAME_ID, Arrays.asList(POSITION_1, null));
+
+        assertFalse(result.isApplied());
+        assertEquals(1, result.getRejectedMove());
+        assertEquals(RejectionReason.BAD_PIT, result.getReason());
+        assertEquals(INITIAL_STONES, game.getPit(POSITION_1).getStones());
+        verify(gameStore, never()).save(any());
+    }
+
+    @Test
+    public void givenEmptyBatch_whenMoveAll_expectNothingSavedRecordedOrPublished() throws GameNotFoundException {
+        Game game = initializeGame(Turn.PLAYER_ONE, INITIAL_STONES, INITIAL_STONES, INITIAL_STONES, INITIAL_STONES);
+
+        when(gameStore.findById(GAME_ID)).thenReturn(Optional.of(game));
 
-            Pit pit1 = initializePit(1, INITIAL_STONES,false);
-            Pit pit2 = initializePit(2, 1,false);
-            Pit pit3 = initializePit(3, INITIAL_STONES,false);
-            Pit pit4 = initializePit(4, INITIAL_STONES,false);
-            List<Pit> littlePits = new ArrayList<>();
-            littlePits.add(pit1);
-            littlePits.add(pit2);
-            littlePits.add(pit3);
-            littlePits.add(pit4);
-            game.setPits(littlePits);
+        BatchMoveResult result = gameService.moveAll(GAME_ID, List.of());
 
-            when(gameRepository.findById(GAME_ID)).thenReturn(Optional.of(game));
+        assertTrue(result.isApplied());
+        assertNotSame(game, result.getGame());
+        assertEquals(INITIAL_STONES, result.getGame().getPit(POSITION_1).getStones());
+        verify(gameStore, never()).save(any());
+        verify(moveHistory, never()).append(any(), anyList(), any());
+        verify(eventPublisher, never()).publishEvent(any(Object.class));
+    }
+
+    @Test
+    public void givenEmptyPit_whenTryMove_expectRejectedOutcomeWithoutSave() {
+        Game game = initializeGame(Turn.PLAYER_ONE, EMPTY_STONES, INITIAL_STONES, INITIAL_STONES, INITIAL_STONES);
+
+        when(gameStore.findById(GAME_ID)).thenReturn(Optional.of(game));
+
+        MoveOutcome outcome = gameService.tryMove(GAME_ID, POSITION_1);
+
+        assertFalse(outcome.isApplied());
+        assertNull(outcome.getResult());
+        assertEquals(RejectionReason.EMPTY_PIT, outcome.getRejection());
+        verify(gameMetrics, times(1)).recordRejection(RejectionReason.EMPTY_PIT);
+        verify(gameStore, never()).save(any());
+    }
+
+    @Test
+    public void givenGameNotCreated_whenTryMove_expectGameNotFoundOutcome() {
+        when(gameStore.findById(GAME_ID)).thenReturn(Optional.empty());
+
+        MoveOutcome outcome = gameService.tryMove(GAME_ID, POSITION_1);
+
+        assertEquals(RejectionReason.GAME_NOT_FOUND, outcome.getRejection());
+    }
+
+    @Test
+    public void givenValidMovement_whenTryMove_expectAppliedOutcome() {
+        Game game = initializeGame(Turn.PLAYER_ONE, INITIAL_STONES, INITIAL_STONES, INITIAL_STONES, INITIAL_STONES);
+
+        when(gameStore.findById(GAME_ID)).thenReturn(Optional.of(game));
+
+        MoveOutcome outcome = gameService.tryMove(GAME_ID, POSITION_1);
+
+        assertTrue(outcome.isApplied());
+        verify(gameStore, times(1)).save(game);
+    }
+
+    @Test
+    public void givenGameShared_whenTryMove_expectResultCopyUnchangedByNextMovement() {
+        Game game = initializeGame(Turn.PLAYER_ONE, INITIAL_STONES, INITIAL_STONES, INITIAL_STONES, INITIAL_STONES);
+
+        when(gameStore.findById(GAME_ID)).thenReturn(Optional.of(game));
+
+        Game result = gameService.tryMove(GAME_ID, POSITION_1).getResult().getGame();
+        assertTrue(gameService.tryMove(GAME_ID, POSITION_3).isApplied());
+
+        assertNotSame(game, result);
+        assertEquals(Turn.PLAYER_TWO, result.getTurn());
+        assertEquals(1, result.getMoves());
+        assertEquals(EMPTY_STONES, result.getPit(POSITION_1).getStones());
+        assertEquals(INITIAL_STONES + ONE_STONE, result.getPit(POSITION_3).getStones());
+        assertEquals(2, game.getMoves());
+    }
+
+    @Test
+    public void givenHistoryFailure_whenTryMove_expectGameUnchangedAndNotSaved() {
+        Game game = initializeGame(Turn.PLAYER_ONE, INITIAL_STONES, INITIAL_STONES, INITIAL_STONES, INITIAL_STONES);
+
+        when(gameStore.findById(GAME_ID)).thenReturn(Optional.of(game));
+        doThrow(new IllegalStateException("History unavailable")).when(moveHistory).append(eq(GAME_ID), anyList(), any(Board.class));
+
+        assertThrows(IllegalStateException.class, () -> gameService.tryMove(GAME_ID, POSITION_1));
+
+        assertEquals(INITIAL_STONES, game.getPit(POSITION_1).getStones());
+        assertEquals(0, game.getMoves());
+        assertEquals(Turn.PLAYER_ONE, game.getTurn());
+        verify(gameStore, never()).save(any());
+        verify(eventPublisher, never()).publishEvent(any(Object.class));
+    }
+
+    @Test
+    public void givenHistoryFailure_whenMoveAll_expectGameUnchangedAndNotSaved() {
+        Game game = initializeGame(Turn.PLAYER_ONE, INITIAL_STONES, INITIAL_STONES, INITIAL_STONES, INITIAL_STONES);
+
+        when(gameStore.findById(GAME_ID)).thenReturn(Optional.of(game));
+        doThrow(new IllegalStateException("History unavailable")).when(moveHistory).append(eq(GAME_ID), anyList(), any(Board.class));
+
+        assertThrows(IllegalStateException.class, () -> gameService.moveAll(GAME_ID, List.of(POSITION_1, POSITION_3)));
+
+        assertEquals(INITIAL_STONES, game.getPit(POSITION_1).getStones());
+        assertEquals(0, game.getMoves());
+        assertEquals(0, game.getBigPitPlayerOne());
+        verify(gameStore, never()).save(any());
+    }
+
+    @Test
+    public void givenVariantWithoutCapture_whenMoveEndsInEmptyPit_expectNoCapture() throws GameNotFoundException, WrongPlayerTurnException, InvalidMovementException, BadPitSelectionException, GameOverException {
+        Game game = initializeGame(Turn.PLAYER_ONE, ONE_STONE, EMPTY_STONES, INITIAL_STONES, INITIAL_STONES, INITIAL_STONES, INITIAL_STONES, INITIAL_STONES, INITIAL_STONES);
+        game.setVariant(new Variant(DEFAULT_PITS, INITIAL_STONES, false, true));
+
+        when(gameStore.findById(GAME_ID)).thenReturn(Optional.of(game));
+
+        gameService.move(GAME_ID, POSITION_1);
+
+        assertEquals(ONE_STONE, game.getPit(2).getStones());
+        assertEquals(INITIAL_STONES, game.getPit(7).getStones());
+        assertEquals(EMPTY_STONES, game.getBigPitPlayerOne());
+        assertEquals(Turn.PLAYER_TWO, game.getTurn());
+    }
+
+    @Test
+    public void givenValidBatch_whenMoveAll_expectOneRecordPerMovement() throws GameNotFoundException {
+        Game game = initializeGame(Turn.PLAYER_ONE, INITIAL_STONES, INITIAL_STONES, INITIAL_STONES, INITIAL_STONES);
+        game.setMoves(FIVE_STONES);
 
-            gameService.move(GAME_ID, 2);
+        when(gameStore.findById(GAME_ID)).thenReturn(Optional.of(game));
 
-            verify(pit1, times(0)).sow();
-            verify(pit1, times(0)).pickStones();
-            verify(pit2, times(1)).pickStones();
-            verify(pit3, times(0)).sow();
-            verify(pit3, times(0)).pickStones();
-            verify(pit4, times(0)).sow();
-            verify(pit4, times(0)).pickStones();
+        gameService.moveAll(GAME_ID, List.of(POSITION_1, POSITION_3));
 
-            verify(gameRepository, times(1)).save(any());
+        assertEquals(FIVE_STONES + 2, game.getMoves());
+        verify(moveHistory, times(1)).append(eq(GAME_ID), argThat(moves -> moves.size() == 2
+                && moves.get(0).getSequence() == FIVE_STONES + 1 && moves.get(0).getPlayer() == 1
+                && moves.get(1).getSequence() == FIVE_STONES + 2 && moves.get(1).getPlayer() == 2), any());
     }
 
-    private Game initializeGame(Turn turn) {
+    @Test
+    public void givenPlayedGame_whenGetHistory_expectPageOfMovementRange() throws GameNotFoundException {
+        Game game = initializeGame(Turn.PLAYER_ONE, INITIAL_STONES, INITIAL_STONES, INITIAL_STONES, INITIAL_STONES);
+        game.setMoves(25);
+        when(gameStore.findById(GAME_ID)).thenReturn(Optional.of(game));
+        when(moveHistory.getMoves(GAME_ID, 21, 25)).thenReturn(List.of(new MoveRecord(GAME_ID, 21, POSITION_1, 1, 0L, null)));
+
+        MoveHistoryPage page = gameService.getHistory(GAME_ID, 2, 10);
+
+        assertEquals(25, page.getTotalMoves());
+        assertEquals(1, page.getMoves().size());
+        verify(moveHistory, times(1)).getMoves(GAME_ID, 21, 25);
+        assertTrue(gameService.getHistory(GAME_ID, 3, 10).getMoves().isEmpty());
+    }
+
+    @Test
+    public void givenGameInProgress_whenGetHint_expectPitOfPlayerInTurnWithoutSave() throws GameNotFoundException, GameOverException {
+        Game game = initializeGame(Turn.PLAYER_TWO, INITIAL_STONES, INITIAL_STONES, INITIAL_STONES, INITIAL_STONES);
+
+        when(gameStore.findById(GAME_ID)).thenReturn(Optional.of(game));
+
+        MoveHint hint = gameService.getHint(GAME_ID);
+
+        assertEquals(Turn.PLAYER_TWO, hint.getTurn());
+        assertTrue(hint.getPit() == POSITION_3 || hint.getPit() == POSITION_3 + 1);
+        assertTrue(hint.getDepth() >= 1);
+        verify(gameStore, never()).save(any());
+    }
+
+    @Test
+    public void givenGameOver_whenGetHint_expectGameOverException() {
+        Game game = initializeGame(Turn.GAME_OVER, EMPTY_STONES, EMPTY_STONES, EMPTY_STONES, EMPTY_STONES);
+
+        when(gameStore.findById(GAME_ID)).thenReturn(Optional.of(game));
+
+        assertThrows(GameOverException.class, () -> gameService.getHint(GAME_ID));
+        verify(gameMetrics, times(1)).recordRejection(RejectionReason.GAME_OVER);
+    }
+
+    @Test
+    public void givenGameInProgress_whenGetMoves_expectPreviewOfEveryLegalPitWithoutChangingGame() throws GameNotFoundException {
+        Game game = initializeGame(Turn.PLAYER_ONE, ONE_STONE, EMPTY_STONES, ONE_STONE, 2, 3, 4);
+
+        when(gameStore.findById(GAME_ID)).thenReturn(Optional.of(game));
+
+        List<MovePreview> previews = gameService.getMoves(GAME_ID);
+
+        assertEquals(2, previews.size());
+        MovePreview capture = previews.get(0);
+        assertEquals(POSITION_1, capture.getPit());
+        assertTrue(capture.isCapture());
+        assertFalse(capture.isExtraTurn());
+        assertFalse(capture.isFinished());
+        assertEquals(List.of(0, 0, 1, 2, 0, 4), capture.getPits());
+        assertEquals(4, capture.getBigPitPlayerOne());
+        assertEquals(Turn.PLAYER_TWO, capture.getTurn());
+        MovePreview extraTurn = previews.get(1);
+        assertEquals(POSITION_3, extraTurn.getPit());
+        assertTrue(extraTurn.isExtraTurn());
+        assertFalse(extraTurn.isCapture());
+        assertEquals(List.of(1, 0, 0, 2, 3, 4), extraTurn.getPits());
+        assertEquals(1, extraTurn.getBigPitPlayerOne());
+        assertEquals(Turn.PLAYER_ONE, extraTurn.getTurn());
+
+        assertEquals(Turn.PLAYER_ONE, game.getTurn());
+        assertEquals(ONE_STONE, game.getPit(POSITION_1).getStones());
+        assertEquals(0, game.getBigPitPlayerOne());
+        verify(gameStore, never()).save(any());
+        verify(eventPublisher, never()).publishEvent(any(Object.class));
+    }
+
+    @Test
+    public void givenGameOver_whenGetMoves_expectNoMoves() throws GameNotFoundException {
+        Game game = initializeGame(Turn.GAME_OVER, EMPTY_STONES, EMPTY_STONES, EMPTY_STONES, EMPTY_STONES);
+
+        when(gameStore.findById(GAME_ID)).thenReturn(Optional.of(game));
+
+        assertTrue(gameService.getMoves(GAME_ID).isEmpty());
+    }
+
+    @Test
+    public void givenBotMode_whenTryMoveAgainstBot_expectBotPlaysUntilPlayerTurnWithSingleSave() {
+        Game game = initializeGame(Turn.PLAYER_ONE, INITIAL_STONES, INITIAL_STONES, INITIAL_STONES, INITIAL_STONES);
+
+        when(gameStore.findById(GAME_ID)).thenReturn(Optional.of(game));
+
+        MoveOutcome outcome = gameService.tryMoveAgainstBot(GAME_ID, POSITION_1);
+
+        assertTrue(outcome.isApplied());
+        assertNotEquals(Turn.PLAYER_TWO, game.getTurn());
+        verify(gameStore, times(1)).save(game);
+        verify(eventPublisher, times(1)).publishEvent(any(Object.class));
+        verify(moveHistory, times(1)).append(eq(GAME_ID), argThat(moves -> moves.size() >= 2
+                && moves.get(0).getPlayer() == 1 && moves.get(moves.size() - 1).getPlayer() == 2), any());
+    }
+
+    @Test
+    public void givenBotInTurn_whenTryBotMove_expectTurnOfPlayer() {
+        Game game = initializeGame(Turn.PLAYER_TWO, INITIAL_STONES, INITIAL_STONES, INITIAL_STONES, INITIAL_STONES);
+
+        when(gameStore.findById(GAME_ID)).thenReturn(Optional.of(game));
+
+        MoveOutcome outcome = gameService.tryBotMove(GAME_ID);
+
+        assertTrue(outcome.isApplied());
+        assertNotEquals(Turn.PLAYER_TWO, game.getTurn());
+        assertTrue(game.getMoves() >= 1);
+    }
+
+    @Test
+    public void givenBotInTurn_whenTryBotMove_expectSearchWithoutGameLock() {
+        Game game = initializeGame(Turn.PLAYER_TWO, INITIAL_STONES, INITIAL_STONES, INITIAL_STONES, INITIAL_STONES);
+        ReentrantLock lock = (ReentrantLock) gameLocks.getLock(GAME_ID);
+
+        when(gameStore.findById(GAME_ID)).thenReturn(Optional.of(game));
+        doAnswer(invocation -> {
+            assertFalse(lock.isHeldByCurrentThread());
+            return invocation.callRealMethod();
+        }).when(moveSearch).search(any(Board.class));
+
+        assertTrue(gameService.tryBotMove(GAME_ID).isApplied());
+        verify(moveSearch, atLeastOnce()).search(any(Board.class));
+    }
+
+    @Test
+    public void givenMovementSavedDuringSearch_whenTryBotMove_expectBotPlansAgain() {
+        Game game = initializeGame(Turn.PLAYER_TWO, INITIAL_STONES, INITIAL_STONES, INITIAL_STONES, INITIAL_STONES);
+        AtomicBoolean concurrentMovement = new AtomicBoolean(true);
+
+        when(gameStore.findById(GAME_ID)).thenReturn(Optional.of(game));
+        doAnswer(invocation -> {
+            if (concurrentMovement.getAndSet(false)) {
+                game.setMoves(game.getMoves() + 1);
+            }
+            return invocation.callRealMethod();
+        }).when(moveSearch).search(any(Board.class));
+
+        MoveOutcome outcome = gameService.tryBotMove(GAME_ID);
+
+        assertTrue(outcome.isApplied());
+        verify(moveSearch, atLeast(2)).search(any(Board.class));
+        verify(gameStore, times(1)).save(game);
+    }
+
+    private Game initializeGame(Turn turn, int... stones) {
         Game game = new Game();
         game.setId(GAME_ID);
         game.setTurn(turn);
+        List<Pit> littlePits = new ArrayList<>();
+        for (int position = 1; position <= stones.length; position++) {
+            littlePits.add(new Pit(PIT_ID + position, game, position <= stones.length / 2 ? 1 : PLAYER_TWO_NUMBER, position, stones[position - 1]));
+        }
+        game.setPits(littlePits);
         return game;
     }
-
-    private Pit initializePit(int position, int stones, boolean empty) {
-        Pit pit = mock(Pit.class);
-        pit.setPosition(position);
-        when(pit.getStones()).thenReturn(stones);
-        when(pit.pickStones()).thenReturn(stones);
-        when(pit.sow()).thenReturn(empty);
-        return pit;
-    }
-}
\ No newline at end of file
+}
@@ -0,0 +1,27 @@
+package com.example.mancala.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class RejectionLoggerTest {
+
+    @Test
+    public void givenRejectionsWithinInterval_whenTryAcquire_expectOnlyFirstLogged() {
+        AtomicLong clock = new AtomicLong();
+        RejectionLogger rejectionLogger = new RejectionLogger(Duration.ofSeconds(1), clock::get);
+
+        assertTrue(rejectionLogger.tryAcquire());
+        clock.addAndGet(Duration.ofMillis(500).toNanos());
+        assertFalse(rejectionLogger.tryAcquire());
+        assertFalse(rejectionLogger.tryAcquire());
+
+        clock.addAndGet(Duration.ofMillis(500).toNanos());
+        assertTrue(rejectionLogger.tryAcquire());
+        assertFalse(rejectionLogger.tryAcquire());
+    }
+}
@@ -0,0 +1,76 @@
+package com.example.mancala.simulation;
+
+import com.example.mancala.model.Variant;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static com.example.mancala.utils.TestConstants.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+class SelfPlaySimulatorTest {
+
+    private static final long SEED = 42;
+    private static final int GAMES = 2000;
+
+    private final SelfPlaySimulator simulator = new SelfPlaySimulator(4);
+
+    @AfterEach
+    void close() {
+        simulator.close();
+    }
+
+    @Test
+    void givenRandomPolicies_whenSimulate_expectCountsOfEveryGame() {
+        SimulationReport report = simulator.simulate(new Variant(DEFAULT_PITS, INITIAL_STONES, true, true), GAMES, new RandomPolicy(), new RandomPolicy(), SEED);
+
+        assertEquals(GAMES, report.getGames());
+        assertEquals(GAMES, report.getFirstPlayerWins() + report.getSecondPlayerWins() + report.getDraws());
+        assertEquals(GAMES, report.getPlayerOneWins() + report.getPlayerTwoWins() + report.getDraws());
+        assertTrue(report.getAverageMoves() > DEFAULT_PITS);
+        assertTrue(report.getCaptures() > 0);
+        assertTrue(report.getExtraTurns() > 0);
+    }
+
+    @Test
+    void givenSameSeed_whenSimulateWithAnotherParallelism_expectSameGames() {
+        Variant variant = new Variant(4, 4, true, true);
+
+        SimulationReport report = simulator.simulate(variant, GAMES, new RandomPolicy(), new GreedyPolicy(), SEED);
+        try (SelfPlaySimulator sequential = new SelfPlaySimulator(1)) {
+            SimulationReport sequentialReport = sequential.simulate(variant, GAMES, new RandomPolicy(), new GreedyPolicy(), SEED);
+
+            assertEquals(sequentialReport.getPlayerOneWins(), report.getPlayerOneWins());
+            assertEquals(sequentialReport.getFirstPlayerWins(), report.getFirstPlayerWins());
+            assertEquals(sequentialReport.getMoves(), report.getMoves());
+            assertEquals(sequentialReport.getCaptures(), report.getCaptures());
+        }
+    }
+
+    @Test
+    void givenGreedyAgainstRandom_whenSimulate_expectGreedyWinsMostGames() {
+        SimulationReport report = simulator.simulate(new Variant(6, 6, true, true), GAMES, new GreedyPolicy(), new RandomPolicy(), SEED);
+
+        assertTrue(report.getPlayerOneWinRate() > 0.9);
+    }
+
+    @Test
+    void givenVariantWithoutCapture_whenSimulate_expectNoCaptures() {
+        SimulationReport report = simulator.simulate(new Variant(4, 4, false, false), GAMES, new RandomPolicy(), new RandomPolicy(), SEED);
+
+        assertEquals(0, report.getCaptures());
+    }
+
+    @Test
+    void givenVariantList_whenParse_expectEveryVariant() {
+        List<Variant> variants = SelfPlaySimulator.parseVariants("6x6, 4x3:nocapture,6x4:noemptycapture");
+
+        assertEquals(3, variants.size());
+        assertEquals(4, variants.get(1).getPitsPerPlayer());
+        assertEquals(3, variants.get(1).getStonesPerPit());
+        assertFalse(variants.get(1).getCapture());
+        assertTrue(variants.get(2).getCapture());
+        assertFalse(variants.get(2).getEmptyCapture());
+    }
+}
@@ -0,0 +1,168 @@
+package com.example.mancala.store;
+
+import com.example.mancala.concurrent.GameLocks;
+import com.example.mancala.configuration.CacheConfig;
+import com.example.mancala.model.Game;
+import com.example.mancala.model.Turn;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static com.example.mancala.utils.TestConstants.GAME_ID;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.*;
+
+class CachingGameStoreTest {
+
+    private GameStore delegate;
+    private CacheConfig cacheConfig;
+    private CachingGameStore cachingGameStore;
+
+    @BeforeEach
+    void init() {
+        delegate = mock(GameStore.class);
+        cacheConfig = new CacheConfig();
+        cacheConfig.setFlushInterval(Duration.ofHours(1));
+        cacheConfig.setFlushEveryMoves(3);
+        cacheConfig.setMaximumSize(1);
+        cachingGameStore = new CachingGameStore(delegate, cacheConfig, new GameLocks(16));
+    }
+
+    @AfterEach
+    void close() {
+        cachingGameStore.close();
+    }
+
+    @Test
+    void givenGameInDelegate_whenFindTwice_expectLoadedOnce() {
+        Game game = createGame(GAME_ID, Turn.PLAYER_ONE);
+        when(delegate.findById(GAME_ID)).thenReturn(Optional.of(game));
+
+        assertSame(game, cachingGameStore.findById(GAME_ID).orElseThrow());
+        assertSame(game, cachingGameStore.findById(GAME_ID).orElseThrow());
+
+        verify(delegate, times(1)).findById(GAME_ID);
+        CacheStats stats = cachingGameStore.getStats();
+        assertEquals(1, stats.getHits());
+        assertEquals(1, stats.getMisses());
+    }
+
+    @Test
+    void givenPendingMoves_whenFlushPending_expectSingleWrite() {
+        Game game = createGame(GAME_ID, Turn.PLAYER_ONE);
+
+        cachingGameStore.save(game);
+        cachingGameStore.save(game);
+        verify(delegate, never()).save(any());
+
+        cachingGameStore.flushPending();
+        verify(delegate, times(1)).save(game);
+        assertEquals(0, cachingGameStore.getStats().getPending());
+    }
+
+    @Test
+    void givenFlushEveryMovesReached_whenSave_expectFlushed() {
+        Game game = createGame(GAME_ID, Turn.PLAYER_ONE);
+
+        for (int move = 0; move < cacheConfig.getFlushEveryMoves(); move++) {
+            cachingGameStore.save(game);
+        }
+
+        verify(delegate, timeout(1000).times(1)).save(game);
+    }
+
+    @Test
+    void givenGameOver_whenSave_expectFlushed() {
+        Game game = createGame(GAME_ID, Turn.GAME_OVER);
+
+        cachingGameStore.save(game);
+
+        verify(delegate, timeout(1000).times(1)).save(game);
+    }
+
+    @Test
+    void givenNewGames_whenSaveAll_expectWrittenThroughAndCached() {
+        cacheConfig.setMaximumSize(2);
+        List<Game> games = List.of(createGame(GAME_ID, Turn.PLAYER_ONE), createGame("other-game", Turn.PLAYER_TWO));
+        when(delegate.saveAll(games)).thenReturn(games);
+
+        cachingGameStore.saveAll(games);
+
+        verify(delegate, times(1)).saveAll(games);
+        assertSame(games.get(1), cachingGameStore.findById("other-game").orElseThrow());
+        verify(delegate, never()).findById(any());
+        assertEquals(0, cachingGameStore.getStats().getPending());
+    }
+
+    @Test
+    void givenCacheFull_whenLoadAnotherGame_expectFlushedGameEvicted() {
+        Game game = createGame(GAME_ID, Turn.PLAYER_ONE);
+        Game otherGame = createGame("other-game", Turn.PLAYER_ONE);
+        when(delegate.findById(GAME_ID)).thenReturn(Optional.of(game));
+        when(delegate.findById("other-game")).thenReturn(Optional.of(otherGame));
+
+        cachingGameStore.findById(GAME_ID);
+        cachingGameStore.findById("other-game");
+        cachingGameStore.findById(GAME_ID);
+
+        verify(delegate, times(2)).findById(GAME_ID);
+        assertEquals(1, cachingGameStore.getStats().getSize());
+    }
+
+    @Test
+    void givenFlushInProgress_whenLoadAnotherGame_expectFlushingGameNotEvicted() throws InterruptedException {
+        Game game = createGame(GAME_ID, Turn.PLAYER_ONE);
+        Game otherGame = createGame("other-game", Turn.PLAYER_ONE);
+        CountDownLatch writing = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(delegate.findById("other-game")).thenReturn(Optional.of(otherGame));
+        when(delegate.save(game)).thenAnswer(invocation -> {
+            writing.countDown();
+            assertTrue(release.await(5, TimeUnit.SECONDS));
+            return game;
+        });
+        cachingGameStore.save(game);
+
+        Thread flush = new Thread(cachingGameStore::flushPending);
+        flush.start();
+        assertTrue(writing.await(5, TimeUnit.SECONDS));
+        cachingGameStore.findById("other-game");
+        assertEquals(1, cachingGameStore.getStats().getPending());
+        release.countDown();
+        flush.join();
+
+        assertSame(game, cachingGameStore.findById(GAME_ID).orElseThrow());
+        verify(delegate, never()).findById(GAME_ID);
+        assertEquals(0, cachingGameStore.getStats().getPending());
+    }
+
+    @Test
+    void givenFlushFailure_whenFlushPending_expectGameKeptPendingAndRetried() {
+        Game game = createGame(GAME_ID, Turn.PLAYER_ONE);
+        when(delegate.save(game)).thenThrow(new IllegalStateException("Database down")).thenReturn(game);
+        cachingGameStore.save(game);
+
+        cachingGameStore.flushPending();
+        assertEquals(1, cachingGameStore.getStats().getPending());
+        assertEquals(1, cachingGameStore.getStats().getFlushErrors());
+
+        cachingGameStore.flushPending();
+        verify(delegate, times(2)).save(game);
+        assertEquals(0, cachingGameStore.getStats().getPending());
+    }
+
+    private Game createGame(String gameId, Turn turn) {
+        Game game = new Game();
+        game.setId(gameId);
+        game.setTurn(turn);
+        return game;
+    }
+}
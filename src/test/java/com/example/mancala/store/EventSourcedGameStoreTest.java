@@ -0,0 +1,80 @@
+package com.example.mancala.store;
+
+import com.example.mancala.engine.Board;
+import com.example.mancala.history.MoveHistory;
+import com.example.mancala.history.Replay;
+import com.example.mancala.model.Game;
+import com.example.mancala.model.Turn;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+
+import static com.example.mancala.utils.TestConstants.*;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class EventSourcedGameStoreTest {
+
+    private static final Instant UPDATED_AT = Instant.ofEpochSecond(1000);
+
+    private MoveHistory moveHistory;
+    private EventSourcedGameStore eventSourcedGameStore;
+
+    @BeforeEach
+    void init() {
+        moveHistory = mock(MoveHistory.class);
+        eventSourcedGameStore = new EventSourcedGameStore(moveHistory);
+    }
+
+    @Test
+    void givenGameHistory_whenFindById_expectGameRebuiltFromReplay() {
+        Board board = Board.initial(DEFAULT_PITS, INITIAL_STONES, Board.PLAYER_ONE);
+        board.move(POSITION_1);
+        board.move(2);
+        when(moveHistory.rebuild(GAME_ID)).thenReturn(Optional.of(new Replay(board, 2, UPDATED_AT)));
+
+        Game game = eventSourcedGameStore.findById(GAME_ID).orElseThrow();
+
+        assertEquals(GAME_ID, game.getId());
+        assertEquals(2, game.getMoves());
+        assertEquals(DEFAULT_PITS * 2, game.getPits().size());
+        assertEquals(EMPTY_STONES, game.getPit(POSITION_1).getStones());
+        assertEquals(board.getBigPit(Board.PLAYER_ONE), game.getBigPitPlayerOne());
+        assertEquals(Turn.PLAYER_TWO, game.getTurn());
+        assertEquals(INITIAL_STONES, game.getVariant().getStonesPerPit());
+        assertEquals(UPDATED_AT, game.getUpdatedAt());
+    }
+
+    @Test
+    void givenNoHistory_whenFindById_expectEmpty() {
+        when(moveHistory.rebuild(GAME_ID)).thenReturn(Optional.empty());
+
+        assertTrue(eventSourcedGameStore.findById(GAME_ID).isEmpty());
+    }
+
+    @Test
+    void givenGame_whenSave_expectNothingWritten() {
+        Game game = new Game();
+        game.setId(GAME_ID);
+
+        assertSame(game, eventSourcedGameStore.save(game));
+
+        verifyNoInteractions(moveHistory);
+    }
+
+    @Test
+    void givenExpiredGames_whenFindExpiredIdsAndDeleteAll_expectHistoryQueriedAndDeleted() {
+        Instant finishedBefore = UPDATED_AT.plusSeconds(60);
+        Instant idleBefore = UPDATED_AT.minusSeconds(60);
+        when(moveHistory.findExpiredIds(finishedBefore, idleBefore, 10)).thenReturn(List.of(GAME_ID));
+
+        List<String> expiredIds = eventSourcedGameStore.findExpiredIds(finishedBefore, idleBefore, 10);
+        eventSourcedGameStore.deleteAll(expiredIds);
+
+        assertEquals(List.of(GAME_ID), expiredIds);
+        verify(moveHistory, times(1)).deleteAll(List.of(GAME_ID));
+    }
+}
@@ -0,0 +1,50 @@
+package com.example.mancala.store;
+
+import com.example.mancala.engine.Board;
+import com.example.mancala.engine.BoardMapper;
+import com.example.mancala.model.Game;
+import com.example.mancala.repository.GameRepository;
+import org.hibernate.Hibernate;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+
+import java.time.Instant;
+
+import static com.example.mancala.utils.TestConstants.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+class JpaGameStoreTest {
+
+    @Autowired
+    private GameRepository gameRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    private JpaGameStore jpaGameStore;
+
+    @BeforeEach
+    void init() {
+        jpaGameStore = new JpaGameStore(gameRepository);
+    }
+
+    @Test
+    void givenStoredGame_whenFindById_expectPitsLoadedWithGame() {
+        Game game = BoardMapper.toGame(GAME_ID, Board.initial(DEFAULT_PITS, INITIAL_STONES, Board.PLAYER_ONE));
+        game.setUpdatedAt(Instant.now());
+        jpaGameStore.save(game);
+        entityManager.flush();
+        entityManager.clear();
+
+        Game found = jpaGameStore.findById(GAME_ID).orElseThrow();
+        entityManager.clear();
+
+        assertTrue(Hibernate.isInitialized(found.getPits()));
+        assertEquals(DEFAULT_PITS * 2, found.getPits().size());
+        assertEquals(INITIAL_STONES, found.getPit(POSITION_1).getStones());
+    }
+}
@@ -0,0 +1,172 @@
+package com.example.mancala.store;
+
+import com.example.mancala.engine.Board;
+import com.example.mancala.engine.BoardMapper;
+import com.example.mancala.model.Game;
+import com.example.mancala.model.Turn;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.List;
+
+import static com.example.mancala.utils.TestConstants.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+class MappedFileGameStoreTest {
+
+    private static final int SLOT_SIZE = 128;
+    private static final int SEGMENT_RECORDS = 4;
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void givenSavedGames_whenReopened_expectSameGames() throws IOException {
+        Path file = directory.resolve("games.db");
+        try (MappedFileGameStore store = open(file)) {
+            for (int i = 0; i < SEGMENT_RECORDS * 2 + 1; i++) {
+                store.save(createGame(GAME_ID + i, i));
+            }
+        }
+
+        try (MappedFileGameStore store = open(file)) {
+            assertEquals(SEGMENT_RECORDS * 2 + 1, store.count());
+            Game game = store.findById(GAME_ID + 5).orElseThrow();
+            assertEquals(5, game.getMoves());
+            assertEquals(INITIAL_STONES, game.getPit(POSITION_1).getStones());
+            assertEquals(Turn.PLAYER_ONE, game.getTurn());
+            assertTrue(store.findById("unknown").isEmpty());
+        }
+    }
+
+    @Test
+    void givenUpdatedGame_whenFindById_expectLatestVersion() throws IOException {
+        try (MappedFileGameStore store = open(directory.resolve("games.db"))) {
+            Game game = createGame(GAME_ID, 0);
+            store.save(game);
+            play(game, POSITION_1);
+            store.save(game);
+
+            Game stored = store.findById(GAME_ID).orElseThrow();
+            assertEquals(1, stored.getMoves());
+            assertEquals(EMPTY_STONES, stored.getPit(POSITION_1).getStones());
+            assertEquals(ONE_STONE, stored.getBigPitPlayerOne());
+        }
+    }
+
+    @Test
+    void givenTornLatestSlot_whenReopened_expectPreviousVersion() throws IOException {
+        Path file = directory.resolve("games.db");
+        try (MappedFileGameStore store = open(file)) {
+            Game game = createGame(GAME_ID, 0);
+            store.save(game);
+            play(game, POSITION_1);
+            store.save(game);
+        }
+        // The second version of the first record is written in its first slot, right after the file header
+        try (RandomAccessFile raf = new RandomAccessFile(file.toFile(), "rw")) {
+            raf.seek(16 + 30);
+            raf.write(0x7F);
+        }
+
+        try (MappedFileGameStore store = open(file)) {
+            Game game = store.findById(GAME_ID).orElseThrow();
+            assertEquals(0, game.getMoves());
+            assertEquals(INITIAL_STONES, game.getPit(POSITION_1).getStones());
+        }
+    }
+
+    @Test
+    void givenDeletedGames_whenSaveNewGames_expectRecordsReusedAfterReopening() throws IOException {
+        Path file = directory.resolve("games.db");
+        try (MappedFileGameStore store = open(file)) {
+            for (int i = 0; i < SEGMENT_RECORDS; i++) {
+                store.save(createGame(GAME_ID + i, i));
+            }
+            store.deleteAll(List.of(GAME_ID + 1));
+
+            assertTrue(store.findById(GAME_ID + 1).isEmpty());
+            assertEquals(SEGMENT_RECORDS - 1, store.count());
+        }
+        long size = Files.size(file);
+
+        try (MappedFileGameStore store = open(file)) {
+            assertTrue(store.findById(GAME_ID + 1).isEmpty());
+            store.save(createGame("new-game", 0));
+            store.deleteAll(List.of(GAME_ID + 2));
+            store.save(createGame("other-new-game", 0));
+
+            assertEquals(SEGMENT_RECORDS, store.count());
+            assertEquals(0, store.findById("new-game").orElseThrow().getMoves());
+            assertEquals(3, store.findById(GAME_ID + 3).orElseThrow().getMoves());
+        }
+        assertEquals(size, Files.size(file));
+    }
+
+    @Test
+    void givenFinishedAndIdleGames_whenFindExpiredIds_expectOnlyGamesPastTheirTtl() throws IOException {
+        Instant now = Instant.now();
+        Path file = directory.resolve("games.db");
+        try (MappedFileGameStore store = open(file)) {
+            Game finished = createGame("finished", 0);
+            finished.setTurn(Turn.GAME_OVER);
+            finished.getPits().forEach(pit -> pit.setStones(EMPTY_STONES));
+            finished.setUpdatedAt(now.minusSeconds(120));
+            store.save(finished);
+            Game playing = createGame("playing", 0);
+            playing.setUpdatedAt(now.minusSeconds(120));
+            store.save(playing);
+            Game idle = createGame("idle", 0);
+            idle.setUpdatedAt(now.minusSeconds(7200));
+            store.save(idle);
+        }
+
+        try (MappedFileGameStore store = open(file)) {
+            List<String> expiredIds = store.findExpiredIds(now.minusSeconds(60), now.minusSeconds(3600), 10);
+
+            assertEquals(2, expiredIds.size());
+            assertTrue(expiredIds.containsAll(List.of("finished", "idle")));
+            assertEquals(1, store.findExpiredIds(now.minusSeconds(60), now.minusSeconds(3600), 1).size());
+            assertEquals(now.minusSeconds(7200).toEpochMilli(), store.findById("idle").orElseThrow().getUpdatedAt().toEpochMilli());
+        }
+    }
+
+    @Test
+    void givenFileWithOtherSlotSize_whenOpened_expectException() throws IOException {
+        Path file = directory.resolve("games.db");
+        open(file).close();
+
+        assertThrows(IllegalStateException.class, () -> new MappedFileGameStore(file, SLOT_SIZE * 2, SEGMENT_RECORDS, false));
+    }
+
+    @Test
+    void givenBoardLargerThanSlot_whenSave_expectException() throws IOException {
+        try (MappedFileGameStore store = open(directory.resolve("games.db"))) {
+            Game game = BoardMapper.toGame(GAME_ID, Board.initial(64, 1000, Board.PLAYER_ONE));
+
+            assertThrows(IllegalStateException.class, () -> store.save(game));
+        }
+    }
+
+    private static MappedFileGameStore open(Path file) throws IOException {
+        return new MappedFileGameStore(file, SLOT_SIZE, SEGMENT_RECORDS, false);
+    }
+
+    private static Game createGame(String gameId, int moves) {
+        Game game = BoardMapper.toGame(gameId, Board.initial(DEFAULT_PITS, INITIAL_STONES, Board.PLAYER_ONE));
+        game.setMoves(moves);
+        return game;
+    }
+
+    private static void play(Game game, int pitIndex) {
+        Board board = BoardMapper.toBoard(game);
+        board.move(pitIndex);
+        BoardMapper.apply(board, game);
+        game.setMoves(game.getMoves() + 1);
+    }
+}
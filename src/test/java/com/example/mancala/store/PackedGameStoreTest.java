@@ -0,0 +1,104 @@
+package com.example.mancala.store;
+
+import com.example.mancala.engine.Board;
+import com.example.mancala.engine.BoardMapper;
+import com.example.mancala.model.Game;
+import com.example.mancala.repository.PackedGameRepository;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+
+import javax.persistence.EntityManagerFactory;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.example.mancala.utils.TestConstants.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+class PackedGameStoreTest {
+
+    private static final int GAMES = 120;
+    private static final int BATCH_SIZE = 50;
+
+    @Autowired
+    private PackedGameRepository packedGameRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private PackedGameStore packedGameStore;
+    private Statistics statistics;
+
+    @BeforeEach
+    void init() {
+        packedGameStore = new PackedGameStore(packedGameRepository);
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void givenNewGames_whenSaveAll_expectBatchedInsertsWithoutLookups() {
+        List<Game> games = new ArrayList<>(GAMES);
+        for (int i = 0; i < GAMES; i++) {
+            games.add(createGame(GAME_ID + i));
+        }
+
+        packedGameStore.saveAll(games);
+        entityManager.flush();
+
+        assertEquals(GAMES, statistics.getEntityInsertCount());
+        assertEquals(0, statistics.getEntityLoadCount());
+        // A lookup before every insert would prepare one statement per game
+        assertTrue(statistics.getPrepareStatementCount() <= GAMES / BATCH_SIZE + 1,
+                "Statements prepared: " + statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void givenStoredGame_whenSaveAfterMovement_expectUpdateOfSameRow() {
+        packedGameStore.save(createGame(GAME_ID));
+        entityManager.flush();
+        entityManager.clear();
+
+        Game game = packedGameStore.findById(GAME_ID).orElseThrow();
+        Board board = BoardMapper.toBoard(game);
+        board.move(POSITION_1);
+        BoardMapper.apply(board, game);
+        game.setMoves(1);
+        packedGameStore.save(game);
+        entityManager.flush();
+
+        assertEquals(1, statistics.getEntityInsertCount());
+        assertEquals(1, statistics.getEntityUpdateCount());
+        assertEquals(1, packedGameRepository.count());
+        assertEquals(1, packedGameStore.findById(GAME_ID).orElseThrow().getMoves());
+    }
+
+    @Test
+    void givenNewGame_whenSavedTwice_expectSecondSaveUpdates() {
+        Game game = createGame(GAME_ID);
+
+        packedGameStore.save(game);
+        entityManager.flush();
+        game.setMoves(1);
+        packedGameStore.save(game);
+        entityManager.flush();
+
+        assertEquals(1, statistics.getEntityInsertCount());
+        assertEquals(1, packedGameRepository.count());
+    }
+
+    private static Game createGame(String gameId) {
+        Game game = BoardMapper.toGame(gameId, Board.initial(DEFAULT_PITS, INITIAL_STONES, Board.PLAYER_ONE));
+        game.setUpdatedAt(Instant.now());
+        return game;
+    }
+}